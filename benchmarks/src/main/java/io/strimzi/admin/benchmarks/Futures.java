@@ -0,0 +1,37 @@
+package io.strimzi.admin.benchmarks;
+
+import io.vertx.core.Future;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Waits for the Vert.x futures of the admin server from the benchmark threads.
+ */
+final class Futures {
+    private static final long TIMEOUT_MINUTES = 10L;
+
+    private Futures() {
+    }
+
+    static <T> T await(final Future<T> future) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        future.onComplete(ar -> {
+            if (ar.succeeded()) {
+                result.complete(ar.result());
+            } else {
+                result.completeExceptionally(ar.cause());
+            }
+        });
+
+        try {
+            return result.get(TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exc);
+        } catch (ExecutionException | TimeoutException exc) {
+            throw new IllegalStateException(exc);
+        }
+    }
+}
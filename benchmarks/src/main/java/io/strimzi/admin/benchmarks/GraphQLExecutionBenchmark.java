@@ -0,0 +1,142 @@
+package io.strimzi.admin.benchmarks;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.strimzi.admin.graphql.GraphQLConfig;
+import io.strimzi.admin.graphql.instrumentation.MetricsInstrumentation;
+import io.strimzi.admin.graphql.instrumentation.QueryLimitsInstrumentation;
+import io.strimzi.admin.graphql.query.DocumentCache;
+import io.strimzi.admin.graphql.registration.GraphQLRegistration;
+import io.strimzi.admin.graphql.registration.GraphQLRegistrationDescriptor;
+import io.strimzi.admin.graphql.schema.SchemaLoader;
+import io.strimzi.admin.kafka.admin.KafkaAdminService;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the execution of the topic queries through the executable schema of the
+ * {@link KafkaAdminService}, backed by a {@link StandInAdmin} cluster. The schema is assembled the
+ * way the GraphQL service does it, with the base schema, the document cache, the query limits and
+ * metrics instrumentation and a new registry of the data loaders of the module for each query. The
+ * HTTP layer is not part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GraphQLExecutionBenchmark {
+    private static final long LOAD_POLL_INTERVAL_MS = 100L;
+    private static final String BASE_SCHEMA_LOCATION = "graphql-schema/baseSchema.graphql";
+
+    @Param({"1000", "100000"})
+    public int topicCount;
+
+    private Vertx vertx;
+    private Map<String, Supplier<DataLoader<?, ?>>> dataLoaders;
+    private GraphQL graphQL;
+    private String topicQuery;
+    private String topicBatchQuery;
+    private String topicListQuery;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        final List<String> names = TopicNames.generate(topicCount);
+
+        vertx = Vertx.vertx();
+        final KafkaAdminService kafkaAdminService = new KafkaAdminService(config -> StandInAdmin.create(names, 3, 0L));
+        final GraphQLRegistrationDescriptor descriptor = Futures.await(kafkaAdminService.getRegistrationDescriptor(vertx));
+        final TypeDefinitionRegistry schema = Futures.await(
+            SchemaLoader.load(vertx, GraphQLRegistration.class.getClassLoader(), BASE_SCHEMA_LOCATION));
+        schema.merge(descriptor.getTypeDefinitionRegistry());
+        dataLoaders = descriptor.getDataLoaders();
+
+        final GraphQLConfig config = GraphQLConfig.fromEnv(System.getenv());
+        graphQL = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(schema, descriptor.getRuntimeWiring()))
+            .preparsedDocumentProvider(new DocumentCache(config.getDocumentCacheMaxBytes()))
+            .instrumentation(new ChainedInstrumentation(Arrays.asList(
+                new QueryLimitsInstrumentation(Metrics.globalRegistry, descriptor.getListSizeEstimates(),
+                    config.getMaxQueryCost(), config.getMaxQueryDepth(), config.getMaxQueryAliases()),
+                new MetricsInstrumentation(Metrics.globalRegistry))))
+            .build();
+
+        // the topic metadata cache loads in the background, the last topic is described last
+        final String loadedQuery = "{ topicList(filter: \"" + names.get(topicCount - 1) + "\", filterType: EXACT) { name } }";
+        Map<String, List<?>> loaded = execute(loadedQuery).getData();
+        while (loaded.get("topicList").isEmpty()) {
+            Thread.sleep(LOAD_POLL_INTERVAL_MS);
+            loaded = execute(loadedQuery).getData();
+        }
+
+        final String sample = names.get(topicCount / 2);
+        topicQuery = "{ topic(topicName: \"" + sample + "\") { name isInternal partitionCount replicationFactor } }";
+        topicBatchQuery = "{ a: topic(topicName: \"" + names.get(0) + "\") { name partitionCount } "
+            + "b: topic(topicName: \"" + sample + "\") { name partitionCount } "
+            + "c: topic(topicName: \"" + names.get(topicCount - 1) + "\") { name partitionCount } }";
+        topicListQuery = "{ topicList(filter: \"team-42.\", filterType: PREFIX) { name isInternal partitionCount replicationFactor } }";
+
+        for (final String query : new String[] {topicQuery, topicBatchQuery, topicListQuery}) {
+            final ExecutionResult result = execute(query);
+            if (!result.getErrors().isEmpty()) {
+                throw new IllegalStateException("Query " + query + " failed - " + result.getErrors());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        final Promise<Void> closed = Promise.promise();
+        vertx.close(closed);
+        Futures.await(closed.future());
+    }
+
+    @Benchmark
+    public ExecutionResult topic() {
+        return execute(topicQuery);
+    }
+
+    @Benchmark
+    public ExecutionResult topicBatch() {
+        return execute(topicBatchQuery);
+    }
+
+    @Benchmark
+    public ExecutionResult topicList() {
+        return execute(topicListQuery);
+    }
+
+    private ExecutionResult execute(final String query) {
+        final DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
+        dataLoaders.forEach((name, dataLoader) -> dataLoaderRegistry.register(name, dataLoader.get()));
+
+        return graphQL.execute(ExecutionInput.newExecutionInput(query)
+            .dataLoaderRegistry(dataLoaderRegistry)
+            .build());
+    }
+}
@@ -0,0 +1,107 @@
+package io.strimzi.admin.benchmarks;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.HdrHistogram.Histogram;
+
+/**
+ * A type of request sent by the {@link LoadTest} at a constant rate, with the latencies and the
+ * errors of its responses.
+ * <p>
+ * The latency of a request is measured from the time it was scheduled to be sent, rather than
+ * from the time it was actually sent, so the time requests spend waiting behind slow requests is
+ * part of the latency (no coordinated omission). The statistics are only updated on the context
+ * of the load test driver.
+ */
+final class LoadTarget {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String name;
+    private final double rate;
+    private final Supplier<Future<HttpResponse<Buffer>>> request;
+
+    private Histogram histogram = new Histogram(SIGNIFICANT_DIGITS);
+    private long sent;
+    private long errors;
+
+    LoadTarget(final String name, final double rate, final Supplier<Future<HttpResponse<Buffer>>> request) {
+        this.name = name;
+        this.rate = rate;
+        this.request = request;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Sends the requests which are due at the given time of a phase
+     * @param phaseStart the start of the phase, in nanoseconds
+     * @param now the current time, in nanoseconds
+     * @param completion called when a request completes
+     * @return the number of requests sent
+     */
+    int sendDue(final long phaseStart, final long now, final Runnable completion) {
+        final long due = (long) ((now - phaseStart) * rate / TimeUnit.SECONDS.toNanos(1));
+        int count = 0;
+
+        while (sent < due) {
+            final long intended = phaseStart + (long) (sent * TimeUnit.SECONDS.toNanos(1) / rate);
+            final Histogram phaseHistogram = histogram;
+            sent++;
+            count++;
+
+            request.get().onComplete(ar -> {
+                phaseHistogram.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+                if (ar.failed() || ar.result().statusCode() != 200 || isGraphQLError(ar.result())) {
+                    errors++;
+                }
+                completion.run();
+            });
+        }
+
+        return count;
+    }
+
+    /**
+     * Clears the statistics, at the start of a new phase
+     */
+    void reset() {
+        histogram = new Histogram(SIGNIFICANT_DIGITS);
+        sent = 0L;
+        errors = 0L;
+    }
+
+    /**
+     * Reports the statistics of the current phase
+     * @param durationNanos the duration of the phase
+     * @return the report of the target, the latencies are in milliseconds
+     */
+    JsonObject report(final long durationNanos) {
+        return new JsonObject()
+            .put("name", name)
+            .put("rate", rate)
+            .put("requests", histogram.getTotalCount())
+            .put("errors", errors)
+            .put("throughput", histogram.getTotalCount() * (double) TimeUnit.SECONDS.toNanos(1) / durationNanos)
+            .put("p50", millis(histogram.getValueAtPercentile(50.0)))
+            .put("p99", millis(histogram.getValueAtPercentile(99.0)))
+            .put("p999", millis(histogram.getValueAtPercentile(99.9)))
+            .put("max", millis(histogram.getMaxValue()));
+    }
+
+    private static boolean isGraphQLError(final HttpResponse<Buffer> response) {
+        final String contentType = response.getHeader("Content-Type");
+        return contentType != null
+            && contentType.startsWith("application/json")
+            && response.bodyAsJsonObject().containsKey("errors");
+    }
+
+    private static double millis(final long micros) {
+        return micros / 1000.0;
+    }
+}
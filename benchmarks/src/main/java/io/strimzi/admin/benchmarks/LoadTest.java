@@ -0,0 +1,265 @@
+package io.strimzi.admin.benchmarks;
+
+import io.strimzi.admin.Main;
+import io.strimzi.admin.graphql.GraphQLService;
+import io.strimzi.admin.graphql.registration.GraphQLRegistration;
+import io.strimzi.admin.http.server.AdminServerConfig;
+import io.strimzi.admin.http.server.registration.RouteRegistration;
+import io.strimzi.admin.kafka.admin.KafkaAdminService;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the whole admin server. The server is started in-process with {@link Main#run}, with
+ * the modules found on the classpath apart from the Kafka Admin module which is created with a
+ * {@link StandInAdmin} cluster in place of a real one, and a Vert.x web client sends GraphQL and health requests to it at constant rates (open loop), the
+ * requests are sent on schedule whether or not the previous ones have completed.
+ * <p>
+ * After a warmup phase, the latency percentiles and the throughput of each type of request are
+ * measured, as well as the garbage collections and the allocation rate of the process. As the
+ * client runs in the same process, the allocations include those of the client. The report is
+ * printed and, when a report file is set, written to it in JSON.
+ * <p>
+ * The load test is configured with system properties, in addition to those of the
+ * {@link StandInAdmin}:
+ * <ul>
+ *     <li>{@value #PORT_PROPERTY}, the port of the server, 8080 by default</li>
+ *     <li>{@value #CONNECTIONS_PROPERTY}, the maximum number of connections of the client, 32 by default</li>
+ *     <li>{@value #TOPIC_RATE_PROPERTY}, the rate of topic queries per second, 500 by default</li>
+ *     <li>{@value #TOPIC_LIST_RATE_PROPERTY}, the rate of topicList queries per second, 50 by default</li>
+ *     <li>{@value #HEALTH_RATE_PROPERTY}, the rate of /health/status requests per second, 100 by default</li>
+ *     <li>{@value #WARMUP_PROPERTY}, the duration of the warmup in seconds, 30 by default</li>
+ *     <li>{@value #DURATION_PROPERTY}, the duration of the measurement in seconds, 60 by default</li>
+ *     <li>{@value #REPORT_PROPERTY}, the file the JSON report is written to, none by default</li>
+ * </ul>
+ * The other settings of the server, such as the number of instances, are read from the environment
+ * as usual.
+ */
+public final class LoadTest {
+    static final String PORT_PROPERTY = "load.port";
+    static final String CONNECTIONS_PROPERTY = "load.connections";
+    static final String TOPIC_RATE_PROPERTY = "load.topic.rate";
+    static final String TOPIC_LIST_RATE_PROPERTY = "load.topicList.rate";
+    static final String HEALTH_RATE_PROPERTY = "load.health.rate";
+    static final String WARMUP_PROPERTY = "load.warmup.s";
+    static final String DURATION_PROPERTY = "load.duration.s";
+    static final String REPORT_PROPERTY = "load.report";
+
+    private static final String PORT_ENV = "ADMIN_SERVER_PORT";
+    private static final String TOPIC_QUERY = "query Topic($name: String) { topic(topicName: $name) { name isInternal partitionCount replicationFactor } }";
+    private static final String TOPIC_LIST_QUERY = "query TopicList($prefix: String) { topicList(filter: $prefix, filterType: PREFIX) { name partitionCount } }";
+    private static final long TICK_MS = 1L;
+    private static final long LOAD_POLL_INTERVAL_MS = 500L;
+    private static final long DRAIN_TIMEOUT_MS = 30_000L;
+
+    private final Vertx vertx;
+    private final Context context;
+    private final List<LoadTarget> targets;
+    private long inFlight;
+
+    private LoadTest(final Vertx vertx, final List<LoadTarget> targets) {
+        this.vertx = vertx;
+        this.context = vertx.getOrCreateContext();
+        this.targets = targets;
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        final int port = Integer.getInteger(PORT_PROPERTY, 8080);
+        final List<String> names = TopicNames.generate(Integer.getInteger(StandInAdmin.TOPICS_PROPERTY, 1000));
+
+        final Map<String, String> env = new HashMap<>(System.getenv());
+        env.put(PORT_ENV, String.valueOf(port));
+        final AdminServerConfig config = AdminServerConfig.fromEnv(env);
+        final Vertx serverVertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(config.isNativeTransport()));
+        Futures.await(Main.run(serverVertx, config, routeRegistrations()));
+
+        final Vertx clientVertx = Vertx.vertx();
+        final WebClient client = WebClient.create(clientVertx, new WebClientOptions()
+            .setDefaultHost("localhost")
+            .setDefaultPort(port)
+            .setKeepAlive(true)
+            .setMaxPoolSize(Integer.getInteger(CONNECTIONS_PROPERTY, 32)));
+        awaitTopics(client, names.get(names.size() - 1));
+
+        final LoadTest loadTest = new LoadTest(clientVertx, Arrays.asList(
+            new LoadTarget("topic", rate(TOPIC_RATE_PROPERTY, 500), () -> graphQL(client, TOPIC_QUERY,
+                new JsonObject().put("name", names.get(ThreadLocalRandom.current().nextInt(names.size()))))),
+            new LoadTarget("topicList", rate(TOPIC_LIST_RATE_PROPERTY, 50), () -> graphQL(client, TOPIC_LIST_QUERY,
+                new JsonObject().put("prefix", "team-" + ThreadLocalRandom.current().nextInt(100) + "."))),
+            new LoadTarget("health", rate(HEALTH_RATE_PROPERTY, 100), () -> {
+                final Promise<HttpResponse<Buffer>> promise = Promise.promise();
+                client.get("/health/status").send(promise);
+                return promise.future();
+            })));
+
+        System.out.println("Warming up...");
+        loadTest.run(TimeUnit.SECONDS.toNanos(Long.getLong(WARMUP_PROPERTY, 30L)));
+
+        System.out.println("Measuring...");
+        final long durationNanos = TimeUnit.SECONDS.toNanos(Long.getLong(DURATION_PROPERTY, 60L));
+        final long gcCountBefore = gcCount();
+        final long gcTimeBefore = gcTime();
+        final long allocatedBefore = allocatedBytes();
+        final long start = System.nanoTime();
+        loadTest.run(durationNanos);
+        final long elapsed = System.nanoTime() - start;
+
+        final JsonObject report = new JsonObject()
+            .put("topics", names.size())
+            .put("durationSeconds", elapsed / (double) TimeUnit.SECONDS.toNanos(1))
+            .put("targets", loadTest.report(durationNanos))
+            .put("gcCount", gcCount() - gcCountBefore)
+            .put("gcTimeMs", gcTime() - gcTimeBefore)
+            .put("allocationRateMBps", (allocatedBytes() - allocatedBefore) / (1024.0 * 1024.0)
+                / (elapsed / (double) TimeUnit.SECONDS.toNanos(1)));
+        print(report);
+
+        final String reportFile = System.getProperty(REPORT_PROPERTY);
+        if (reportFile != null) {
+            Files.write(Paths.get(reportFile), report.encodePrettily().getBytes(StandardCharsets.UTF_8));
+        }
+
+        client.close();
+        clientVertx.close();
+        serverVertx.close();
+    }
+
+    /**
+     * Retrieve the route registrations of the modules on the classpath, the GraphQL service being
+     * given the Kafka Admin module backed by the stand-in cluster
+     */
+    private static List<RouteRegistration> routeRegistrations() {
+        final List<GraphQLRegistration> graphQLRegistrations = new ArrayList<>();
+        ServiceLoader.load(GraphQLRegistration.class).forEach(registration -> graphQLRegistrations.add(
+            registration instanceof KafkaAdminService ? new KafkaAdminService(StandInAdmin::fromSystemProperties) : registration));
+
+        final List<RouteRegistration> routeRegistrations = new ArrayList<>();
+        ServiceLoader.load(RouteRegistration.class).forEach(registration -> routeRegistrations.add(
+            registration instanceof GraphQLService ? new GraphQLService(graphQLRegistrations) : registration));
+        return routeRegistrations;
+    }
+
+    /**
+     * Sends the requests of all the targets for a phase, then waits for the requests in flight
+     * @param durationNanos the duration of the phase
+     */
+    private void run(final long durationNanos) {
+        final Promise<Void> done = Promise.promise();
+
+        context.runOnContext(v -> {
+            targets.forEach(LoadTarget::reset);
+            final long start = System.nanoTime();
+
+            vertx.setPeriodic(TICK_MS, id -> {
+                final long now = System.nanoTime();
+                final long phaseNow = Math.min(now, start + durationNanos);
+                for (final LoadTarget target : targets) {
+                    final int sent = target.sendDue(start, phaseNow, () -> inFlight--);
+                    inFlight += sent;
+                }
+                if (now >= start + durationNanos) {
+                    vertx.cancelTimer(id);
+                    drain(now, done);
+                }
+            });
+        });
+
+        Futures.await(done.future());
+    }
+
+    private void drain(final long start, final Promise<Void> done) {
+        if (inFlight <= 0) {
+            done.complete();
+        } else if (System.nanoTime() - start > TimeUnit.MILLISECONDS.toNanos(DRAIN_TIMEOUT_MS)) {
+            System.out.printf("%d requests still in flight after %d ms%n", inFlight, DRAIN_TIMEOUT_MS);
+            done.complete();
+        } else {
+            vertx.setTimer(TICK_MS, id -> drain(start, done));
+        }
+    }
+
+    private JsonArray report(final long durationNanos) {
+        final Promise<JsonArray> promise = Promise.promise();
+        context.runOnContext(v -> {
+            final JsonArray reports = new JsonArray();
+            targets.forEach(target -> reports.add(target.report(durationNanos)));
+            promise.complete(reports);
+        });
+        return Futures.await(promise.future());
+    }
+
+    private static void awaitTopics(final WebClient client, final String lastTopic) throws InterruptedException {
+        // the topic metadata cache loads in the background, the last topic is described last
+        final String query = "{ topicList(filter: \"" + lastTopic + "\", filterType: EXACT) { name } }";
+        while (Futures.await(graphQL(client, query, new JsonObject()))
+                .bodyAsJsonObject().getJsonObject("data").getJsonArray("topicList").isEmpty()) {
+            Thread.sleep(LOAD_POLL_INTERVAL_MS);
+        }
+    }
+
+    private static Future<HttpResponse<Buffer>> graphQL(final WebClient client, final String query, final JsonObject variables) {
+        final Promise<HttpResponse<Buffer>> promise = Promise.promise();
+        client.post("/graphql").sendJsonObject(new JsonObject().put("query", query).put("variables", variables), promise);
+        return promise.future();
+    }
+
+    private static double rate(final String property, final double defaultRate) {
+        final String value = System.getProperty(property);
+        return value == null ? defaultRate : Double.parseDouble(value);
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+            .sum();
+    }
+
+    private static long gcTime() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+            .sum();
+    }
+
+    private static long allocatedBytes() {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return Arrays.stream(threads.getThreadAllocatedBytes(threads.getAllThreadIds()))
+            .filter(bytes -> bytes > 0)
+            .sum();
+    }
+
+    private static void print(final JsonObject report) {
+        System.out.printf("%-10s %10s %10s %8s %12s %10s %10s %10s %10s%n",
+            "Target", "Rate/s", "Requests", "Errors", "Throughput/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        final List<JsonObject> targets = new ArrayList<>();
+        report.getJsonArray("targets").forEach(target -> targets.add((JsonObject) target));
+        targets.forEach(target -> System.out.printf("%-10s %10.1f %10d %8d %12.1f %10.3f %10.3f %10.3f %10.3f%n",
+            target.getString("name"), target.getDouble("rate"), target.getLong("requests"), target.getLong("errors"),
+            target.getDouble("throughput"), target.getDouble("p50"), target.getDouble("p99"),
+            target.getDouble("p999"), target.getDouble("max")));
+        System.out.printf("GC: %d collections, %d ms. Allocation rate: %.1f MB/s%n",
+            report.getLong("gcCount"), report.getLong("gcTimeMs"), report.getDouble("allocationRateMBps"));
+    }
+}
@@ -0,0 +1,91 @@
+package io.strimzi.admin.benchmarks;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH result files written in the JSON format ({@code -rf json}), typically the
+ * results of two commits, and reports the change of the score of each benchmark.
+ * <p>
+ * A benchmark is reported as a regression when its score got worse by more than the threshold
+ * percentage, 10% by default, and by more than the sum of the score errors of the two runs. The
+ * process exits with status 1 when there is at least one regression.
+ * <p>
+ * Usage: {@code ResultComparison <baseline.json> <candidate.json> [threshold-percent]}
+ */
+public final class ResultComparison {
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private ResultComparison() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ResultComparison <baseline.json> <candidate.json> [threshold-percent]");
+            System.exit(2);
+        }
+        final Map<String, JsonObject> baseline = read(args[0]);
+        final Map<String, JsonObject> candidate = read(args[1]);
+        final double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (final Map.Entry<String, JsonObject> entry : new TreeMap<>(candidate).entrySet()) {
+            final JsonObject before = baseline.get(entry.getKey());
+            final JsonObject after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", score(after), "new");
+                continue;
+            }
+
+            final double change = (score(after) - score(before)) / score(before) * 100.0;
+            // the score of the throughput modes gets better as it increases, the others as it decreases
+            final double worsening = "thrpt".equals(after.getString("mode")) ? -change : change;
+            final boolean regression = worsening > threshold
+                && Math.abs(score(after) - score(before)) > error(before) + error(after);
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), score(before), score(after), change,
+                regression ? "  REGRESSION" : "");
+        }
+
+        System.out.printf("%d regression(s) over %.1f%%%n", regressions, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private static Map<String, JsonObject> read(final String file) throws IOException {
+        final JsonArray results = new JsonArray(new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8));
+        final Map<String, JsonObject> byName = new LinkedHashMap<>();
+        for (int i = 0; i < results.size(); i++) {
+            final JsonObject result = results.getJsonObject(i);
+            byName.put(name(result), result);
+        }
+        return byName;
+    }
+
+    private static String name(final JsonObject result) {
+        final StringBuilder name = new StringBuilder(result.getString("benchmark"));
+        final JsonObject params = result.getJsonObject("params");
+        if (params != null) {
+            new TreeMap<>(params.getMap()).forEach((param, value) -> name.append(':').append(param).append('=').append(value));
+        }
+        return name.append(" (").append(result.getJsonObject("primaryMetric").getString("scoreUnit")).append(')').toString();
+    }
+
+    private static double score(final JsonObject result) {
+        return result.getJsonObject("primaryMetric").getDouble("score");
+    }
+
+    private static double error(final JsonObject result) {
+        final Object error = result.getJsonObject("primaryMetric").getValue("scoreError");
+        return error instanceof Number ? ((Number) error).doubleValue() : 0.0;
+    }
+}
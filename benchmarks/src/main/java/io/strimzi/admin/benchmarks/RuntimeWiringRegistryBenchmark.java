@@ -0,0 +1,66 @@
+package io.strimzi.admin.benchmarks;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.idl.RuntimeWiring;
+import io.strimzi.admin.graphql.registration.RuntimeWiringRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the merge of the runtime wirings of the GraphQL modules done when the executable
+ * schema is assembled. Each registration extends the Query type and defines a type of its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuntimeWiringRegistryBenchmark {
+    private static final int FIELDS_PER_TYPE = 10;
+
+    @Param({"10", "100", "1000"})
+    public int registrationCount;
+
+    private RuntimeWiringRegistry registry;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final DataFetcher<Object> dataFetcher = env -> null;
+        registry = new RuntimeWiringRegistry();
+
+        for (int registration = 0; registration < registrationCount; registration++) {
+            final String typeName = "Module" + registration;
+            registry.add(RuntimeWiring.newRuntimeWiring()
+                .type("Query", typeWiring -> {
+                    for (int field = 0; field < FIELDS_PER_TYPE; field++) {
+                        typeWiring.dataFetcher(typeName.toLowerCase() + "Field" + field, dataFetcher);
+                    }
+                    return typeWiring;
+                })
+                .type(typeName, typeWiring -> {
+                    for (int field = 0; field < FIELDS_PER_TYPE; field++) {
+                        typeWiring.dataFetcher("field" + field, dataFetcher);
+                    }
+                    return typeWiring;
+                })
+                .build());
+        }
+    }
+
+    @Benchmark
+    public RuntimeWiring getRuntimeWiring() {
+        return registry.getRuntimeWiring();
+    }
+}
@@ -0,0 +1,182 @@
+package io.strimzi.admin.benchmarks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.admin.CreateTopicsOptions;
+import org.apache.kafka.clients.admin.CreateTopicsResult;
+import org.apache.kafka.clients.admin.DeleteTopicsOptions;
+import org.apache.kafka.clients.admin.DeleteTopicsResult;
+import org.apache.kafka.clients.admin.DescribeTopicsOptions;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.MockAdminClient;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+
+/**
+ * An in-process stand-in of a Kafka cluster, holding generated topics, used to measure the admin
+ * server without a real cluster.
+ * <p>
+ * The topic descriptions are looked up by name, instead of scanning all the topics for each
+ * described topic as the {@link MockAdminClient} does, so clusters of a million topics can be
+ * described in a reasonable time. An optional latency is added to the describe requests to
+ * simulate the round trip to the brokers. The topics created and deleted through the client are
+ * kept in sync with the descriptions.
+ * <p>
+ * The stand-in used by the load test and the GraphQL benchmarks is configured with system
+ * properties:
+ * <ul>
+ *     <li>{@value #TOPICS_PROPERTY}, the number of topics, 1000 by default</li>
+ *     <li>{@value #PARTITIONS_PROPERTY}, the number of partitions of each topic, 3 by default</li>
+ *     <li>{@value #LATENCY_PROPERTY}, the latency of the describe requests in milliseconds, 0 by default</li>
+ * </ul>
+ * It is passed to the Kafka Admin module as its Admin client factory, see
+ * {@link io.strimzi.admin.kafka.admin.KafkaAdminService#KafkaAdminService(java.util.function.Function)}.
+ */
+public class StandInAdmin extends MockAdminClient {
+    static final String TOPICS_PROPERTY = "standin.topics";
+    static final String PARTITIONS_PROPERTY = "standin.partitions";
+    static final String LATENCY_PROPERTY = "standin.latency.ms";
+
+    private static final int BROKER_COUNT = 3;
+
+    private final Map<String, TopicDescription> descriptions = new ConcurrentHashMap<>();
+    private final long latencyMs;
+    private final ScheduledExecutorService scheduler;
+
+    private StandInAdmin(final List<Node> brokers, final long latencyMs) {
+        super(brokers, brokers.get(0));
+        this.latencyMs = latencyMs;
+        this.scheduler = latencyMs > 0 ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "stand-in-admin");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Creates a stand-in cluster holding the given topics
+     * @param topicNames the names of the topics
+     * @param partitions the number of partitions of each topic
+     * @param latencyMs the latency added to the describe requests, 0 for none
+     * @return the stand-in Admin client
+     */
+    public static StandInAdmin create(final Collection<String> topicNames, final int partitions, final long latencyMs) {
+        final List<Node> brokers = new ArrayList<>(BROKER_COUNT);
+        for (int id = 0; id < BROKER_COUNT; id++) {
+            brokers.add(new Node(id, "broker-" + id, 9092));
+        }
+
+        final StandInAdmin admin = new StandInAdmin(brokers, latencyMs);
+        topicNames.forEach(name -> admin.addTopic(name, partitions));
+        return admin;
+    }
+
+    /**
+     * Creates a stand-in cluster configured by the system properties
+     * @param config the Admin client configuration, ignored
+     * @return the stand-in Admin client
+     */
+    public static StandInAdmin fromSystemProperties(final Map<String, Object> config) {
+        return create(
+            TopicNames.generate(Integer.getInteger(TOPICS_PROPERTY, 1000)),
+            Integer.getInteger(PARTITIONS_PROPERTY, 3),
+            Long.getLong(LATENCY_PROPERTY, 0L));
+    }
+
+    /**
+     * Adds a topic with all its partitions replicated on every broker
+     * @param name the name of the topic
+     * @param partitions the number of partitions
+     */
+    public void addTopic(final String name, final int partitions) {
+        final List<Node> brokers = brokers();
+        final List<TopicPartitionInfo> partitionInfos = new ArrayList<>(partitions);
+        for (int partition = 0; partition < partitions; partition++) {
+            final List<Node> replicas = new ArrayList<>(brokers.size());
+            for (int i = 0; i < brokers.size(); i++) {
+                replicas.add(brokers.get((partition + i) % brokers.size()));
+            }
+            partitionInfos.add(new TopicPartitionInfo(partition, replicas.get(0), replicas, replicas));
+        }
+
+        addTopic(name.startsWith("__"), name, partitionInfos, Collections.emptyMap());
+        descriptions.put(name, new TopicDescription(name, name.startsWith("__"), partitionInfos));
+    }
+
+    @Override
+    public synchronized DescribeTopicsResult describeTopics(final Collection<String> topicNames, final DescribeTopicsOptions options) {
+        final Map<String, KafkaFuture<TopicDescription>> futures = new HashMap<>(topicNames.size());
+        topicNames.forEach(name -> futures.put(name, new KafkaFutureImpl<>()));
+
+        final Runnable complete = () -> futures.forEach((name, future) -> {
+            final TopicDescription description = descriptions.get(name);
+            if (description != null) {
+                ((KafkaFutureImpl<TopicDescription>) future).complete(description);
+            } else {
+                ((KafkaFutureImpl<TopicDescription>) future).completeExceptionally(
+                    new UnknownTopicOrPartitionException("Topic " + name + " not found."));
+            }
+        });
+
+        if (scheduler != null) {
+            scheduler.schedule(complete, latencyMs, TimeUnit.MILLISECONDS);
+        } else {
+            complete.run();
+        }
+
+        return new DescribeTopicsResult(futures) { };
+    }
+
+    @Override
+    public synchronized CreateTopicsResult createTopics(final Collection<NewTopic> newTopics, final CreateTopicsOptions options) {
+        final CreateTopicsResult result = super.createTopics(newTopics, options);
+        final List<String> created = new ArrayList<>(newTopics.size());
+        result.values().forEach((name, future) -> {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                created.add(name);
+            }
+        });
+        if (!created.isEmpty()) {
+            super.describeTopics(created, new DescribeTopicsOptions()).values().forEach((name, future) ->
+                future.whenComplete((description, throwable) -> {
+                    if (description != null) {
+                        descriptions.put(name, description);
+                    }
+                }));
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized DeleteTopicsResult deleteTopics(final Collection<String> topicNames, final DeleteTopicsOptions options) {
+        final DeleteTopicsResult result = super.deleteTopics(topicNames, options);
+        result.values().forEach((name, future) -> {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                descriptions.remove(name);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public synchronized void close(final Duration timeout) {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        super.close(timeout);
+    }
+}
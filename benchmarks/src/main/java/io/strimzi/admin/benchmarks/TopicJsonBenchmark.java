@@ -0,0 +1,65 @@
+package io.strimzi.admin.benchmarks;
+
+import io.strimzi.admin.kafka.admin.model.Topic;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the serialization of a topicList response to JSON, as done by the Vert.x GraphQL
+ * handler with the specification form of the execution result, for lists of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TopicJsonBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int topicCount;
+
+    private Map<String, Object> specification;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final List<Map<String, Object>> topics = new ArrayList<>(topicCount);
+        for (final String name : TopicNames.generate(topicCount)) {
+            topics.add(toSpecification(Topic.create(name, false, 3, 3)));
+        }
+        specification = Collections.singletonMap("data", Collections.singletonMap("topicList", topics));
+    }
+
+    @Benchmark
+    public Buffer serialize() {
+        return new JsonObject(specification).toBuffer();
+    }
+
+    private static Map<String, Object> toSpecification(final Topic topic) {
+        // the execution result holds the selected fields of each object in selection order
+        final Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", topic.getName());
+        fields.put("isInternal", topic.isInternal());
+        fields.put("partitionCount", topic.getPartitionCount());
+        fields.put("replicationFactor", topic.getReplicationFactor());
+        return fields;
+    }
+}
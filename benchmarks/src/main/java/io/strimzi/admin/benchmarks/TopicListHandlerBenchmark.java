@@ -0,0 +1,112 @@
+package io.strimzi.admin.benchmarks;
+
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import io.strimzi.admin.kafka.admin.handlers.TopicListHandler;
+import io.strimzi.admin.kafka.admin.metadata.TopicConfigCache;
+import io.strimzi.admin.kafka.admin.metadata.TopicMetadataCache;
+import io.strimzi.admin.kafka.admin.model.Topic;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the topicList data fetcher, from the arguments of the query to the list of topics,
+ * for each filter type and for clusters of different sizes. The topics are loaded in a
+ * {@link TopicMetadataCache} from a {@link StandInAdmin} cluster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TopicListHandlerBenchmark {
+    private static final long REFRESH_INTERVAL_MS = TimeUnit.HOURS.toMillis(1);
+
+    @Param({"1000", "100000", "1000000"})
+    public int topicCount;
+
+    private Vertx vertx;
+    private TopicMetadataCache cache;
+    private TopicListHandler handler;
+    private DataFetchingEnvironment exact;
+    private DataFetchingEnvironment prefix;
+    private DataFetchingEnvironment contains;
+    private DataFetchingEnvironment regex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final List<String> names = TopicNames.generate(topicCount);
+
+        vertx = Vertx.vertx();
+        final StandInAdmin admin = StandInAdmin.create(names, 3, 0L);
+        cache = new TopicMetadataCache(vertx, admin, REFRESH_INTERVAL_MS, 1, 500);
+        cache.start();
+        Futures.await(cache.initialLoad());
+        handler = new TopicListHandler(cache, new TopicConfigCache(vertx, admin, REFRESH_INTERVAL_MS, topicCount, 500, 4));
+
+        final String sample = names.get(topicCount / 2);
+        exact = environment(sample, "EXACT");
+        prefix = environment(sample.substring(0, sample.lastIndexOf('.')), "PREFIX");
+        contains = environment(sample.substring(sample.indexOf('.') + 1), "CONTAINS");
+        regex = environment("team-1[0-9]\\.payments-[0-9]+\\.events", "REGEX");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cache.stop();
+        final Promise<Void> closed = Promise.promise();
+        vertx.close(closed);
+        Futures.await(closed.future());
+    }
+
+    @Benchmark
+    public List<Topic> exact() {
+        return getTopicList(exact);
+    }
+
+    @Benchmark
+    public List<Topic> prefix() {
+        return getTopicList(prefix);
+    }
+
+    @Benchmark
+    public List<Topic> contains() {
+        return getTopicList(contains);
+    }
+
+    @Benchmark
+    public List<Topic> regex() {
+        return getTopicList(regex);
+    }
+
+    private List<Topic> getTopicList(final DataFetchingEnvironment env) {
+        final Promise<List<Topic>> promise = Promise.promise();
+        handler.getTopicList(env, promise);
+        return promise.future().result();
+    }
+
+    private static DataFetchingEnvironment environment(final String filter, final String filterType) {
+        final Map<String, Object> arguments = new HashMap<>();
+        arguments.put("filter", filter);
+        arguments.put("filterType", filterType);
+        return DataFetchingEnvironmentImpl.newDataFetchingEnvironment().arguments(arguments).build();
+    }
+}
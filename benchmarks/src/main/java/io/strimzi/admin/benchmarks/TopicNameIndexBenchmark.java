@@ -0,0 +1,87 @@
+package io.strimzi.admin.benchmarks;
+
+import io.strimzi.admin.kafka.admin.metadata.TopicNameFilter;
+import io.strimzi.admin.kafka.admin.metadata.TopicNameIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of topic name searches through the {@link TopicNameIndex}, compared with
+ * the linear scan it replaces, for clusters of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TopicNameIndexBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int topicCount;
+
+    private List<String> names;
+    private TopicNameIndex index;
+    private TopicNameFilter exact;
+    private TopicNameFilter prefix;
+    private TopicNameFilter contains;
+    private TopicNameFilter regex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        names = TopicNames.generate(topicCount);
+        index = new TopicNameIndex();
+        names.forEach(index::add);
+
+        final String sample = names.get(topicCount / 2);
+        exact = TopicNameFilter.create(TopicNameFilter.Type.EXACT, sample);
+        prefix = TopicNameFilter.create(TopicNameFilter.Type.PREFIX, sample.substring(0, sample.lastIndexOf('.')));
+        contains = TopicNameFilter.create(TopicNameFilter.Type.CONTAINS, sample.substring(sample.indexOf('.') + 1));
+        regex = TopicNameFilter.create(TopicNameFilter.Type.REGEX, "team-1[0-9]\\.payments-[0-9]+\\.events");
+    }
+
+    @Benchmark
+    public List<String> exactIndexed() {
+        return index.search(exact).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> prefixIndexed() {
+        return index.search(prefix).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> containsIndexed() {
+        return index.search(contains).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> containsLinearScan() {
+        final List<String> result = new ArrayList<>();
+        for (final String name : names) {
+            if (name.contains(contains.getValue())) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<String> regexIndexed() {
+        return index.search(regex).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,30 @@
+package io.strimzi.admin.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates realistic looking topic names, made of a team, a service and a data set, for use by
+ * the benchmarks.
+ */
+final class TopicNames {
+    private static final String[] SERVICES = {"payments", "orders", "inventory", "shipping", "billing", "users", "search", "audit"};
+    private static final String[] DATA_SETS = {"events", "commands", "changelog", "dlq", "snapshots", "metrics"};
+
+    private TopicNames() {
+    }
+
+    static List<String> generate(final int count) {
+        final Random random = new Random(42);
+        final List<String> names = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            names.add("team-" + random.nextInt(100)
+                + "." + SERVICES[random.nextInt(SERVICES.length)] + "-" + i
+                + "." + DATA_SETS[random.nextInt(DATA_SETS.length)]);
+        }
+
+        return names;
+    }
+}
@@ -0,0 +1,178 @@
+package io.strimzi.admin.graphql;
+
+import java.util.Map;
+
+/**
+ * Configuration of the GraphQL service. The values are read from the environment of the admin
+ * server process.
+ */
+public class GraphQLConfig {
+    static final String DOCUMENT_CACHE_MAX_BYTES_ENV = "GRAPHQL_DOCUMENT_CACHE_MAX_BYTES";
+    static final String PERSISTED_QUERY_CACHE_MAX_BYTES_ENV = "GRAPHQL_PERSISTED_QUERY_CACHE_MAX_BYTES";
+    static final String MAX_PERSISTED_QUERY_LENGTH_ENV = "GRAPHQL_MAX_PERSISTED_QUERY_LENGTH";
+    static final String MAX_QUERY_COST_ENV = "GRAPHQL_MAX_QUERY_COST";
+    static final String MAX_QUERY_DEPTH_ENV = "GRAPHQL_MAX_QUERY_DEPTH";
+    static final String MAX_QUERY_ALIASES_ENV = "GRAPHQL_MAX_QUERY_ALIASES";
+    static final String MAX_IN_FLIGHT_REQUESTS_ENV = "GRAPHQL_MAX_IN_FLIGHT_REQUESTS";
+    static final String RESPONSE_CHUNK_SIZE_ENV = "GRAPHQL_RESPONSE_CHUNK_SIZE";
+    static final String SLOW_QUERY_THRESHOLD_ENV = "GRAPHQL_SLOW_QUERY_THRESHOLD_MS";
+    static final String TRACE_SAMPLE_RATE_ENV = "GRAPHQL_TRACE_SAMPLE_RATE";
+    static final String SLOW_QUERY_LOG_SIZE_ENV = "GRAPHQL_SLOW_QUERY_LOG_SIZE";
+
+    private static final long DEFAULT_DOCUMENT_CACHE_MAX_BYTES = 16L * 1024 * 1024;
+    private static final long DEFAULT_PERSISTED_QUERY_CACHE_MAX_BYTES = 16L * 1024 * 1024;
+    private static final int DEFAULT_MAX_PERSISTED_QUERY_LENGTH = 64 * 1024;
+    private static final long DEFAULT_MAX_QUERY_COST = 20_000L;
+    private static final int DEFAULT_MAX_QUERY_DEPTH = 15;
+    private static final int DEFAULT_MAX_QUERY_ALIASES = 30;
+    private static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 256;
+    private static final int DEFAULT_RESPONSE_CHUNK_SIZE = 16 * 1024;
+    private static final long DEFAULT_SLOW_QUERY_THRESHOLD_MS = 500L;
+    private static final double DEFAULT_TRACE_SAMPLE_RATE = 0.001;
+    private static final int DEFAULT_SLOW_QUERY_LOG_SIZE = 256;
+
+    private final long documentCacheMaxBytes;
+    private final long persistedQueryCacheMaxBytes;
+    private final int maxPersistedQueryLength;
+    private final long maxQueryCost;
+    private final int maxQueryDepth;
+    private final int maxQueryAliases;
+    private final int maxInFlightRequests;
+    private final int responseChunkSize;
+    private final long slowQueryThresholdMs;
+    private final double traceSampleRate;
+    private final int slowQueryLogSize;
+
+    private GraphQLConfig(final long documentCacheMaxBytes, final long persistedQueryCacheMaxBytes,
+                          final int maxPersistedQueryLength, final long maxQueryCost, final int maxQueryDepth, final int maxQueryAliases, final int maxInFlightRequests,
+                          final int responseChunkSize, final long slowQueryThresholdMs, final double traceSampleRate,
+                          final int slowQueryLogSize) {
+        this.documentCacheMaxBytes = documentCacheMaxBytes;
+        this.persistedQueryCacheMaxBytes = persistedQueryCacheMaxBytes;
+        this.maxPersistedQueryLength = maxPersistedQueryLength;
+        this.maxQueryCost = maxQueryCost;
+        this.maxQueryDepth = maxQueryDepth;
+        this.maxQueryAliases = maxQueryAliases;
+        this.maxInFlightRequests = maxInFlightRequests;
+        this.responseChunkSize = responseChunkSize;
+        this.slowQueryThresholdMs = slowQueryThresholdMs;
+        this.traceSampleRate = traceSampleRate;
+        this.slowQueryLogSize = slowQueryLogSize;
+    }
+
+    /**
+     * Factory method to create the configuration from a set of environment variables
+     * @param env the environment variables, usually {@link System#getenv()}
+     * @return the GraphQL service configuration
+     */
+    public static GraphQLConfig fromEnv(final Map<String, String> env) {
+        return new GraphQLConfig(
+            Long.parseLong(env.getOrDefault(DOCUMENT_CACHE_MAX_BYTES_ENV, String.valueOf(DEFAULT_DOCUMENT_CACHE_MAX_BYTES))),
+            Long.parseLong(env.getOrDefault(PERSISTED_QUERY_CACHE_MAX_BYTES_ENV, String.valueOf(DEFAULT_PERSISTED_QUERY_CACHE_MAX_BYTES))),
+            Integer.parseInt(env.getOrDefault(MAX_PERSISTED_QUERY_LENGTH_ENV, String.valueOf(DEFAULT_MAX_PERSISTED_QUERY_LENGTH))),
+            Long.parseLong(env.getOrDefault(MAX_QUERY_COST_ENV, String.valueOf(DEFAULT_MAX_QUERY_COST))),
+            Integer.parseInt(env.getOrDefault(MAX_QUERY_DEPTH_ENV, String.valueOf(DEFAULT_MAX_QUERY_DEPTH))),
+            Integer.parseInt(env.getOrDefault(MAX_QUERY_ALIASES_ENV, String.valueOf(DEFAULT_MAX_QUERY_ALIASES))),
+            Integer.parseInt(env.getOrDefault(MAX_IN_FLIGHT_REQUESTS_ENV, String.valueOf(DEFAULT_MAX_IN_FLIGHT_REQUESTS))),
+            Integer.parseInt(env.getOrDefault(RESPONSE_CHUNK_SIZE_ENV, String.valueOf(DEFAULT_RESPONSE_CHUNK_SIZE))),
+            Long.parseLong(env.getOrDefault(SLOW_QUERY_THRESHOLD_ENV, String.valueOf(DEFAULT_SLOW_QUERY_THRESHOLD_MS))),
+            Double.parseDouble(env.getOrDefault(TRACE_SAMPLE_RATE_ENV, String.valueOf(DEFAULT_TRACE_SAMPLE_RATE))),
+            Integer.parseInt(env.getOrDefault(SLOW_QUERY_LOG_SIZE_ENV, String.valueOf(DEFAULT_SLOW_QUERY_LOG_SIZE))));
+    }
+
+    /**
+     * Retrieve the maximum total length of the query texts whose parsed and validated documents
+     * are kept in memory, a character counting as a byte
+     * @return the document cache size in bytes
+     */
+    public long getDocumentCacheMaxBytes() {
+        return documentCacheMaxBytes;
+    }
+
+    /**
+     * Retrieve the maximum total length of the automatic persisted queries kept in memory, a
+     * character counting as a byte
+     * @return the persisted query cache size in bytes
+     */
+    public long getPersistedQueryCacheMaxBytes() {
+        return persistedQueryCacheMaxBytes;
+    }
+
+    /**
+     * Retrieve the maximum length of a query registered as an automatic persisted query, a longer
+     * query is executed without being registered
+     * @return the maximum persisted query length in characters
+     */
+    public int getMaxPersistedQueryLength() {
+        return maxPersistedQueryLength;
+    }
+
+    /**
+     * Retrieve the maximum cost of a query, computed from the weights declared with the @cost
+     * directive in the schemas
+     * @return the maximum query cost
+     */
+    public long getMaxQueryCost() {
+        return maxQueryCost;
+    }
+
+    /**
+     * Retrieve the maximum nesting depth of the fields of a query
+     * @return the maximum query depth
+     */
+    public int getMaxQueryDepth() {
+        return maxQueryDepth;
+    }
+
+    /**
+     * Retrieve the maximum number of aliased fields in a query
+     * @return the maximum number of aliases
+     */
+    public int getMaxQueryAliases() {
+        return maxQueryAliases;
+    }
+
+    /**
+     * Retrieve the maximum number of GraphQL requests processed concurrently, the requests over
+     * the limit are rejected
+     * @return the maximum number of requests in flight
+     */
+    public int getMaxInFlightRequests() {
+        return maxInFlightRequests;
+    }
+
+    /**
+     * Retrieve the size of the chunks in which the results of the queries are written, the result
+     * of a query is sent as soon as its first chunk has been encoded
+     * @return the response chunk size in bytes
+     */
+    public int getResponseChunkSize() {
+        return responseChunkSize;
+    }
+
+    /**
+     * Retrieve the duration above which the trace of a request is recorded in the slow query log
+     * @return the slow query threshold in milliseconds
+     */
+    public long getSlowQueryThresholdMs() {
+        return slowQueryThresholdMs;
+    }
+
+    /**
+     * Retrieve the fraction of the requests whose trace is recorded in the slow query log whatever
+     * their duration, with the timing of each field fetched
+     * @return the trace sample rate, between 0 and 1
+     */
+    public double getTraceSampleRate() {
+        return traceSampleRate;
+    }
+
+    /**
+     * Retrieve the number of traces kept by the slow query log, 0 disables the tracing and the
+     * endpoint serving the traces
+     * @return the slow query log size
+     */
+    public int getSlowQueryLogSize() {
+        return slowQueryLogSize;
+    }
+}
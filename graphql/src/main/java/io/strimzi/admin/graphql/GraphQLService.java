@@ -1,13 +1,27 @@
 package io.strimzi.admin.graphql;
 
 import graphql.GraphQL;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.SchemaGenerator;
-import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.strimzi.admin.graphql.instrumentation.MetricsInstrumentation;
+import io.strimzi.admin.graphql.instrumentation.QueryLimitsInstrumentation;
+import io.strimzi.admin.graphql.instrumentation.SlowQueryHandler;
+import io.strimzi.admin.graphql.instrumentation.SlowQueryLog;
+import io.strimzi.admin.graphql.instrumentation.TracingInstrumentation;
+import io.strimzi.admin.graphql.query.DocumentCache;
+import io.strimzi.admin.graphql.query.InFlightLimitHandler;
+import io.strimzi.admin.graphql.query.PersistedQueryHandler;
+import io.strimzi.admin.graphql.query.QueryETags;
+import io.strimzi.admin.graphql.query.StreamingGraphQLHandler;
 import io.strimzi.admin.graphql.registration.GraphQLRegistration;
 import io.strimzi.admin.graphql.registration.GraphQLRegistrationDescriptor;
 import io.strimzi.admin.graphql.registration.RuntimeWiringRegistry;
+import io.strimzi.admin.graphql.schema.SchemaLoader;
+import io.strimzi.admin.http.server.StartupTimer;
 import io.strimzi.admin.http.server.registration.RouteRegistration;
 import io.strimzi.admin.http.server.registration.RouteRegistrationDescriptor;
 import io.vertx.core.CompositeFuture;
@@ -15,24 +29,34 @@ import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.ext.web.Router;
-import io.vertx.ext.web.handler.graphql.GraphQLHandler;
+import io.vertx.ext.web.handler.BodyHandler;
+import io.vertx.ext.web.handler.graphql.ApolloWSHandler;
 import io.vertx.ext.web.handler.graphql.GraphiQLHandler;
 import io.vertx.ext.web.handler.graphql.GraphiQLHandlerOptions;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
 
 /**
  * GraphQLService configures the GraphQL library by making an executable schema from a schema
  * ({@link graphql.schema.idl.TypeDefinitionRegistry}) and its implementation
  * ({@link graphql.schema.idl.RuntimeWiring}).
  * <p>
- * The executable schema is exposed on the /graphql endpoint of the http-server.
+ * The executable schema is exposed on the /graphql endpoint of the http-server. Queries are
+ * served over HTTP POST and GET, their results streamed by the {@link StreamingGraphQLHandler},
+ * subscriptions over WebSocket using the graphql-ws protocol. The responses of the GET requests
+ * for the queries selecting only @versioned fields are tagged with the data versions of the
+ * modules by the {@link QueryETags}, so polling clients can revalidate them without the queries
+ * being executed again.
  * If the vertx web development environment is set, the graphiql tool will also be made available
  * as the /graphiql endpoint on the http-server.
  * <p>
@@ -40,33 +64,107 @@ import org.apache.logging.log4j.Logger;
  * schema to be decomposed into logical/business areas. Each module defines the schema and
  * implementation relevant to its logical/business area and exposes this through a
  * {@link GraphQLRegistration} object which is loaded from the classpath using the Java service
- * loader. All the individual GraphQLRegistration objects are processed in this service and the
- * schemas and implementations merged. The merged objects are then used to create the executable
- * schema of the {@link graphql.GraphQL} which controls the processing of the GraphQL requests
- * which are passed through the /graphql endpoint.
+ * loader, unless the registrations are passed to the constructor. All the individual
+ * GraphQLRegistration objects are processed in this service and the schemas and implementations
+ * merged. The merged objects are then used to create the executable schema of the
+ * {@link graphql.GraphQL} which controls the processing of the GraphQL requests which are passed
+ * through the /graphql endpoint.
+ * <p>
+ * The data loaders defined by the modules are registered in a new {@link DataLoaderRegistry} for
+ * each request, allowing the data fetchers of a module to batch the backend lookups made while
+ * executing a single request. The readiness checks of the modules are carried on to the route
+ * registration of the service.
+ * <p>
+ * Parsed and validated query documents are kept in a {@link DocumentCache}, and the Apollo
+ * automatic persisted queries protocol is supported by the {@link PersistedQueryHandler}, so
+ * clients repeating the same queries can send the query hash instead of the query text.
+ * <p>
+ * The base schema and the registrations of all the modules are loaded concurrently, and the time
+ * spent by each of them, as well as by the assembly of the executable schema, is recorded by the
+ * {@link StartupTimer}.
+ * <p>
+ * The latency of the requests and of the data fetchers, and the errors of the requests, are
+ * recorded in the Micrometer global registry by the {@link MetricsInstrumentation}. The traces of
+ * the slow requests, and of a sample of the requests, are recorded in the {@link SlowQueryLog} by
+ * the {@link TracingInstrumentation} and served on the /debug/slow-queries endpoint by the
+ * {@link SlowQueryHandler}. The log is owned by the service, the endpoint is not mounted when the
+ * log is disabled.
+ * <p>
+ * The queries exceeding the cost, depth or alias limits are rejected by the
+ * {@link QueryLimitsInstrumentation} before they are executed, and the requests arriving while
+ * too many requests are in flight are rejected by the {@link InFlightLimitHandler}.
  */
 public class GraphQLService implements RouteRegistration {
 
     private static final Logger LOGGER = LogManager.getLogger(GraphQLService.class);
+    private static final String MODULE_NAME = GraphQLService.class.getSimpleName();
     private static final String BASE_SCHEMA_LOCATION = "graphql-schema/baseSchema.graphql";
+    private static final long MAX_REQUEST_SIZE = 1024 * 1024;
+    private static final long CACHE_STATS_LOG_INTERVAL_MS = 60_000L;
+    private static final long QUERY_SHAPE_CACHE_SIZE = 1_000L;
+
+    private final Iterable<GraphQLRegistration> registrations;
+    private final Map<String, Supplier<DataLoader<?, ?>>> dataLoaders = new HashMap<>();
+    private final List<Supplier<Long>> dataVersions = new ArrayList<>();
+    private final Map<String, Supplier<Future<Void>>> readinessChecks = new HashMap<>();
+    private final Map<String, ToLongFunction<Map<String, Object>>> listSizeEstimates = new HashMap<>();
+    private GraphQLSchema schema;
+    private final GraphQLConfig config = GraphQLConfig.fromEnv(System.getenv());
+    private final DocumentCache documentCache = new DocumentCache(config.getDocumentCacheMaxBytes());
+    private final SlowQueryLog slowQueryLog = config.getSlowQueryLogSize() > 0 ? new SlowQueryLog(config.getSlowQueryLogSize()) : null;
+
+    public GraphQLService() {
+        this(ServiceLoader.load(GraphQLRegistration.class));
+    }
+
+    /**
+     * Creates the service with the given module registrations, in place of those found on the
+     * classpath
+     * @param registrations the registrations of the modules
+     */
+    public GraphQLService(final Iterable<GraphQLRegistration> registrations) {
+        this.registrations = registrations;
+    }
 
     @Override
     public Future<RouteRegistrationDescriptor> getRegistrationDescriptor(Vertx vertx) {
         final Promise<RouteRegistrationDescriptor> promise = Promise.promise();
 
         final Router router = Router.router(vertx);
-        final RouteRegistrationDescriptor graphQLRegistrationDescriptor = RouteRegistrationDescriptor.create("/", router);
 
         if (GraphiQLHandlerOptions.DEFAULT_ENABLED) {
             LOGGER.warn("GraphiQL is enabled");
             router.route("/graphiql/*").handler(GraphiQLHandler.create());
         }
 
-        configureGraphQLHandler(vertx)
-            .onSuccess(graphQLHandler -> {
-                graphQLHandler.queryContext(routingContext -> routingContext);
+        setupGraphQL(vertx)
+            .onSuccess(graphQL -> {
+                final ApolloWSHandler apolloWSHandler = ApolloWSHandler.create(graphQL)
+                    .queryContext(message -> message)
+                    .dataLoaderRegistry(message -> createDataLoaderRegistry());
+                router.route("/graphql").handler(apolloWSHandler);
+
+                final StreamingGraphQLHandler graphQLHandler = new StreamingGraphQLHandler(
+                    graphQL,
+                    routingContext -> createDataLoaderRegistry(),
+                    new QueryETags(schema, dataVersions, QUERY_SHAPE_CACHE_SIZE),
+                    config.getResponseChunkSize());
+                final InFlightLimitHandler inFlightLimitHandler = new InFlightLimitHandler(Metrics.globalRegistry, config.getMaxInFlightRequests());
+                final PersistedQueryHandler persistedQueryHandler = new PersistedQueryHandler(
+                    config.getPersistedQueryCacheMaxBytes(), config.getMaxPersistedQueryLength());
+                router.post("/graphql").handler(inFlightLimitHandler);
+                router.post("/graphql").handler(BodyHandler.create(false).setBodyLimit(MAX_REQUEST_SIZE));
+                router.post("/graphql").handler(persistedQueryHandler);
                 router.post("/graphql").handler(graphQLHandler);
-                promise.complete(graphQLRegistrationDescriptor);
+                router.get("/graphql").handler(inFlightLimitHandler);
+                router.get("/graphql").handler(persistedQueryHandler);
+                router.get("/graphql").handler(graphQLHandler);
+                if (slowQueryLog != null) {
+                    router.get("/debug/slow-queries").handler(new SlowQueryHandler(slowQueryLog,
+                        config.getSlowQueryThresholdMs(), config.getTraceSampleRate()));
+                }
+                logCacheStats(vertx);
+                promise.complete(RouteRegistrationDescriptor.create("/", router, readinessChecks));
             })
             .onFailure(throwable -> {
                 LOGGER.error("GraphQL service failed to initialize - {} ", throwable.getMessage());
@@ -76,66 +174,77 @@ public class GraphQLService implements RouteRegistration {
         return promise.future();
     }
 
-    private Future<GraphQLHandler> configureGraphQLHandler(final Vertx vertx) {
-        Promise<GraphQLHandler> promise = Promise.promise();
-
-        vertx.executeBlocking(p -> {
-                try {
-                    final SchemaParser schemaParser = new SchemaParser();
-                    final InputStreamReader userInputStream = new InputStreamReader(
-                        Objects.requireNonNull(
-                            getClass()
-                                .getClassLoader()
-                                .getResourceAsStream(GraphQLService.BASE_SCHEMA_LOCATION)),
-                        StandardCharsets.UTF_8);
-
-                    final TypeDefinitionRegistry typeDefinitionRegistry = schemaParser.parse(userInputStream);
-                    p.complete(typeDefinitionRegistry);
-                } catch (Exception exc) {
-                    p.fail(exc);
-                }
-            }, ar -> {
-                if (ar.succeeded()) {
-                    setupGraphQL(vertx, (TypeDefinitionRegistry) ar.result())
-                        .onSuccess(graphQL -> promise.complete(GraphQLHandler.create(graphQL)))
-                        .onFailure(promise::fail);
-                } else {
-                    promise.fail(ar.cause());
-                }
-            }
-        );
-
-        return promise.future();
-    }
-
-    private Future<GraphQL> setupGraphQL(final Vertx vertx, final TypeDefinitionRegistry baseSchemaRegistry) {
+    private Future<GraphQL> setupGraphQL(final Vertx vertx) {
         final Promise<GraphQL> promise = Promise.promise();
 
-        final ServiceLoader<GraphQLRegistration> loader = ServiceLoader.load(GraphQLRegistration.class);
+        // the base schema and the schemas of all the modules are loaded concurrently
+        final Future<TypeDefinitionRegistry> baseSchemaFuture = StartupTimer.time(MODULE_NAME, "schema",
+            () -> SchemaLoader.load(vertx, getClass().getClassLoader(), BASE_SCHEMA_LOCATION));
+
         final List<Future<GraphQLRegistrationDescriptor>> registrationDescriptors = new ArrayList<>();
 
-        loader.forEach(graphQLRegistration -> registrationDescriptors.add(graphQLRegistration.getRegistrationDescriptor(vertx)));
+        registrations.forEach(graphQLRegistration -> registrationDescriptors.add(StartupTimer.time(
+            graphQLRegistration.getClass().getSimpleName(), "registration", () -> graphQLRegistration.getRegistrationDescriptor(vertx))));
+
+        final List<Future> futures = new ArrayList<>(registrationDescriptors);
+        futures.add(baseSchemaFuture);
 
-        CompositeFuture.all(new ArrayList<>(registrationDescriptors))
+        CompositeFuture.all(futures)
             .onSuccess(cf -> {
+                final long start = System.nanoTime();
+                final TypeDefinitionRegistry baseSchemaRegistry = baseSchemaFuture.result();
                 final RuntimeWiringRegistry runtimeWiringRegistry = new RuntimeWiringRegistry();
 
                 registrationDescriptors.forEach(future -> {
                     baseSchemaRegistry.merge(future.result().getTypeDefinitionRegistry());
                     runtimeWiringRegistry.add(future.result().getRuntimeWiring());
+                    dataLoaders.putAll(future.result().getDataLoaders());
+                    if (future.result().getDataVersion() != null) {
+                        dataVersions.add(future.result().getDataVersion());
+                    }
+                    readinessChecks.putAll(future.result().getReadinessChecks());
+                    listSizeEstimates.putAll(future.result().getListSizeEstimates());
                 });
 
                 final SchemaGenerator schemaGenerator = new SchemaGenerator();
-                final GraphQLSchema schema = GraphQLSchema.newSchema(
+                schema = GraphQLSchema.newSchema(
                     schemaGenerator.makeExecutableSchema(
                         baseSchemaRegistry,
                         runtimeWiringRegistry.getRuntimeWiring()))
                     .build();
 
-                promise.complete(GraphQL.newGraphQL(schema).build());
+                final List<Instrumentation> instrumentations = new ArrayList<>(Arrays.asList(
+                    new QueryLimitsInstrumentation(Metrics.globalRegistry, listSizeEstimates,
+                        config.getMaxQueryCost(), config.getMaxQueryDepth(), config.getMaxQueryAliases()),
+                    new MetricsInstrumentation(Metrics.globalRegistry)));
+                if (slowQueryLog != null) {
+                    instrumentations.add(new TracingInstrumentation(slowQueryLog,
+                        config.getSlowQueryThresholdMs(), config.getTraceSampleRate()));
+                }
+
+                final GraphQL graphQL = GraphQL.newGraphQL(schema)
+                    .preparsedDocumentProvider(documentCache)
+                    .instrumentation(new ChainedInstrumentation(instrumentations))
+                    .build();
+                StartupTimer.record(MODULE_NAME, "assembly", System.nanoTime() - start);
+
+                promise.complete(graphQL);
             })
             .onFailure(promise::fail);
 
         return promise.future();
     }
+
+    private void logCacheStats(final Vertx vertx) {
+        if (LOGGER.isDebugEnabled()) {
+            vertx.setPeriodic(CACHE_STATS_LOG_INTERVAL_MS, id -> LOGGER.debug("Query document cache holds {} documents, hit rate {}.",
+                documentCache.size(), documentCache.stats().hitRate()));
+        }
+    }
+
+    private DataLoaderRegistry createDataLoaderRegistry() {
+        final DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
+        dataLoaders.forEach((name, dataLoader) -> dataLoaderRegistry.register(name, dataLoader.get()));
+        return dataLoaderRegistry;
+    }
 }
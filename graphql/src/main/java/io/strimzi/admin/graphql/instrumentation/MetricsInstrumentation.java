@@ -0,0 +1,167 @@
+package io.strimzi.admin.graphql.instrumentation;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLType;
+import graphql.validation.ValidationError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the GraphQL request metrics in a Micrometer registry:
+ * <ul>
+ *     <li>graphql.request: the duration of the requests, tagged with the operation name</li>
+ *     <li>graphql.datafetcher: the duration of the non trivial data fetchers, tagged with the
+ *     field they fetch</li>
+ *     <li>graphql.errors: the number of errors, tagged with the phase (parse, validate or execute)
+ *     in which they occurred</li>
+ * </ul>
+ * The timers are cached by operation name and by field, so recording a request only allocates
+ * the per request state. As the operation names are chosen by the clients, the number of timers
+ * created for them is limited and the operations over the limit share a single timer.
+ */
+public class MetricsInstrumentation extends SimpleInstrumentation {
+    static final int MAX_OPERATION_NAMES = 100;
+    private static final String ANONYMOUS_OPERATION = "anonymous";
+    private static final String OTHER_OPERATIONS = "other";
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> operationTimers = new ConcurrentHashMap<>();
+    private final Map<GraphQLType, Map<String, Timer>> fieldTimers = new ConcurrentHashMap<>();
+    private final Counter parseErrors;
+    private final Counter validationErrors;
+    private final Counter executionErrors;
+
+    public MetricsInstrumentation(final MeterRegistry registry) {
+        this.registry = registry;
+        this.parseErrors = errorCounter("parse");
+        this.validationErrors = errorCounter("validate");
+        this.executionErrors = errorCounter("execute");
+    }
+
+    @Override
+    public InstrumentationState createState() {
+        return new RequestState();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(final InstrumentationExecutionParameters parameters) {
+        final long start = System.nanoTime();
+        final RequestState state = parameters.getInstrumentationState();
+        state.operationName = parameters.getOperation();
+
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) ->
+            operationTimer(state.operationName).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public InstrumentationContext<Document> beginParse(final InstrumentationExecutionParameters parameters) {
+        return SimpleInstrumentationContext.whenCompleted((document, throwable) -> {
+            if (throwable != null) {
+                parseErrors.increment();
+            }
+        });
+    }
+
+    @Override
+    public InstrumentationContext<List<ValidationError>> beginValidation(final InstrumentationValidationParameters parameters) {
+        return SimpleInstrumentationContext.whenCompleted((errors, throwable) -> {
+            if (throwable != null) {
+                validationErrors.increment();
+            } else if (errors != null && !errors.isEmpty()) {
+                validationErrors.increment(errors.size());
+            }
+        });
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(final InstrumentationExecuteOperationParameters parameters) {
+        final RequestState state = parameters.getInstrumentationState();
+        final OperationDefinition operation = parameters.getExecutionContext().getOperationDefinition();
+        if (operation != null && operation.getName() != null) {
+            state.operationName = operation.getName();
+        }
+
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+            if (throwable != null) {
+                executionErrors.increment();
+            } else if (result != null && !result.getErrors().isEmpty()) {
+                executionErrors.increment(result.getErrors().size());
+            }
+        });
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(final InstrumentationFieldFetchParameters parameters) {
+        if (parameters.isTrivialDataFetcher()) {
+            return super.beginFieldFetch(parameters);
+        }
+
+        final long start = System.nanoTime();
+        final Timer timer = fieldTimer(parameters.getEnvironment().getParentType(), parameters.getField().getName());
+
+        return SimpleInstrumentationContext.whenCompleted((value, throwable) ->
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private Timer operationTimer(final String operationName) {
+        final String name = operationName == null ? ANONYMOUS_OPERATION : operationName;
+
+        final Timer timer = operationTimers.get(name);
+        if (timer != null) {
+            return timer;
+        }
+        if (operationTimers.size() >= MAX_OPERATION_NAMES) {
+            return operationTimers.computeIfAbsent(OTHER_OPERATIONS, this::newOperationTimer);
+        }
+        return operationTimers.computeIfAbsent(name, this::newOperationTimer);
+    }
+
+    private Timer newOperationTimer(final String operationName) {
+        return Timer.builder("graphql.request")
+            .description("Duration of the GraphQL requests")
+            .tag("operation", operationName)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private Timer fieldTimer(final GraphQLType parentType, final String fieldName) {
+        return fieldTimers
+            .computeIfAbsent(parentType, type -> new ConcurrentHashMap<>())
+            .computeIfAbsent(fieldName, name -> Timer.builder("graphql.datafetcher")
+                .description("Duration of the GraphQL data fetchers")
+                .tag("field", ((GraphQLNamedType) parentType).getName() + "." + name)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private Counter errorCounter(final String phase) {
+        return Counter.builder("graphql.errors")
+            .description("Number of errors of the GraphQL requests")
+            .tag("phase", phase)
+            .register(registry);
+    }
+
+    /**
+     * The operation name of a request, which is only known once the document is parsed when the
+     * request does not name the operation to execute
+     */
+    private static final class RequestState implements InstrumentationState {
+        private volatile String operationName;
+    }
+}
@@ -0,0 +1,200 @@
+package io.strimzi.admin.graphql.instrumentation;
+
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.util.TraversalControl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Rejects the queries which are too expensive to execute, before any data fetcher is called.
+ * <p>
+ * The cost of a query is the sum of the weights of its fields. A field weighs 1 unless its
+ * definition carries a @cost directive. The weights of the fields selected below a field declaring
+ * a multiplier argument, or a list size, are multiplied by the value of the argument, or by the
+ * list size when the argument is not set. The list size of the fields returning lists whose size
+ * is only known at runtime, such as all the topics of a cluster, is estimated from the arguments
+ * of the field by the estimate named by their @cost directive. The depth of the query and its
+ * number of aliased fields are limited as well.
+ * <p>
+ * The limits are checked when the operation starts executing rather than during validation, as
+ * the validation of cached query documents is skipped. The traversal stops as soon as a limit is
+ * exceeded, so a query expanding into a huge number of fields is rejected after visiting at most
+ * as many fields as the maximum cost allows.
+ */
+public class QueryLimitsInstrumentation extends SimpleInstrumentation {
+    static final String COST_DIRECTIVE = "cost";
+
+    private final long maxCost;
+    private final int maxDepth;
+    private final int maxAliases;
+    private final Map<String, ToLongFunction<Map<String, Object>>> listSizeEstimates;
+    private final Map<GraphQLFieldDefinition, FieldCost> fieldCosts = new ConcurrentHashMap<>();
+    private final Counter costRejections;
+    private final Counter depthRejections;
+    private final Counter aliasRejections;
+
+    public QueryLimitsInstrumentation(final MeterRegistry registry, final Map<String, ToLongFunction<Map<String, Object>>> listSizeEstimates,
+                                      final long maxCost, final int maxDepth, final int maxAliases) {
+        this.listSizeEstimates = listSizeEstimates;
+        this.maxCost = maxCost;
+        this.maxDepth = maxDepth;
+        this.maxAliases = maxAliases;
+        this.costRejections = rejectionCounter(registry, "cost");
+        this.depthRejections = rejectionCounter(registry, "depth");
+        this.aliasRejections = rejectionCounter(registry, "aliases");
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(final InstrumentationExecuteOperationParameters parameters) {
+        final ExecutionContext executionContext = parameters.getExecutionContext();
+        final LimitsVisitor visitor = new LimitsVisitor();
+
+        QueryTraverser.newQueryTraverser()
+            .schema(executionContext.getGraphQLSchema())
+            .document(executionContext.getDocument())
+            .operationName(executionContext.getOperationDefinition().getName())
+            .variables(executionContext.getVariables())
+            .build()
+            .visitPreOrder(visitor);
+
+        if (visitor.depth > maxDepth) {
+            depthRejections.increment();
+            throw new AbortExecutionException("Query exceeds the maximum depth of " + maxDepth);
+        } else if (visitor.aliases > maxAliases) {
+            aliasRejections.increment();
+            throw new AbortExecutionException("Query exceeds the maximum number of aliases of " + maxAliases);
+        } else if (visitor.cost > maxCost) {
+            costRejections.increment();
+            throw new AbortExecutionException("Query exceeds the maximum cost of " + maxCost);
+        }
+
+        return super.beginExecuteOperation(parameters);
+    }
+
+    private FieldCost fieldCost(final GraphQLFieldDefinition fieldDefinition) {
+        return fieldCosts.computeIfAbsent(fieldDefinition, definition -> FieldCost.of(definition, listSizeEstimates));
+    }
+
+    private static Counter rejectionCounter(final MeterRegistry registry, final String reason) {
+        return Counter.builder("graphql.rejected")
+            .description("Number of GraphQL requests rejected by the query limits")
+            .tag("reason", reason)
+            .register(registry);
+    }
+
+    /**
+     * Computes the cost, depth and aliases of a query. The cost of a field is its weight times the
+     * multipliers of the fields it is selected below, which adds up to the same total as
+     * multiplying the cost of the selection of each field, while allowing to stop early.
+     */
+    private final class LimitsVisitor extends QueryVisitorStub {
+        private long cost;
+        private int depth;
+        private int aliases;
+
+        @Override
+        public TraversalControl visitFieldWithControl(final QueryVisitorFieldEnvironment env) {
+            if (env.isTypeNameIntrospectionField()) {
+                return TraversalControl.CONTINUE;
+            }
+
+            int fieldDepth = 1;
+            long multiplier = 1;
+            for (QueryVisitorFieldEnvironment parent = env.getParentEnvironment(); parent != null; parent = parent.getParentEnvironment()) {
+                fieldDepth++;
+                multiplier = saturatedMultiply(multiplier, fieldCost(parent.getFieldDefinition()).multiplier(parent.getArguments()));
+            }
+
+            depth = Math.max(depth, fieldDepth);
+            if (env.getField().getAlias() != null) {
+                aliases++;
+            }
+            cost = saturatedAdd(cost, saturatedMultiply(multiplier, fieldCost(env.getFieldDefinition()).weight));
+
+            return cost > maxCost || depth > maxDepth || aliases > maxAliases ? TraversalControl.QUIT : TraversalControl.CONTINUE;
+        }
+    }
+
+    private static long saturatedMultiply(final long a, final long b) {
+        final long result = a * b;
+        return a != 0 && (result / a != b || result < 0) ? Long.MAX_VALUE : result;
+    }
+
+    private static long saturatedAdd(final long a, final long b) {
+        final long result = a + b;
+        return result < 0 ? Long.MAX_VALUE : result;
+    }
+
+    /**
+     * The weight and multiplier of a field, read from the @cost directive of its definition
+     */
+    private static final class FieldCost {
+        private static final FieldCost DEFAULT = new FieldCost(1, null, null, null);
+
+        private final long weight;
+        private final String multiplierArgument;
+        private final Integer listSize;
+        private final ToLongFunction<Map<String, Object>> listSizeEstimate;
+
+        private FieldCost(final long weight, final String multiplierArgument, final Integer listSize,
+                          final ToLongFunction<Map<String, Object>> listSizeEstimate) {
+            this.weight = weight;
+            this.multiplierArgument = multiplierArgument;
+            this.listSize = listSize;
+            this.listSizeEstimate = listSizeEstimate;
+        }
+
+        static FieldCost of(final GraphQLFieldDefinition fieldDefinition,
+                            final Map<String, ToLongFunction<Map<String, Object>>> listSizeEstimates) {
+            final GraphQLDirective directive = fieldDefinition.getDirective(COST_DIRECTIVE);
+            if (directive == null) {
+                return DEFAULT;
+            }
+
+            final Number weight = argument(directive, "weight");
+            final String multiplier = argument(directive, "multiplier");
+            final Number listSize = argument(directive, "listSize");
+            final String listSizeEstimate = argument(directive, "listSizeEstimate");
+
+            return new FieldCost(
+                weight == null ? 1 : weight.longValue(),
+                multiplier,
+                listSize == null ? null : listSize.intValue(),
+                listSizeEstimate == null ? null : listSizeEstimates.get(listSizeEstimate));
+        }
+
+        long multiplier(final Map<String, Object> arguments) {
+            final Object value = multiplierArgument == null ? null : arguments.get(multiplierArgument);
+            if (value instanceof Number) {
+                return Math.max(((Number) value).longValue(), 0);
+            }
+            if (listSizeEstimate != null) {
+                return Math.max(listSizeEstimate.applyAsLong(arguments), 0);
+            }
+            return listSize == null ? 1 : listSize;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T argument(final GraphQLDirective directive, final String name) {
+            final GraphQLArgument argument = directive.getArgument(name);
+            if (argument == null) {
+                return null;
+            }
+            return (T) (argument.getValue() != null ? argument.getValue() : argument.getDefaultValue());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package io.strimzi.admin.graphql.instrumentation;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The trace of the execution of a GraphQL request, recorded by the {@link TracingInstrumentation}.
+ * <p>
+ * A trace holds the timings of the data fetchers of each field and the backend requests made by
+ * the data loaders of the request. The trace of a sampled request also holds the timing of each
+ * field fetched, by path. The query is kept as its signature, without its literals, and the values
+ * of the variables are not kept, only their types.
+ */
+public final class QueryTrace {
+    private final long timestamp;
+    private final String operationName;
+    private final String query;
+    private final Map<String, String> variables;
+    private final long durationNanos;
+    private final boolean sampled;
+    private final int errorCount;
+    private final List<FieldTiming> fieldTimings;
+    private final List<LoaderCalls> loaderCalls;
+    private final List<FieldTrace> fieldTraces;
+
+    QueryTrace(final long timestamp, final String operationName, final String query, final Map<String, String> variables,
+               final long durationNanos, final boolean sampled, final int errorCount, final List<FieldTiming> fieldTimings,
+               final List<LoaderCalls> loaderCalls, final List<FieldTrace> fieldTraces) {
+        this.timestamp = timestamp;
+        this.operationName = operationName;
+        this.query = query;
+        this.variables = variables;
+        this.durationNanos = durationNanos;
+        this.sampled = sampled;
+        this.errorCount = errorCount;
+        this.fieldTimings = fieldTimings;
+        this.loaderCalls = loaderCalls;
+        this.fieldTraces = fieldTraces;
+    }
+
+    /**
+     * Retrieve the time at which the request started executing
+     * @return the start time in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Retrieve the duration of the request
+     * @return the duration in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Retrieve whether the request was sampled, rather than recorded for exceeding the threshold
+     * @return true if the request was sampled
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * Converts the trace into JSON, the durations in milliseconds
+     * @return the JSON representation of the trace
+     */
+    public JsonObject toJson() {
+        final JsonArray fields = new JsonArray();
+        fieldTimings.forEach(timing -> fields.add(new JsonObject()
+            .put("field", timing.field)
+            .put("count", timing.count)
+            .put("totalMs", millis(timing.totalNanos))
+            .put("maxMs", millis(timing.maxNanos))));
+
+        final JsonArray loaders = new JsonArray();
+        loaderCalls.forEach(calls -> loaders.add(new JsonObject()
+            .put("dataLoader", calls.dataLoader)
+            .put("batches", calls.batches)
+            .put("keys", calls.keys)
+            .put("cacheHits", calls.cacheHits)));
+
+        final JsonObject json = new JsonObject()
+            .put("timestamp", timestamp)
+            .put("operationName", operationName)
+            .put("query", query)
+            .put("variables", new JsonObject(new LinkedHashMap<>(variables)))
+            .put("durationMs", millis(durationNanos))
+            .put("sampled", sampled)
+            .put("errorCount", errorCount)
+            .put("fields", fields)
+            .put("dataLoaders", loaders);
+
+        if (fieldTraces != null) {
+            final JsonArray trace = new JsonArray();
+            fieldTraces.forEach(field -> trace.add(new JsonObject()
+                .put("path", field.path)
+                .put("field", field.field)
+                .put("startMs", millis(field.startNanos))
+                .put("durationMs", millis(field.durationNanos))));
+            json.put("trace", trace);
+        }
+        return json;
+    }
+
+    private static double millis(final long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * The number of times the data fetcher of a field was called by a request and its durations
+     */
+    static final class FieldTiming {
+        private final String field;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        FieldTiming(final String field, final long count, final long totalNanos, final long maxNanos) {
+            this.field = field;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+    }
+
+    /**
+     * The batches dispatched by a data loader of a request, each batch being a backend request
+     */
+    static final class LoaderCalls {
+        private final String dataLoader;
+        private final long batches;
+        private final long keys;
+        private final long cacheHits;
+
+        LoaderCalls(final String dataLoader, final long batches, final long keys, final long cacheHits) {
+            this.dataLoader = dataLoader;
+            this.batches = batches;
+            this.keys = keys;
+            this.cacheHits = cacheHits;
+        }
+    }
+
+    /**
+     * The fetch of a field at a path of the result, relative to the start of the request
+     */
+    static final class FieldTrace {
+        private final String path;
+        private final String field;
+        private final long startNanos;
+        private final long durationNanos;
+
+        FieldTrace(final String path, final String field, final long startNanos, final long durationNanos) {
+            this.path = path;
+            this.field = field;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.strimzi.admin.graphql.instrumentation;
+
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Serves the traces of the slow GraphQL requests and of a sample of the requests held by a
+ * {@link SlowQueryLog}, the most recent first. Only the traces of the sampled requests, or only
+ * those of the slow requests, are returned when the sampled parameter is true or false.
+ * <p>
+ * The handler is mounted by the GraphQL service on the /debug/slow-queries route, only when the
+ * slow query log is enabled.
+ */
+public class SlowQueryHandler implements Handler<RoutingContext> {
+    private final SlowQueryLog log;
+    private final long thresholdMs;
+    private final double sampleRate;
+
+    public SlowQueryHandler(final SlowQueryLog log, final long thresholdMs, final double sampleRate) {
+        this.log = log;
+        this.thresholdMs = thresholdMs;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void handle(final RoutingContext rc) {
+        final String sampled = rc.request().getParam("sampled");
+        rc.vertx().<JsonObject>executeBlocking(p -> {
+            final JsonArray traces = new JsonArray();
+            for (final QueryTrace trace : log.traces()) {
+                if (sampled == null || Boolean.parseBoolean(sampled) == trace.isSampled()) {
+                    traces.add(trace.toJson());
+                }
+            }
+            p.complete(new JsonObject()
+                .put("thresholdMs", thresholdMs)
+                .put("sampleRate", sampleRate)
+                .put("capacity", log.capacity())
+                .put("traces", traces));
+        }, false, ar -> {
+            if (ar.succeeded()) {
+                rc.response()
+                    .putHeader("Content-Type", "application/json")
+                    .end(ar.result().toBuffer());
+            } else {
+                rc.fail(ar.cause());
+            }
+        });
+    }
+}
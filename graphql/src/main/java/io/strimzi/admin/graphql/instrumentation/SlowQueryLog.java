@@ -0,0 +1,65 @@
+package io.strimzi.admin.graphql.instrumentation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed size ring buffer of the last {@link QueryTrace}s recorded by the
+ * {@link TracingInstrumentation}.
+ * <p>
+ * Recording a trace claims the next slot with an atomic increment and overwrites the oldest trace,
+ * so the requests completing on different event loops never wait for each other and the memory
+ * held by the log is bounded by its capacity. Reading the log copies the traces present at that
+ * time, a trace recorded concurrently may or may not be part of the copy.
+ * <p>
+ * The log is created by the GraphQL service, which records the traces and serves them, only when
+ * the slow query log is enabled.
+ */
+public final class SlowQueryLog {
+    private final AtomicReferenceArray<QueryTrace> traces;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SlowQueryLog(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of the slow query log must be positive, got " + capacity);
+        }
+        this.traces = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Records a trace, replacing the oldest trace once the log is full
+     * @param trace the trace
+     */
+    public void record(final QueryTrace trace) {
+        final long slot = sequence.getAndIncrement() % traces.length();
+        traces.set((int) slot, trace);
+    }
+
+    /**
+     * Retrieve the traces of the log
+     * @return a copy of the traces, the most recent first
+     */
+    public List<QueryTrace> traces() {
+        final long last = sequence.get();
+        final int count = (int) Math.min(last, traces.length());
+        final List<QueryTrace> copy = new ArrayList<>(count);
+
+        for (long i = last - 1; i >= last - count; i--) {
+            final QueryTrace trace = traces.get((int) (i % traces.length()));
+            if (trace != null) {
+                copy.add(trace);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Retrieve the maximum number of traces held by the log
+     * @return the capacity of the log
+     */
+    public int capacity() {
+        return traces.length();
+    }
+}
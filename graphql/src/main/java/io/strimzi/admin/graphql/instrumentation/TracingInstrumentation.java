@@ -0,0 +1,201 @@
+package io.strimzi.admin.graphql.instrumentation;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.language.AstPrinter;
+import graphql.language.AstSignature;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.schema.GraphQLNamedType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.stats.Statistics;
+
+/**
+ * Records the traces of the slow and of a sample of the GraphQL requests in a {@link SlowQueryLog}.
+ * <p>
+ * The duration of every request is measured, together with the number of calls and the durations
+ * of the non trivial data fetchers of each field, which costs a counter per field of the schema
+ * selected by the request. A request is recorded when it took longer than the threshold, or when
+ * it was sampled. The timing of each field fetched, by path, is only collected for the sampled
+ * requests, as a request may fetch any number of fields, and is limited to the first fields.
+ * <p>
+ * The query of a trace is the signature of the executed document, as computed by
+ * {@link AstSignature}: the literals are replaced by empty values and the aliases removed, so
+ * neither the values written inline in a query nor the values of its variables are recorded.
+ * <p>
+ * The backend requests made for a request are counted from the statistics of its data loaders,
+ * every batch dispatched by a data loader being a single backend request. The backend requests
+ * made directly by the data fetchers are part of the timings of their fields.
+ */
+public class TracingInstrumentation extends SimpleInstrumentation {
+    static final int MAX_FIELD_TRACES = 500;
+    static final int MAX_QUERY_LENGTH = 4096;
+    static final int MAX_VARIABLES = 100;
+
+    private final SlowQueryLog log;
+    private final long thresholdNanos;
+    private final double sampleRate;
+
+    public TracingInstrumentation(final SlowQueryLog log, final long thresholdMs, final double sampleRate) {
+        this.log = log;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public InstrumentationState createState() {
+        return new TraceState(ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(final InstrumentationExecutionParameters parameters) {
+        final TraceState state = parameters.getInstrumentationState();
+        state.operationName = parameters.getOperation();
+
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+            final long duration = System.nanoTime() - state.start;
+            if (duration >= thresholdNanos || state.sampled) {
+                log.record(state.toTrace(duration,
+                    parameters.getVariables(),
+                    parameters.getExecutionInput().getDataLoaderRegistry(),
+                    throwable != null ? 1 : result == null ? 0 : result.getErrors().size()));
+            }
+        });
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(final InstrumentationExecuteOperationParameters parameters) {
+        final TraceState state = parameters.getInstrumentationState();
+        final OperationDefinition operation = parameters.getExecutionContext().getOperationDefinition();
+        if (operation != null && operation.getName() != null) {
+            state.operationName = operation.getName();
+        }
+        state.document = parameters.getExecutionContext().getDocument();
+        return super.beginExecuteOperation(parameters);
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(final InstrumentationFieldFetchParameters parameters) {
+        if (parameters.isTrivialDataFetcher()) {
+            return super.beginFieldFetch(parameters);
+        }
+
+        final TraceState state = parameters.getInstrumentationState();
+        final long start = System.nanoTime();
+        final String field = ((GraphQLNamedType) parameters.getEnvironment().getParentType()).getName() + "." + parameters.getField().getName();
+        final String path = state.sampled ? parameters.getEnvironment().getExecutionStepInfo().getPath().toString() : null;
+
+        return SimpleInstrumentationContext.whenCompleted((value, throwable) ->
+            state.fieldFetched(field, path, start, System.nanoTime() - start));
+    }
+
+    /**
+     * The timings of a request. The fields of a request may complete on different threads, the
+     * timings are recorded under the lock of the state.
+     */
+    private static final class TraceState implements InstrumentationState {
+        private final long start = System.nanoTime();
+        private final long timestamp = System.currentTimeMillis();
+        private final boolean sampled;
+        private final Map<String, long[]> fieldTimings = new HashMap<>();
+        private final List<QueryTrace.FieldTrace> fieldTraces;
+        private volatile String operationName;
+        private volatile Document document;
+
+        private TraceState(final boolean sampled) {
+            this.sampled = sampled;
+            this.fieldTraces = sampled ? new ArrayList<>() : null;
+        }
+
+        private synchronized void fieldFetched(final String field, final String path, final long fieldStart, final long duration) {
+            final long[] timing = fieldTimings.computeIfAbsent(field, f -> new long[3]);
+            timing[0]++;
+            timing[1] += duration;
+            timing[2] = Math.max(timing[2], duration);
+
+            if (path != null && fieldTraces.size() < MAX_FIELD_TRACES) {
+                fieldTraces.add(new QueryTrace.FieldTrace(path, field, fieldStart - start, duration));
+            }
+        }
+
+        private synchronized QueryTrace toTrace(final long duration, final Map<String, Object> variables,
+                                                final DataLoaderRegistry dataLoaderRegistry, final int errorCount) {
+            // the literals of the query may hold sensitive values, only the signature of the
+            // document executed is recorded, a request which failed to validate has none
+            final String query = document == null
+                ? null
+                : AstPrinter.printAstCompact(new AstSignature().signatureQuery(document, operationName));
+
+            final List<QueryTrace.FieldTiming> timings = new ArrayList<>(fieldTimings.size());
+            fieldTimings.forEach((field, timing) -> timings.add(new QueryTrace.FieldTiming(field, timing[0], timing[1], timing[2])));
+
+            final List<QueryTrace.LoaderCalls> loaderCalls = new ArrayList<>();
+            if (dataLoaderRegistry != null) {
+                for (final String name : dataLoaderRegistry.getKeys()) {
+                    final Statistics statistics = dataLoaderRegistry.getDataLoader(name).getStatistics();
+                    if (statistics.getLoadCount() > 0) {
+                        loaderCalls.add(new QueryTrace.LoaderCalls(
+                            name, statistics.getBatchInvokeCount(), statistics.getBatchLoadCount(), statistics.getCacheHitCount()));
+                    }
+                }
+            }
+
+            return new QueryTrace(
+                timestamp,
+                operationName,
+                query == null || query.length() <= MAX_QUERY_LENGTH ? query : query.substring(0, MAX_QUERY_LENGTH),
+                variableTypes(variables),
+                duration,
+                sampled,
+                errorCount,
+                timings,
+                loaderCalls,
+                fieldTraces == null ? null : new ArrayList<>(fieldTraces));
+        }
+
+        private static Map<String, String> variableTypes(final Map<String, Object> variables) {
+            if (variables == null || variables.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            final Map<String, String> types = new LinkedHashMap<>();
+            for (final Map.Entry<String, Object> variable : variables.entrySet()) {
+                if (types.size() == MAX_VARIABLES) {
+                    break;
+                }
+                types.put(variable.getKey(), typeOf(variable.getValue()));
+            }
+            return types;
+        }
+
+        private static String typeOf(final Object value) {
+            if (value == null) {
+                return "null";
+            } else if (value instanceof String) {
+                return "string";
+            } else if (value instanceof Number) {
+                return "number";
+            } else if (value instanceof Boolean) {
+                return "boolean";
+            } else if (value instanceof Map) {
+                return "object";
+            } else if (value instanceof List) {
+                return "array[" + ((List<?>) value).size() + "]";
+            }
+            return value.getClass().getSimpleName();
+        }
+    }
+}
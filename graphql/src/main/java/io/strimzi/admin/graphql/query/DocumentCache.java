@@ -0,0 +1,83 @@
+package io.strimzi.admin.graphql.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.vertx.ext.web.RoutingContext;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of parsed and validated query documents, so that the queries sent repeatedly
+ * by polling clients are only parsed and validated once.
+ * <p>
+ * The documents are keyed by the SHA-256 hash of the query text. When the request used an
+ * automatic persisted query, the hash set on the {@link RoutingContext} by the
+ * {@link PersistedQueryHandler} is used instead of hashing the query again. The eviction policy
+ * is Caffeine's Window TinyLFU, which keeps the frequently used documents even when a burst of
+ * one-off queries goes through the cache.
+ * <p>
+ * The cache is bounded by the total length of the query texts of its documents rather than by their
+ * number, as the size of a parsed document grows with the length of its query and a single query
+ * may be as large as the body limit of the requests.
+ */
+public class DocumentCache implements PreparsedDocumentProvider {
+
+    private final Cache<String, WeighedEntry> documents;
+
+    public DocumentCache(final long maximumBytes) {
+        this.documents = Caffeine.newBuilder()
+            .maximumWeight(maximumBytes)
+            .weigher((String key, WeighedEntry entry) -> entry.weight)
+            .recordStats()
+            .build();
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(final ExecutionInput executionInput,
+                                              final Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return documents.get(key(executionInput), k -> new WeighedEntry(
+            parseAndValidateFunction.apply(executionInput), executionInput.getQuery().length())).entry;
+    }
+
+    /**
+     * Retrieve the statistics of the cache
+     * @return the hit, miss and eviction counts of the cache
+     */
+    public CacheStats stats() {
+        return documents.stats();
+    }
+
+    /**
+     * Retrieve the number of documents in the cache
+     * @return the approximate number of cached documents
+     */
+    public long size() {
+        return documents.estimatedSize();
+    }
+
+    private static String key(final ExecutionInput executionInput) {
+        if (executionInput.getContext() instanceof RoutingContext) {
+            final String hash = ((RoutingContext) executionInput.getContext()).get(PersistedQueryHandler.PERSISTED_QUERY_HASH);
+            if (hash != null) {
+                return hash;
+            }
+        }
+        return QueryHash.sha256(executionInput.getQuery());
+    }
+
+    /**
+     * A cached document, weighed by the length of its query text
+     */
+    private static final class WeighedEntry {
+        private final PreparsedDocumentEntry entry;
+        private final int weight;
+
+        private WeighedEntry(final PreparsedDocumentEntry entry, final int weight) {
+            this.entry = entry;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.strimzi.admin.graphql.query;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of GraphQL requests processed concurrently. A request arriving while the limit
+ * is reached is rejected straight away with a 503 response and a Retry-After header, instead of
+ * queueing behind the requests in flight, so an overloaded server keeps answering quickly.
+ * <p>
+ * The handler is shared by all the server instances, the limit applies to the whole process. A
+ * request stops counting once its response has been sent or its connection has been closed.
+ */
+public class InFlightLimitHandler implements Handler<RoutingContext> {
+    private static final String OVERLOADED_MESSAGE = "The server is processing too many requests, retry later";
+    private static final String OVERLOADED_CODE = "SERVICE_UNAVAILABLE";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejections;
+
+    public InFlightLimitHandler(final MeterRegistry registry, final int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+        this.rejections = Counter.builder("graphql.rejected")
+            .description("Number of GraphQL requests rejected by the query limits")
+            .tag("reason", "overload")
+            .register(registry);
+        registry.gauge("graphql.inflight", inFlight);
+    }
+
+    @Override
+    public void handle(final RoutingContext rc) {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            rejections.increment();
+            reject(rc);
+            return;
+        }
+
+        // the end handlers of the routing context are also called when the connection is closed
+        // first, the close handler of the response is left to the handlers of the request
+        final AtomicBoolean released = new AtomicBoolean();
+        final Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        };
+        rc.addBodyEndHandler(v -> release.run());
+        rc.addEndHandler(ar -> release.run());
+        rc.next();
+    }
+
+    private static void reject(final RoutingContext rc) {
+        final JsonObject error = new JsonObject()
+            .put("message", OVERLOADED_MESSAGE)
+            .put("extensions", new JsonObject().put("code", OVERLOADED_CODE));
+
+        rc.response()
+            .setStatusCode(503)
+            .putHeader("Retry-After", RETRY_AFTER_SECONDS)
+            .putHeader("Content-Type", "application/json")
+            .end(new JsonObject().put("errors", new JsonArray().add(error)).toBuffer());
+    }
+}
@@ -0,0 +1,117 @@
+package io.strimzi.admin.graphql.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Implements the Apollo automatic persisted queries protocol on top of the GraphQL handler.
+ * <p>
+ * A client sends the SHA-256 hash of its query in the persistedQuery request extension instead
+ * of the query text. If the hash is known, the query text is restored in the request body before
+ * it reaches the GraphQL handler. Otherwise a PersistedQueryNotFound error is returned and the
+ * client sends the hash together with the query text, which is then remembered for the next
+ * requests. The query and the extensions of a GET request are read from its parameters, otherwise
+ * the handler requires the request body to have been read by a body handler.
+ * <p>
+ * The endpoint is not authenticated, so the memory held by the registered queries is bounded in
+ * bytes: the cache is bounded by the total length of the queries, and a query longer than the
+ * maximum length is executed without being registered, the client sending its text again.
+ */
+public class PersistedQueryHandler implements Handler<RoutingContext> {
+    /**
+     * The key of the {@link RoutingContext} data holding the hash of a persisted query
+     */
+    public static final String PERSISTED_QUERY_HASH = "persistedQueryHash";
+
+    private static final String NOT_FOUND_MESSAGE = "PersistedQueryNotFound";
+    private static final String NOT_FOUND_CODE = "PERSISTED_QUERY_NOT_FOUND";
+    private static final String HASH_MISMATCH_MESSAGE = "provided sha does not match query";
+    private static final String HASH_MISMATCH_CODE = "INTERNAL_SERVER_ERROR";
+
+    private final Cache<String, String> queries;
+    private final int maxQueryLength;
+
+    public PersistedQueryHandler(final long maximumBytes, final int maxQueryLength) {
+        this.queries = Caffeine.newBuilder()
+            .maximumWeight(maximumBytes)
+            .weigher((String hash, String query) -> query.length())
+            .build();
+        this.maxQueryLength = maxQueryLength;
+    }
+
+    @Override
+    public void handle(final RoutingContext rc) {
+        final boolean get = rc.request().method() == HttpMethod.GET;
+        final JsonObject body;
+        try {
+            body = get ? parameters(rc.request()) : rc.getBodyAsJson();
+        } catch (DecodeException exc) {
+            // batched or malformed requests are left to the GraphQL handler
+            rc.next();
+            return;
+        }
+
+        final String hash = persistedQueryHash(body);
+        if (hash == null) {
+            rc.next();
+            return;
+        }
+
+        final String query = body.getString("query");
+        if (query == null) {
+            final String persistedQuery = queries.getIfPresent(hash);
+            if (persistedQuery == null) {
+                sendError(rc, NOT_FOUND_MESSAGE, NOT_FOUND_CODE);
+                return;
+            }
+            if (get) {
+                rc.request().params().set("query", persistedQuery);
+            } else {
+                rc.setBody(body.put("query", persistedQuery).toBuffer());
+            }
+        } else if (hash.equals(QueryHash.sha256(query))) {
+            if (query.length() <= maxQueryLength) {
+                queries.put(hash, query);
+            }
+        } else {
+            sendError(rc, HASH_MISMATCH_MESSAGE, HASH_MISMATCH_CODE);
+            return;
+        }
+
+        rc.put(PERSISTED_QUERY_HASH, hash);
+        rc.next();
+    }
+
+    private static JsonObject parameters(final HttpServerRequest request) {
+        final String extensions = request.getParam("extensions");
+        return new JsonObject()
+            .put("query", request.getParam("query"))
+            .put("extensions", extensions == null ? null : new JsonObject(extensions));
+    }
+
+    private static String persistedQueryHash(final JsonObject body) {
+        if (body == null) {
+            return null;
+        }
+        final JsonObject extensions = body.getJsonObject("extensions");
+        final JsonObject persistedQuery = extensions == null ? null : extensions.getJsonObject("persistedQuery");
+        return persistedQuery == null ? null : persistedQuery.getString("sha256Hash");
+    }
+
+    private static void sendError(final RoutingContext rc, final String message, final String code) {
+        final JsonObject error = new JsonObject()
+            .put("message", message)
+            .put("extensions", new JsonObject().put("code", code));
+
+        rc.response()
+            .putHeader("Content-Type", "application/json")
+            .end(new JsonObject().put("errors", new JsonArray().add(error)).toBuffer());
+    }
+}
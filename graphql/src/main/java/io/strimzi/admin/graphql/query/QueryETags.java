@@ -0,0 +1,236 @@
+package io.strimzi.admin.graphql.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.language.Argument;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLDirectiveContainer;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.validation.Validator;
+import io.vertx.core.json.JsonObject;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Computes the entity tags of the query responses, so the clients polling the same query can
+ * revalidate their last response without the query being executed again.
+ * <p>
+ * A query is versioned when all the fields it selects are marked with the @versioned directive,
+ * on the field or on its type, or are introspection fields. The response of a versioned query only
+ * changes with the data versions of the modules, so its tag is made of the data versions and of the
+ * hash of the query, its operation name and its variables. The tags also carry an epoch drawn when
+ * the server starts, as the data versions start again from zero.
+ * <p>
+ * Whether a query is versioned, and the type of its operation, are computed once per query text
+ * and operation name and kept in a bounded cache. They are computed from the query document alone,
+ * without coercing the variables, so a field only selected under an @include or @skip directive
+ * must be versioned as well. A query which fails to be analysed is not versioned.
+ */
+public class QueryETags {
+    static final String VERSIONED_DIRECTIVE = "versioned";
+    private static final String UNLESS_ARGUMENT = "unless";
+    private static final String INTROSPECTION_PREFIX = "__";
+    private static final QueryShape INVALID = new QueryShape(null, false);
+
+    private final GraphQLSchema schema;
+    private final List<Supplier<Long>> dataVersions;
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final Cache<String, QueryShape> shapes;
+
+    public QueryETags(final GraphQLSchema schema, final List<Supplier<Long>> dataVersions, final long maximumSize) {
+        this.schema = schema;
+        this.dataVersions = dataVersions;
+        this.shapes = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .build();
+    }
+
+    /**
+     * Retrieve the type of the operation of a query
+     * @param query the query text
+     * @param operationName the name of the operation to execute, may be null if the query has a
+     * single operation
+     * @return the type of the operation, or null if the query is not valid
+     */
+    public OperationDefinition.Operation operation(final String query, final String operationName) {
+        return shape(query, operationName).operation;
+    }
+
+    /**
+     * Computes the entity tag of the response of a query
+     * @param query the query text
+     * @param operationName the name of the operation to execute, may be null
+     * @param variables the variables of the query
+     * @return the quoted entity tag, or null if the query is not versioned
+     */
+    public String etag(final String query, final String operationName, final Map<String, Object> variables) {
+        if (!shape(query, operationName).versioned) {
+            return null;
+        }
+
+        final String versions = dataVersions.stream()
+            .map(dataVersion -> String.valueOf(dataVersion.get()))
+            .collect(Collectors.joining("."));
+        final String hash = QueryHash.sha256(query + '\0' + operationName + '\0' + new JsonObject(variables).encode());
+        return "\"" + epoch + "-" + versions + "-" + hash + "\"";
+    }
+
+    /**
+     * Checks whether an entity tag is listed by an If-None-Match header, using the weak comparison
+     * @param ifNoneMatch the value of the header, may be null
+     * @param etag the quoted entity tag
+     * @return true if the header matches the tag
+     */
+    public static boolean matches(final String ifNoneMatch, final String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (final String candidate : ifNoneMatch.split(",")) {
+            final String tag = candidate.trim();
+            if ("*".equals(tag) || etag.equals(tag.startsWith("W/") ? tag.substring(2) : tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private QueryShape shape(final String query, final String operationName) {
+        return shapes.get(QueryHash.sha256(query) + ":" + operationName, key -> analyse(query, operationName));
+    }
+
+    private QueryShape analyse(final String query, final String operationName) {
+        final Document document;
+        try {
+            document = new Parser().parseDocument(query);
+        } catch (InvalidSyntaxException exc) {
+            return INVALID;
+        }
+
+        final List<OperationDefinition> operations = document.getDefinitionsOfType(OperationDefinition.class).stream()
+            .filter(definition -> operationName == null || operationName.equals(definition.getName()))
+            .collect(Collectors.toList());
+        if (operations.size() != 1) {
+            return INVALID;
+        }
+
+        final OperationDefinition.Operation operation = operations.get(0).getOperation();
+        try {
+            if (!new Validator().validateDocument(schema, document).isEmpty()) {
+                return INVALID;
+            }
+            if (operation != OperationDefinition.Operation.QUERY) {
+                return new QueryShape(operation, false);
+            }
+
+            final Map<String, FragmentDefinition> fragments = document.getDefinitionsOfType(FragmentDefinition.class).stream()
+                .collect(Collectors.toMap(FragmentDefinition::getName, Function.identity()));
+            return new QueryShape(operation, versioned(operations.get(0).getSelectionSet(), schema.getQueryType(), fragments, new HashSet<>()));
+        } catch (RuntimeException exc) {
+            // a query which cannot be analysed is executed as usual, without a tag
+            return new QueryShape(operation, false);
+        }
+    }
+
+    /**
+     * Checks that all the fields of a selection set are versioned, the walk stops at the first field
+     * which is not. The fragments are walked once, as their type condition gives them the same
+     * parent type wherever they are spread.
+     */
+    private boolean versioned(final SelectionSet selectionSet, final GraphQLType parentType,
+                              final Map<String, FragmentDefinition> fragments, final Set<String> walkedFragments) {
+        for (final Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                if (!versioned((Field) selection, parentType, fragments, walkedFragments)) {
+                    return false;
+                }
+            } else if (selection instanceof InlineFragment) {
+                final InlineFragment fragment = (InlineFragment) selection;
+                final GraphQLType type = fragment.getTypeCondition() == null
+                    ? parentType
+                    : schema.getType(fragment.getTypeCondition().getName());
+                if (!versioned(fragment.getSelectionSet(), type, fragments, walkedFragments)) {
+                    return false;
+                }
+            } else if (selection instanceof FragmentSpread) {
+                final FragmentDefinition fragment = fragments.get(((FragmentSpread) selection).getName());
+                if (walkedFragments.add(fragment.getName())
+                    && !versioned(fragment.getSelectionSet(), schema.getType(fragment.getTypeCondition().getName()), fragments, walkedFragments)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean versioned(final Field field, final GraphQLType parentType,
+                              final Map<String, FragmentDefinition> fragments, final Set<String> walkedFragments) {
+        if (field.getName().startsWith(INTROSPECTION_PREFIX)) {
+            // __typename, or __schema and __type which only select introspection types
+            return true;
+        }
+        if (!(parentType instanceof GraphQLFieldsContainer)) {
+            return false;
+        }
+
+        final GraphQLFieldsContainer fieldsContainer = (GraphQLFieldsContainer) parentType;
+        final GraphQLFieldDefinition fieldDefinition = fieldsContainer.getFieldDefinition(field.getName());
+        if (fieldDefinition == null) {
+            return false;
+        }
+        GraphQLDirective directive = fieldDefinition.getDirective(VERSIONED_DIRECTIVE);
+        if (directive == null && fieldsContainer instanceof GraphQLDirectiveContainer) {
+            directive = ((GraphQLDirectiveContainer) fieldsContainer).getDirective(VERSIONED_DIRECTIVE);
+        }
+        if (directive == null || usesAny(field, unless(directive))) {
+            return false;
+        }
+
+        return field.getSelectionSet() == null
+            || versioned(field.getSelectionSet(), GraphQLTypeUtil.unwrapAll(fieldDefinition.getType()), fragments, walkedFragments);
+    }
+
+    private static boolean usesAny(final Field field, final Collection<?> argumentNames) {
+        return field.getArguments().stream()
+            .map(Argument::getName)
+            .anyMatch(argumentNames::contains);
+    }
+
+    private static Collection<?> unless(final GraphQLDirective directive) {
+        final GraphQLArgument argument = directive.getArgument(UNLESS_ARGUMENT);
+        final Object value = argument == null ? null : argument.getValue();
+        return value instanceof Collection ? (Collection<?>) value : Collections.emptyList();
+    }
+
+    private static final class QueryShape {
+        private final OperationDefinition.Operation operation;
+        private final boolean versioned;
+
+        private QueryShape(final OperationDefinition.Operation operation, final boolean versioned) {
+            this.operation = operation;
+            this.versioned = versioned;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.strimzi.admin.graphql.query;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the hash identifying a query, as used by the Apollo automatic persisted queries.
+ */
+public final class QueryHash {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private QueryHash() {
+    }
+
+    /**
+     * Computes the SHA-256 hash of a query
+     * @param query the query text
+     * @return the lower case hexadecimal representation of the hash
+     */
+    public static String sha256(final String query) {
+        final byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException exc) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM", exc);
+        }
+
+        final char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xf];
+        }
+        return new String(hex);
+    }
+}
@@ -0,0 +1,170 @@
+package io.strimzi.admin.graphql.query;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.language.OperationDefinition;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.dataloader.DataLoaderRegistry;
+
+/**
+ * Executes the GraphQL queries sent to the /graphql endpoint and streams their results.
+ * <p>
+ * The stock Vert.x GraphQL handler encodes the whole result into a single buffer before writing
+ * it, holding several copies of a large result at once. This handler instead writes the result
+ * to a chunked response as it is encoded by a {@link StreamingJsonWriter}, honouring the back
+ * pressure of the connection.
+ * <p>
+ * Only the encoded result is streamed. The data of the result is the tree of maps and lists
+ * completed by graphql-java, which is held in memory in full before the first byte is written,
+ * so the size of the data of a query is still bounded by the heap, and by the limits of the
+ * queries which select the lists.
+ * <p>
+ * Like the stock handler, a POST body may be a JSON object holding the query, operation name and
+ * variables, or the query text with the application/graphql content type, and a GET request holds
+ * them in the query, operationName and variables parameters. Batched requests are not supported.
+ * The handler requires the body of the POST requests to have been read by a body handler.
+ * <p>
+ * Only query operations can be sent with GET. The responses of the GET requests for queries
+ * versioned by the {@link QueryETags} carry an entity tag, and a request whose If-None-Match
+ * header lists the current tag is answered with a 304 response without executing the query.
+ */
+public class StreamingGraphQLHandler implements Handler<RoutingContext> {
+    private static final String GRAPHQL_CONTENT_TYPE = "application/graphql";
+    private static final String VARY = "Vary";
+
+    private final GraphQL graphQL;
+    private final Function<RoutingContext, DataLoaderRegistry> dataLoaderRegistry;
+    private final QueryETags queryETags;
+    private final int chunkSize;
+
+    public StreamingGraphQLHandler(final GraphQL graphQL, final Function<RoutingContext, DataLoaderRegistry> dataLoaderRegistry,
+                                   final QueryETags queryETags, final int chunkSize) {
+        this.graphQL = graphQL;
+        this.dataLoaderRegistry = dataLoaderRegistry;
+        this.queryETags = queryETags;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public void handle(final RoutingContext rc) {
+        final String query;
+        final String operationName;
+        final Map<String, Object> variables;
+
+        if (rc.request().method() == HttpMethod.GET) {
+            query = rc.request().getParam("query");
+            operationName = rc.request().getParam("operationName");
+            final String variablesParam = rc.request().getParam("variables");
+            try {
+                variables = variablesParam == null ? Collections.emptyMap() : new JsonObject(variablesParam).getMap();
+            } catch (DecodeException exc) {
+                rc.fail(400, exc);
+                return;
+            }
+        } else if (GRAPHQL_CONTENT_TYPE.equalsIgnoreCase(rc.parsedHeaders().contentType().value())) {
+            query = rc.getBodyAsString();
+            operationName = null;
+            variables = Collections.emptyMap();
+        } else {
+            final JsonObject body;
+            try {
+                body = rc.getBodyAsJson();
+            } catch (DecodeException | ClassCastException exc) {
+                rc.fail(400, exc);
+                return;
+            }
+            final JsonObject bodyVariables = body == null ? null : body.getJsonObject("variables");
+            query = body == null ? null : body.getString("query");
+            operationName = body == null ? null : body.getString("operationName");
+            variables = bodyVariables == null ? Collections.emptyMap() : bodyVariables.getMap();
+        }
+
+        if (query == null) {
+            rc.fail(400);
+            return;
+        }
+
+        final HttpServerResponse response = rc.response();
+        if (rc.request().method() == HttpMethod.GET) {
+            // a GET request must not have side effects, nor hold a subscription open
+            final OperationDefinition.Operation operation = queryETags.operation(query, operationName);
+            if (operation != null && operation != OperationDefinition.Operation.QUERY) {
+                response.setStatusCode(405).putHeader(HttpHeaders.ALLOW, HttpMethod.POST.name()).end();
+                return;
+            }
+
+            // the data versions are read before the query is executed, so the tag is never newer
+            // than the response it is sent with
+            final String etag = queryETags.etag(query, operationName, variables);
+            if (etag != null) {
+                if (QueryETags.matches(rc.request().getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+                    response.setStatusCode(304).putHeader(HttpHeaders.ETAG, etag).end();
+                    return;
+                }
+                response.putHeader(HttpHeaders.ETAG, etag)
+                    .putHeader(HttpHeaders.CACHE_CONTROL, "no-cache")
+                    .putHeader(VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+        }
+
+        final ExecutionInput input = ExecutionInput.newExecutionInput()
+            .context(rc)
+            .dataLoaderRegistry(dataLoaderRegistry.apply(rc))
+            .query(query)
+            .operationName(operationName)
+            .variables(variables)
+            .build();
+
+        final Context context = rc.vertx().getOrCreateContext();
+        graphQL.executeAsync(input).whenComplete((result, throwable) -> context.runOnContext(v -> {
+            if (throwable != null) {
+                rc.fail(throwable);
+                return;
+            }
+            if (!result.getErrors().isEmpty()) {
+                // a failed execution may succeed on the next request, it must not be revalidated
+                response.headers().remove(HttpHeaders.ETAG);
+            }
+            response.putHeader(HttpHeaders.CONTENT_TYPE, "application/json");
+            StreamingJsonWriter.write(response, envelope(result), chunkSize);
+        }));
+    }
+
+    /**
+     * The members of the response, as in {@link ExecutionResult#toSpecification()}. The errors
+     * are converted to their specification, the data and the extensions are walked by the writer
+     * as they are.
+     */
+    private static Map<String, Object> envelope(final ExecutionResult result) {
+        final Map<String, Object> envelope = new LinkedHashMap<>(4);
+        if (!result.getErrors().isEmpty()) {
+            final List<Map<String, Object>> errors = new ArrayList<>(result.getErrors().size());
+            for (final GraphQLError error : result.getErrors()) {
+                errors.add(error.toSpecification());
+            }
+            envelope.put("errors", errors);
+        }
+        if (result.isDataPresent()) {
+            envelope.put("data", result.getData());
+        }
+        if (result.getExtensions() != null) {
+            envelope.put("extensions", result.getExtensions());
+        }
+        return envelope;
+    }
+}
@@ -0,0 +1,198 @@
+package io.strimzi.admin.graphql.query;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Writes a tree of maps, lists and scalars, such as the specification of a GraphQL execution
+ * result, to a chunked HTTP response as it is encoded.
+ * <p>
+ * The tree is walked with an explicit stack, so the encoding can stop between two values when the
+ * write queue of the response is full and resume from the drain handler of the response. The JSON
+ * is encoded into chunks of a bounded size which are written as soon as they are full, so the
+ * memory used by a response does not grow with the size of the result, apart from the result
+ * itself, and the client receives the first bytes before the whole result is encoded.
+ * <p>
+ * A value which fails to be encoded, while resuming from the drain handler as well, resets the
+ * response rather than failing on the event loop, as the status of the response may already have
+ * been sent with its first chunk.
+ */
+class StreamingJsonWriter {
+    private static final Logger LOGGER = LogManager.getLogger(StreamingJsonWriter.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final HttpServerResponse response;
+    private final int chunkSize;
+    private final Deque<Frame> stack = new ArrayDeque<>();
+    private final ChunkOutputStream output;
+    private final JsonGenerator generator;
+
+    private StreamingJsonWriter(final HttpServerResponse response, final int chunkSize) {
+        this.response = response;
+        this.chunkSize = chunkSize;
+        this.output = new ChunkOutputStream();
+        try {
+            this.generator = JSON_FACTORY.createGenerator(output, JsonEncoding.UTF8);
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    /**
+     * Starts writing a value to a response, the response is ended once the whole value is written.
+     * The headers of the response must have been set.
+     * @param response the response, on whose context the method must be called
+     * @param value the value, made of maps, lists and scalars
+     * @param chunkSize the size of the chunks written to the response
+     */
+    static void write(final HttpServerResponse response, final Object value, final int chunkSize) {
+        final StreamingJsonWriter writer = new StreamingJsonWriter(response, chunkSize);
+        response.setChunked(true);
+        try {
+            writer.writeValue(value);
+        } catch (RuntimeException exc) {
+            writer.fail(exc);
+            return;
+        }
+        writer.resume();
+    }
+
+    private void resume() {
+        try {
+            while (!stack.isEmpty()) {
+                if (response.closed()) {
+                    return;
+                }
+                if (response.writeQueueFull()) {
+                    response.drainHandler(v -> resume());
+                    return;
+                }
+                step();
+                if (output.chunk.length() >= chunkSize) {
+                    response.write(output.take());
+                }
+            }
+
+            generator.close();
+        } catch (IOException | RuntimeException exc) {
+            fail(exc);
+            return;
+        }
+        if (!response.closed()) {
+            response.end(output.take());
+        }
+    }
+
+    private void fail(final Exception exc) {
+        // the status may have been sent with a first chunk, the client can only learn that the
+        // response is incomplete from the reset of the stream
+        LOGGER.error("Failed to encode the response.", exc);
+        if (!response.closed()) {
+            response.reset();
+        }
+    }
+
+    private void step() {
+        final Frame frame = stack.peek();
+        try {
+            if (!frame.iterator.hasNext()) {
+                stack.pop();
+                if (frame.object) {
+                    generator.writeEndObject();
+                } else {
+                    generator.writeEndArray();
+                }
+            } else if (frame.object) {
+                final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) frame.iterator.next();
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue());
+            } else {
+                writeValue(frame.iterator.next());
+            }
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    private void writeValue(final Object value) {
+        try {
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Map) {
+                generator.writeStartObject();
+                stack.push(new Frame(((Map<?, ?>) value).entrySet().iterator(), true));
+            } else if (value instanceof Iterable) {
+                generator.writeStartArray();
+                stack.push(new Frame(((Iterable<?>) value).iterator(), false));
+            } else if (value instanceof String) {
+                generator.writeString((String) value);
+            } else if (value instanceof Boolean) {
+                generator.writeBoolean((Boolean) value);
+            } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                generator.writeNumber(((Number) value).intValue());
+            } else if (value instanceof Long) {
+                generator.writeNumber((Long) value);
+            } else if (value instanceof BigInteger) {
+                generator.writeNumber((BigInteger) value);
+            } else if (value instanceof BigDecimal) {
+                generator.writeNumber((BigDecimal) value);
+            } else if (value instanceof Number) {
+                generator.writeNumber(((Number) value).doubleValue());
+            } else if (value instanceof Enum) {
+                generator.writeString(((Enum<?>) value).name());
+            } else {
+                generator.writeString(value.toString());
+            }
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    private static final class Frame {
+        private final Iterator<?> iterator;
+        private final boolean object;
+
+        private Frame(final Iterator<?> iterator, final boolean object) {
+            this.iterator = iterator;
+            this.object = object;
+        }
+    }
+
+    /**
+     * Receives the bytes encoded by the JSON generator, which buffers them and writes them in
+     * blocks of a few kilobytes
+     */
+    private final class ChunkOutputStream extends OutputStream {
+        private Buffer chunk = Buffer.buffer(chunkSize);
+
+        @Override
+        public void write(final int b) {
+            chunk.appendByte((byte) b);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) {
+            chunk.appendBytes(bytes, offset, length);
+        }
+
+        private Buffer take() {
+            final Buffer full = chunk;
+            chunk = Buffer.buffer(chunkSize);
+            return full;
+        }
+    }
+}
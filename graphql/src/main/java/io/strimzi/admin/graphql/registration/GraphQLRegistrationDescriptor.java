@@ -2,18 +2,51 @@ package io.strimzi.admin.graphql.registration;
 
 import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.TypeDefinitionRegistry;
+import io.vertx.core.Future;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import org.dataloader.DataLoader;
 
 /**
  * Contains a schema definition and runtime implementation of the schema which can be merged with
  * each other to form a GraphQL executable schema.
+ * <p>
+ * A descriptor may also define named {@link DataLoader}s used by its data fetchers. A new instance
+ * of each data loader is created for every GraphQL request, so the loads issued while executing a
+ * request are batched together and cached for the duration of that request only.
+ * <p>
+ * A descriptor may also provide the version of the data served by the fields its schema marks with
+ * the @versioned directive. The version must change whenever the value of one of these fields may
+ * have changed, it is used to tag the responses of the queries selecting only such fields.
+ * <p>
+ * A descriptor may also carry the readiness checks of the module, which the GraphQL service
+ * passes on with its own route registration.
+ * <p>
+ * A descriptor may also provide estimates of the current size of the lists returned by the fields
+ * of its schema, named by the listSizeEstimate argument of their @cost directive. An estimate is
+ * given the arguments of the field, and is called for every query selecting the field before it
+ * executes, so it must be cheap.
  */
 public class GraphQLRegistrationDescriptor {
     private final TypeDefinitionRegistry typeDefinitionRegistry;
     private final RuntimeWiring runtimeWiring;
+    private final Map<String, Supplier<DataLoader<?, ?>>> dataLoaders;
+    private final Supplier<Long> dataVersion;
+    private final Map<String, Supplier<Future<Void>>> readinessChecks;
+    private final Map<String, ToLongFunction<Map<String, Object>>> listSizeEstimates;
 
-    private GraphQLRegistrationDescriptor(final TypeDefinitionRegistry typeDefinitionRegistry, final RuntimeWiring runtimeWiring) {
+    private GraphQLRegistrationDescriptor(final TypeDefinitionRegistry typeDefinitionRegistry, final RuntimeWiring runtimeWiring,
+                                          final Map<String, Supplier<DataLoader<?, ?>>> dataLoaders, final Supplier<Long> dataVersion,
+                                          final Map<String, Supplier<Future<Void>>> readinessChecks,
+                                          final Map<String, ToLongFunction<Map<String, Object>>> listSizeEstimates) {
         this.typeDefinitionRegistry = typeDefinitionRegistry;
         this.runtimeWiring = runtimeWiring;
+        this.dataLoaders = dataLoaders;
+        this.dataVersion = dataVersion;
+        this.readinessChecks = readinessChecks;
+        this.listSizeEstimates = listSizeEstimates;
     }
 
     /**
@@ -23,7 +56,78 @@ public class GraphQLRegistrationDescriptor {
      * @return a GraphQLRegistrationDescriptor containing the schema definition and the runtime implementation
      */
     public static GraphQLRegistrationDescriptor create(final TypeDefinitionRegistry typeDefinitionRegistry, final RuntimeWiring runtimeWiring) {
-        return new GraphQLRegistrationDescriptor(typeDefinitionRegistry, runtimeWiring);
+        return new GraphQLRegistrationDescriptor(typeDefinitionRegistry, runtimeWiring, Collections.emptyMap(), null, Collections.emptyMap(),
+            Collections.emptyMap());
+    }
+
+    /**
+     * Factory class to create a GraphQLRegistrationDescriptor with data loaders
+     * @param typeDefinitionRegistry a GraphQL schema definition associated with the runtimeWiring
+     * @param runtimeWiring a GraphQL runtime implementation associated with the schema definition
+     * @param dataLoaders factories of the data loaders used by the runtimeWiring, keyed by data loader name
+     * @return a GraphQLRegistrationDescriptor containing the schema definition, the runtime implementation
+     * and the data loaders
+     */
+    public static GraphQLRegistrationDescriptor create(final TypeDefinitionRegistry typeDefinitionRegistry, final RuntimeWiring runtimeWiring,
+                                                       final Map<String, Supplier<DataLoader<?, ?>>> dataLoaders) {
+        return new GraphQLRegistrationDescriptor(typeDefinitionRegistry, runtimeWiring, dataLoaders, null, Collections.emptyMap(),
+            Collections.emptyMap());
+    }
+
+    /**
+     * Factory class to create a GraphQLRegistrationDescriptor with data loaders and a data version
+     * @param typeDefinitionRegistry a GraphQL schema definition associated with the runtimeWiring
+     * @param runtimeWiring a GraphQL runtime implementation associated with the schema definition
+     * @param dataLoaders factories of the data loaders used by the runtimeWiring, keyed by data loader name
+     * @param dataVersion the current version of the data served by the @versioned fields of the schema
+     * @return a GraphQLRegistrationDescriptor containing the schema definition, the runtime implementation,
+     * the data loaders and the data version
+     */
+    public static GraphQLRegistrationDescriptor create(final TypeDefinitionRegistry typeDefinitionRegistry, final RuntimeWiring runtimeWiring,
+                                                       final Map<String, Supplier<DataLoader<?, ?>>> dataLoaders,
+                                                       final Supplier<Long> dataVersion) {
+        return new GraphQLRegistrationDescriptor(typeDefinitionRegistry, runtimeWiring, dataLoaders, dataVersion, Collections.emptyMap(),
+            Collections.emptyMap());
+    }
+
+    /**
+     * Factory class to create a GraphQLRegistrationDescriptor with data loaders, a data version and readiness checks
+     * @param typeDefinitionRegistry a GraphQL schema definition associated with the runtimeWiring
+     * @param runtimeWiring a GraphQL runtime implementation associated with the schema definition
+     * @param dataLoaders factories of the data loaders used by the runtimeWiring, keyed by data loader name
+     * @param dataVersion the current version of the data served by the @versioned fields of the schema
+     * @param readinessChecks the readiness checks of the module, keyed by the name reported in the readiness response
+     * @return a GraphQLRegistrationDescriptor containing the schema definition, the runtime implementation,
+     * the data loaders, the data version and the readiness checks
+     */
+    public static GraphQLRegistrationDescriptor create(final TypeDefinitionRegistry typeDefinitionRegistry, final RuntimeWiring runtimeWiring,
+                                                       final Map<String, Supplier<DataLoader<?, ?>>> dataLoaders,
+                                                       final Supplier<Long> dataVersion,
+                                                       final Map<String, Supplier<Future<Void>>> readinessChecks) {
+        return new GraphQLRegistrationDescriptor(typeDefinitionRegistry, runtimeWiring, dataLoaders, dataVersion, readinessChecks,
+            Collections.emptyMap());
+    }
+
+    /**
+     * Factory class to create a GraphQLRegistrationDescriptor with data loaders, a data version, readiness checks
+     * and list size estimates
+     * @param typeDefinitionRegistry a GraphQL schema definition associated with the runtimeWiring
+     * @param runtimeWiring a GraphQL runtime implementation associated with the schema definition
+     * @param dataLoaders factories of the data loaders used by the runtimeWiring, keyed by data loader name
+     * @param dataVersion the current version of the data served by the @versioned fields of the schema
+     * @param readinessChecks the readiness checks of the module, keyed by the name reported in the readiness response
+     * @param listSizeEstimates the estimates of the size of the lists returned by the fields of the schema, from
+     * the arguments of the fields, keyed by the name given to the listSizeEstimate argument of the @cost directive
+     * @return a GraphQLRegistrationDescriptor containing the schema definition, the runtime implementation,
+     * the data loaders, the data version, the readiness checks and the list size estimates
+     */
+    public static GraphQLRegistrationDescriptor create(final TypeDefinitionRegistry typeDefinitionRegistry, final RuntimeWiring runtimeWiring,
+                                                       final Map<String, Supplier<DataLoader<?, ?>>> dataLoaders,
+                                                       final Supplier<Long> dataVersion,
+                                                       final Map<String, Supplier<Future<Void>>> readinessChecks,
+                                                       final Map<String, ToLongFunction<Map<String, Object>>> listSizeEstimates) {
+        return new GraphQLRegistrationDescriptor(typeDefinitionRegistry, runtimeWiring, dataLoaders, dataVersion, readinessChecks,
+            listSizeEstimates);
     }
 
     /**
@@ -41,4 +145,36 @@ public class GraphQLRegistrationDescriptor {
     public RuntimeWiring getRuntimeWiring() {
         return runtimeWiring;
     }
+
+    /**
+     * Retrieve the data loaders used by the runtime implementation
+     * @return factories of the data loaders, keyed by data loader name
+     */
+    public Map<String, Supplier<DataLoader<?, ?>>> getDataLoaders() {
+        return dataLoaders;
+    }
+
+    /**
+     * Retrieve the version of the data served by the @versioned fields of the schema
+     * @return the supplier of the data version, or null if the schema has no versioned field
+     */
+    public Supplier<Long> getDataVersion() {
+        return dataVersion;
+    }
+
+    /**
+     * Retrieve the readiness checks of the module
+     * @return the readiness checks, keyed by name
+     */
+    public Map<String, Supplier<Future<Void>>> getReadinessChecks() {
+        return readinessChecks;
+    }
+
+    /**
+     * Retrieve the estimates of the size of the lists returned by the fields of the schema
+     * @return the list size estimates, keyed by the name used by the @cost directive
+     */
+    public Map<String, ToLongFunction<Map<String, Object>>> getListSizeEstimates() {
+        return listSizeEstimates;
+    }
 }
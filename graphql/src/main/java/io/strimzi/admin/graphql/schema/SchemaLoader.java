@@ -0,0 +1,57 @@
+package io.strimzi.admin.graphql.schema;
+
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Loads the GraphQL schema definitions of the modules from the classpath.
+ * <p>
+ * The schemas are loaded on the worker pool without ordering, so the schemas of all the modules
+ * are parsed in parallel rather than one after the other on the deploying context.
+ */
+public final class SchemaLoader {
+    private SchemaLoader() {
+    }
+
+    /**
+     * Loads a schema definition
+     * @param vertx a running instance of a {@link io.vertx.core.Vertx}
+     * @param classLoader the class loader of the module defining the schema
+     * @param location the location of the schema resource
+     * @return a future schema definition
+     */
+    public static Future<TypeDefinitionRegistry> load(final Vertx vertx, final ClassLoader classLoader, final String location) {
+        final Promise<TypeDefinitionRegistry> promise = Promise.promise();
+
+        vertx.executeBlocking(p -> {
+            try {
+                final String schema = new String(readResource(classLoader, location), StandardCharsets.UTF_8);
+                p.complete(new SchemaParser().parse(schema));
+            } catch (Exception exc) {
+                p.fail(exc);
+            }
+        }, false, promise);
+
+        return promise.future();
+    }
+
+    private static byte[] readResource(final ClassLoader classLoader, final String location) throws IOException {
+        try (InputStream in = Objects.requireNonNull(classLoader.getResourceAsStream(location), location)) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
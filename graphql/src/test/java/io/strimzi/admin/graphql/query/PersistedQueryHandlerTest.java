@@ -0,0 +1,133 @@
+package io.strimzi.admin.graphql.query;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.handler.BodyHandler;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PersistedQueryHandlerTest {
+    private static final String QUERY = "{ topicList { name } }";
+    private static final int MAX_QUERY_LENGTH = 64;
+
+    private Vertx vertx;
+    private WebClient client;
+    private int port;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        vertx = Vertx.vertx();
+        final PersistedQueryHandler handler = new PersistedQueryHandler(1024, MAX_QUERY_LENGTH);
+
+        // echoes the query reaching the GraphQL handler and the hash set by the persisted query handler
+        final Router router = Router.router(vertx);
+        router.post("/graphql").handler(BodyHandler.create(false));
+        router.post("/graphql").handler(handler);
+        router.post("/graphql").handler(rc -> rc.response().end(new JsonObject()
+            .put("query", rc.getBodyAsJson().getString("query"))
+            .put("hash", rc.<String>get(PersistedQueryHandler.PERSISTED_QUERY_HASH))
+            .toBuffer()));
+        router.get("/graphql").handler(handler);
+        router.get("/graphql").handler(rc -> rc.response().end(new JsonObject()
+            .put("query", rc.request().getParam("query"))
+            .toBuffer()));
+
+        final Promise<HttpServer> listening = Promise.promise();
+        vertx.createHttpServer().requestHandler(router).listen(0, listening);
+        port = await(listening.future()).actualPort();
+        client = WebClient.create(vertx);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.close();
+        final Promise<Void> closed = Promise.promise();
+        vertx.close(closed);
+        await(closed.future());
+    }
+
+    @Test
+    void testUnknownHashIsNotFound() throws Exception {
+        final JsonObject response = post(null, QueryHash.sha256(QUERY));
+        assertEquals("PERSISTED_QUERY_NOT_FOUND", errorCode(response));
+    }
+
+    @Test
+    void testRegisteredQueryIsRestored() throws Exception {
+        final String hash = QueryHash.sha256(QUERY);
+        final JsonObject registered = post(QUERY, hash);
+        assertEquals(QUERY, registered.getString("query"));
+        assertEquals(hash, registered.getString("hash"));
+
+        final JsonObject hit = post(null, hash);
+        assertEquals(QUERY, hit.getString("query"));
+        assertEquals(hash, hit.getString("hash"));
+
+        final JsonObject extensions = new JsonObject().put("persistedQuery", new JsonObject().put("version", 1).put("sha256Hash", hash));
+        final Promise<HttpResponse<Buffer>> get = Promise.promise();
+        client.get(port, "localhost", "/graphql")
+            .addQueryParam("extensions", extensions.encode())
+            .send(get);
+        assertEquals(QUERY, await(get.future()).bodyAsJsonObject().getString("query"));
+    }
+
+    @Test
+    void testHashMismatchIsRejected() throws Exception {
+        final JsonObject response = post(QUERY, QueryHash.sha256("{ clusters { id } }"));
+        assertEquals("INTERNAL_SERVER_ERROR", errorCode(response));
+        assertEquals("PERSISTED_QUERY_NOT_FOUND", errorCode(post(null, QueryHash.sha256(QUERY))));
+    }
+
+    @Test
+    void testQueryLongerThanTheMaximumIsExecutedWithoutBeingRegistered() throws Exception {
+        final StringBuilder query = new StringBuilder("{ topicList { name } }");
+        while (query.length() <= MAX_QUERY_LENGTH) {
+            query.append(' ');
+        }
+        final String hash = QueryHash.sha256(query.toString());
+
+        assertEquals(query.toString(), post(query.toString(), hash).getString("query"));
+        assertEquals("PERSISTED_QUERY_NOT_FOUND", errorCode(post(null, hash)));
+    }
+
+    private JsonObject post(final String query, final String hash) throws Exception {
+        final JsonObject body = new JsonObject()
+            .put("extensions", new JsonObject().put("persistedQuery", new JsonObject().put("version", 1).put("sha256Hash", hash)));
+        if (query != null) {
+            body.put("query", query);
+        }
+        final Promise<HttpResponse<Buffer>> response = Promise.promise();
+        client.post(port, "localhost", "/graphql").sendJsonObject(body, response);
+        return await(response.future()).bodyAsJsonObject();
+    }
+
+    private static String errorCode(final JsonObject response) {
+        assertNull(response.getString("query"));
+        return response.getJsonArray("errors").getJsonObject(0).getJsonObject("extensions").getString("code");
+    }
+
+    private static <T> T await(final Future<T> future) throws Exception {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        future.onComplete(ar -> {
+            if (ar.succeeded()) {
+                result.complete(ar.result());
+            } else {
+                result.completeExceptionally(ar.cause());
+            }
+        });
+        return result.get(10, TimeUnit.SECONDS);
+    }
+}
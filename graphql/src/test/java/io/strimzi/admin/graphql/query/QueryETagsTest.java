@@ -0,0 +1,169 @@
+package io.strimzi.admin.graphql.query;
+
+import graphql.GraphQL;
+import graphql.language.OperationDefinition;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QueryETagsTest {
+    private static final String SCHEMA = String.join("\n",
+        "directive @versioned(unless: [String]) on FIELD_DEFINITION | OBJECT",
+        "type Query {",
+        "    topic(topicName: String): Topic @versioned",
+        "    topicList(filter: String, configKey: String): [Topic] @versioned(unless: [\"configKey\"])",
+        "    time: String",
+        "}",
+        "type Mutation {",
+        "    deleteTopic(topicName: String!): String",
+        "}",
+        "type Topic @versioned {",
+        "    name: String",
+        "}");
+    private static final String TOPIC_QUERY = "query Q($n: String!) { topic(topicName: $n) { name } }";
+
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final AtomicInteger deletions = new AtomicInteger();
+    private QueryETags queryETags;
+    private Vertx vertx;
+    private WebClient client;
+    private int port;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA),
+            RuntimeWiring.newRuntimeWiring()
+                .type("Query", typeWiring -> typeWiring
+                    .dataFetcher("topic", env -> Collections.singletonMap("name", env.getArgument("topicName"))))
+                .type("Mutation", typeWiring -> typeWiring
+                    .dataFetcher("deleteTopic", env -> {
+                        deletions.incrementAndGet();
+                        return env.getArgument("topicName");
+                    }))
+                .build());
+        queryETags = new QueryETags(schema, Collections.singletonList(dataVersion::get), 100);
+
+        vertx = Vertx.vertx();
+        final Router router = Router.router(vertx);
+        router.get("/graphql").handler(new StreamingGraphQLHandler(GraphQL.newGraphQL(schema).build(),
+            rc -> new DataLoaderRegistry(), queryETags, 1024));
+
+        final Promise<HttpServer> listening = Promise.promise();
+        vertx.createHttpServer().requestHandler(router).listen(0, listening);
+        port = await(listening.future()).actualPort();
+        client = WebClient.create(vertx);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.close();
+        final Promise<Void> closed = Promise.promise();
+        vertx.close(closed);
+        await(closed.future());
+    }
+
+    @Test
+    void testQueryWithNonNullVariableIsVersioned() {
+        final String etag = queryETags.etag(TOPIC_QUERY, null, Collections.singletonMap("n", "orders"));
+        assertNotNull(etag);
+        assertNotEquals(etag, queryETags.etag(TOPIC_QUERY, null, Collections.singletonMap("n", "payments")));
+    }
+
+    @Test
+    void testQueryWithConditionalFieldIsVersioned() {
+        final String query = "query Q($withName: Boolean!) { topic(topicName: \"orders\") { name @include(if: $withName) } }";
+        assertNotNull(queryETags.etag(query, null, Collections.singletonMap("withName", true)));
+        assertNotNull(queryETags.etag("{ topic(topicName: \"orders\") { ...names } } fragment names on Topic { name }", null,
+            Collections.emptyMap()));
+    }
+
+    @Test
+    void testQueryWithUnversionedFieldIsNotVersioned() {
+        assertNull(queryETags.etag("{ time }", null, Collections.emptyMap()));
+        assertNull(queryETags.etag("{ topicList(configKey: \"cleanup.policy\") { name } }", null, Collections.emptyMap()));
+        assertNotNull(queryETags.etag("{ topicList(filter: \"orders\") { name } }", null, Collections.emptyMap()));
+        assertEquals(OperationDefinition.Operation.MUTATION, queryETags.operation("mutation { deleteTopic(topicName: \"a\") }", null));
+    }
+
+    @Test
+    void testGetWithNonNullVariableIsExecuted() throws Exception {
+        final HttpResponse<Buffer> response = get(TOPIC_QUERY, new JsonObject().put("n", "orders"), null);
+        assertEquals(200, response.statusCode());
+        assertNotNull(response.getHeader(HttpHeaders.ETAG.toString()));
+        assertEquals("orders", response.bodyAsJsonObject().getJsonObject("data").getJsonObject("topic").getString("name"));
+    }
+
+    @Test
+    void testGetMutationIsNotAllowed() throws Exception {
+        final HttpResponse<Buffer> response = get("mutation { deleteTopic(topicName: \"orders\") }", null, null);
+        assertEquals(405, response.statusCode());
+        assertEquals("POST", response.getHeader(HttpHeaders.ALLOW.toString()));
+        assertEquals(0, deletions.get());
+    }
+
+    @Test
+    void testIfNoneMatchIsNotModifiedUntilTheDataVersionChanges() throws Exception {
+        final JsonObject variables = new JsonObject().put("n", "orders");
+        final String etag = get(TOPIC_QUERY, variables, null).getHeader(HttpHeaders.ETAG.toString());
+
+        final HttpResponse<Buffer> notModified = get(TOPIC_QUERY, variables, etag);
+        assertEquals(304, notModified.statusCode());
+        assertEquals(etag, notModified.getHeader(HttpHeaders.ETAG.toString()));
+
+        dataVersion.incrementAndGet();
+        final HttpResponse<Buffer> modified = get(TOPIC_QUERY, variables, etag);
+        assertEquals(200, modified.statusCode());
+        assertNotEquals(etag, modified.getHeader(HttpHeaders.ETAG.toString()));
+    }
+
+    private HttpResponse<Buffer> get(final String query, final JsonObject variables, final String ifNoneMatch) throws Exception {
+        final HttpRequest<Buffer> request = client.get(port, "localhost", "/graphql").addQueryParam("query", query);
+        if (variables != null) {
+            request.addQueryParam("variables", variables.encode());
+        }
+        if (ifNoneMatch != null) {
+            request.putHeader(HttpHeaders.IF_NONE_MATCH.toString(), ifNoneMatch);
+        }
+        final Promise<HttpResponse<Buffer>> response = Promise.promise();
+        request.send(response);
+        return await(response.future());
+    }
+
+    private static <T> T await(final Future<T> future) throws Exception {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        future.onComplete(ar -> {
+            if (ar.succeeded()) {
+                result.complete(ar.result());
+            } else {
+                result.completeExceptionally(ar.cause());
+            }
+        });
+        return result.get(10, TimeUnit.SECONDS);
+    }
+}
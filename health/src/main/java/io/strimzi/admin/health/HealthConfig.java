@@ -0,0 +1,50 @@
+package io.strimzi.admin.health;
+
+import java.util.Map;
+
+/**
+ * Configuration of the health module. The values are read from the environment of the admin
+ * server process.
+ */
+public class HealthConfig {
+    static final String READINESS_CHECK_INTERVAL_ENV = "HEALTH_READINESS_CHECK_INTERVAL_MS";
+    static final String READINESS_CHECK_TIMEOUT_ENV = "HEALTH_READINESS_CHECK_TIMEOUT_MS";
+
+    private static final long DEFAULT_READINESS_CHECK_INTERVAL_MS = 10_000L;
+    private static final long DEFAULT_READINESS_CHECK_TIMEOUT_MS = 5_000L;
+
+    private final long readinessCheckIntervalMs;
+    private final long readinessCheckTimeoutMs;
+
+    private HealthConfig(final long readinessCheckIntervalMs, final long readinessCheckTimeoutMs) {
+        this.readinessCheckIntervalMs = readinessCheckIntervalMs;
+        this.readinessCheckTimeoutMs = readinessCheckTimeoutMs;
+    }
+
+    /**
+     * Factory method to create the configuration from a set of environment variables
+     * @param env the environment variables, usually {@link System#getenv()}
+     * @return the health module configuration
+     */
+    public static HealthConfig fromEnv(final Map<String, String> env) {
+        return new HealthConfig(
+            Long.parseLong(env.getOrDefault(READINESS_CHECK_INTERVAL_ENV, String.valueOf(DEFAULT_READINESS_CHECK_INTERVAL_MS))),
+            Long.parseLong(env.getOrDefault(READINESS_CHECK_TIMEOUT_ENV, String.valueOf(DEFAULT_READINESS_CHECK_TIMEOUT_MS))));
+    }
+
+    /**
+     * Retrieve the interval between two runs of the readiness checks
+     * @return the readiness check interval in milliseconds
+     */
+    public long getReadinessCheckIntervalMs() {
+        return readinessCheckIntervalMs;
+    }
+
+    /**
+     * Retrieve the time after which a readiness check which has not completed is considered failed
+     * @return the readiness check timeout in milliseconds
+     */
+    public long getReadinessCheckTimeoutMs() {
+        return readinessCheckTimeoutMs;
+    }
+}
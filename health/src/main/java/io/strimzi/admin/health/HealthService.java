@@ -6,24 +6,35 @@ import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.ext.web.api.contract.openapi3.OpenAPI3RouterFactory;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
- * Implements routes to be used as kubernetes liveness and readiness probes. The implementations
- * simply return a static string containing a JSON body of "status: ok".
+ * Implements routes to be used as kubernetes liveness and readiness probes. The status and
+ * liveness implementations simply return a static string containing a JSON body of "status: ok".
+ * <p>
+ * The readiness implementation returns the result of the last run of the readiness checks
+ * carried by the registration descriptors of the modules, which the {@link ReadinessMonitor} runs
+ * in the background, with the time and the latency of the run and of each check.
  */
 public class HealthService implements RouteRegistration {
 
     private static final String SUCCESS_RESPONSE = "{\"status\": \"OK\"}";
 
+    private ReadinessMonitor readinessMonitor;
+
     @Override
     public Future<RouteRegistrationDescriptor> getRegistrationDescriptor(final Vertx vertx) {
 
         final Promise<RouteRegistrationDescriptor> promise = Promise.promise();
+        final HealthConfig config = HealthConfig.fromEnv(System.getenv());
+        readinessMonitor = new ReadinessMonitor(vertx, config.getReadinessCheckIntervalMs(), config.getReadinessCheckTimeoutMs());
 
         OpenAPI3RouterFactory.create(vertx, "openapi-specs/health.yaml", ar -> {
             if (ar.succeeded()) {
                 OpenAPI3RouterFactory routerFactory = ar.result();
                 assignRoutes(routerFactory);
+                readinessMonitor.start();
                 promise.complete(RouteRegistrationDescriptor.create("/health", routerFactory.getRouter()));
             }
             else {
@@ -34,8 +45,14 @@ public class HealthService implements RouteRegistration {
         return promise.future();
     }
 
+    @Override
+    public void readinessChecksLoaded(final Map<String, Supplier<Future<Void>>> readinessChecks) {
+        readinessMonitor.checksLoaded(readinessChecks);
+    }
+
     private void assignRoutes(final OpenAPI3RouterFactory routerFactory) {
             routerFactory.addHandlerByOperationId("status", rc -> rc.response().end(SUCCESS_RESPONSE));
             routerFactory.addHandlerByOperationId("liveness", rc -> rc.response().end(SUCCESS_RESPONSE));
+            routerFactory.addHandlerByOperationId("readiness", readinessMonitor);
     }
 }
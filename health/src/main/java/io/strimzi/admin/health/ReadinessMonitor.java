@@ -0,0 +1,184 @@
+package io.strimzi.admin.health;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs the readiness checks carried by the registration descriptors of the modules periodically
+ * in the background and keeps the readiness response built from the results of the last run.
+ * <p>
+ * The readiness probe is answered with the cached response, so the probe never waits for a
+ * backend and its latency does not depend on the health of the backends. The server is ready
+ * when all the checks of the last run succeeded, a check which does not complete within the
+ * timeout is considered failed. The server is reported as starting until the modules have all
+ * been loaded, their checks handed to the monitor and the first run completed, and it is never
+ * ready when the modules have no readiness check at all.
+ */
+class ReadinessMonitor implements Handler<RoutingContext> {
+    private static final Logger LOGGER = LogManager.getLogger(ReadinessMonitor.class);
+    private static final String STATUS_OK = "OK";
+    private static final String STATUS_FAILED = "FAILED";
+    private static final Readiness STARTING = new Readiness(false,
+        new JsonObject().put("status", "STARTING").toBuffer());
+    private static final Readiness NO_CHECKS = new Readiness(false,
+        new JsonObject().put("status", STATUS_FAILED).put("error", "No readiness check is registered").toBuffer());
+
+    private final Vertx vertx;
+    private final Context context;
+    private final long intervalMs;
+    private final long timeoutMs;
+
+    private volatile Readiness readiness = STARTING;
+    private volatile Map<String, Supplier<Future<Void>>> checks;
+    private boolean running = false;
+
+    ReadinessMonitor(final Vertx vertx, final long intervalMs, final long timeoutMs) {
+        this.vertx = vertx;
+        this.context = vertx.getOrCreateContext();
+        this.intervalMs = intervalMs;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Starts the periodic run of the checks. The first run is triggered immediately, the checks
+     * are only run once they have been handed to the monitor.
+     */
+    void start() {
+        context.runOnContext(v -> {
+            run();
+            vertx.setPeriodic(intervalMs, id -> run());
+        });
+    }
+
+    /**
+     * Hands the readiness checks of all the modules to the monitor, and triggers a run of the checks
+     * @param checks the readiness checks, keyed by name
+     */
+    void checksLoaded(final Map<String, Supplier<Future<Void>>> checks) {
+        if (checks.isEmpty()) {
+            LOGGER.warn("No readiness check is registered, the admin server is never reported ready.");
+        }
+        this.checks = checks;
+        context.runOnContext(v -> run());
+    }
+
+    @Override
+    public void handle(final RoutingContext rc) {
+        final Readiness current = readiness;
+        rc.response()
+            .setStatusCode(current.ready ? 200 : 503)
+            .putHeader("Content-Type", "application/json")
+            .end(current.body);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void run() {
+        final Map<String, Supplier<Future<Void>>> current = checks;
+        if (current == null) {
+            LOGGER.debug("Skipping readiness checks, the modules have not all been loaded yet.");
+            return;
+        } else if (current.isEmpty()) {
+            readiness = NO_CHECKS;
+            return;
+        } else if (running) {
+            LOGGER.debug("Skipping readiness checks, the previous run is still in progress.");
+            return;
+        }
+        running = true;
+
+        final Instant checkedAt = Instant.now();
+        final long start = System.nanoTime();
+        final List<Future> results = new ArrayList<>();
+        for (final Map.Entry<String, Supplier<Future<Void>>> check : current.entrySet()) {
+            results.add(runCheck(check.getKey(), check.getValue()));
+        }
+
+        // the results of the checks never fail, a failed check is reported in its result
+        CompositeFuture.all(results).onComplete(ar -> {
+            running = false;
+            final JsonArray checks = new JsonArray(ar.result().list());
+            final boolean ready = checks.stream().allMatch(check -> STATUS_OK.equals(((JsonObject) check).getString("status")));
+            final JsonObject body = new JsonObject()
+                .put("status", ready ? STATUS_OK : STATUS_FAILED)
+                .put("checkedAt", checkedAt)
+                .put("latencyMs", millis(System.nanoTime() - start))
+                .put("checks", checks);
+
+            if (readiness.ready && !ready) {
+                LOGGER.warn("The admin server is not ready - {}", checks.encode());
+            } else if (!readiness.ready && ready) {
+                LOGGER.info("The admin server is ready.");
+            }
+            readiness = new Readiness(ready, body.toBuffer());
+        });
+    }
+
+    private Future<JsonObject> runCheck(final String name, final Supplier<Future<Void>> check) {
+        final Promise<Void> promise = Promise.promise();
+        final long start = System.nanoTime();
+        final long timerId = vertx.setTimer(timeoutMs, id -> promise.tryFail("Timed out after " + timeoutMs + " ms"));
+
+        Future<Void> future;
+        try {
+            future = check.get();
+        } catch (RuntimeException exc) {
+            future = Future.failedFuture(exc);
+        }
+        future.onComplete(ar -> {
+            vertx.cancelTimer(timerId);
+            if (ar.succeeded()) {
+                promise.tryComplete();
+            } else {
+                promise.tryFail(ar.cause());
+            }
+        });
+
+        return promise.future().compose(
+            v -> Future.succeededFuture(result(name, start, null)),
+            throwable -> Future.succeededFuture(result(name, start, throwable)));
+    }
+
+    private static JsonObject result(final String name, final long start, final Throwable failure) {
+        final JsonObject result = new JsonObject()
+            .put("name", name)
+            .put("status", failure == null ? STATUS_OK : STATUS_FAILED)
+            .put("latencyMs", millis(System.nanoTime() - start));
+        if (failure != null) {
+            result.put("error", String.valueOf(failure.getMessage()));
+        }
+        return result;
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * The readiness reported by the probe, with its response body encoded once per run
+     */
+    private static final class Readiness {
+        private final boolean ready;
+        private final Buffer body;
+
+        private Readiness(final boolean ready, final Buffer body) {
+            this.ready = ready;
+            this.body = body;
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package io.strimzi.admin;
 
 import io.strimzi.admin.http.server.AdminServer;
+import io.strimzi.admin.http.server.AdminServerConfig;
+import io.strimzi.admin.http.server.StartupTimer;
+import io.strimzi.admin.http.server.registration.RouteRegistration;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import java.util.ServiceLoader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -17,28 +23,65 @@ public class Main {
      * @param args the command line arguments
      */
     public static void main(final String[] args) {
+        final long start = System.nanoTime();
         LOGGER.info("AdminServer is starting.");
 
-        final Vertx vertx = Vertx.vertx();
-        run(vertx)
+        final AdminServerConfig config = AdminServerConfig.fromEnv(System.getenv());
+        final Vertx vertx = Vertx.vertx(new VertxOptions().setPreferNativeTransport(config.isNativeTransport()));
+
+        if (config.isNativeTransport() && !vertx.isNativeTransportEnabled()) {
+            LOGGER.warn("Native transport is not available, falling back to NIO.");
+        }
+
+        run(vertx, config)
+            .onSuccess(deploymentId -> StartupTimer.record(AdminServer.class.getSimpleName(), "total", System.nanoTime() - start))
             .onFailure(throwable -> {
                 LOGGER.atFatal().withThrowable(throwable).log("AdminServer startup failed.");
                 System.exit(1);
             });
     }
 
-    static Future<String> run(final Vertx vertx) {
+    /**
+     * Loads the routes of all the modules once and deploys the configured number of
+     * {@link AdminServer} instances sharing them.
+     *
+     * @param vertx a running instance of a {@link io.vertx.core.Vertx}
+     * @param config the admin server configuration
+     * @return a future completed with the deployment ID of the server verticles
+     */
+    public static Future<String> run(final Vertx vertx, final AdminServerConfig config) {
+        return run(vertx, config, ServiceLoader.load(RouteRegistration.class));
+    }
+
+    /**
+     * Loads the routes of the given modules once and deploys the configured number of
+     * {@link AdminServer} instances sharing them.
+     *
+     * @param vertx a running instance of a {@link io.vertx.core.Vertx}
+     * @param config the admin server configuration
+     * @param routeRegistrations the registrations of the modules
+     * @return a future completed with the deployment ID of the server verticles
+     */
+    public static Future<String> run(final Vertx vertx, final AdminServerConfig config, final Iterable<RouteRegistration> routeRegistrations) {
         final Promise<String> promise = Promise.promise();
-        final AdminServer adminServer = new AdminServer();
-
-        vertx.deployVerticle(adminServer,
-            res -> {
-                if (res.failed()) {
-                    LOGGER.atFatal().withThrowable(res.cause()).log("AdminServer verticle failed to start");
-                }
-                promise.handle(res);
-            }
-        );
+
+        AdminServer.loadRoutes(vertx, routeRegistrations)
+            .onSuccess(router -> vertx.deployVerticle(
+                () -> new AdminServer(router, config.getHttpServerOptions()),
+                new DeploymentOptions().setInstances(config.getInstances()),
+                res -> {
+                    if (res.failed()) {
+                        LOGGER.atFatal().withThrowable(res.cause()).log("AdminServer verticle failed to start");
+                    } else {
+                        LOGGER.info("{} AdminServer instances started, native transport {}.",
+                            config.getInstances(), vertx.isNativeTransportEnabled() ? "enabled" : "disabled");
+                    }
+                    promise.handle(res);
+                }))
+            .onFailure(throwable -> {
+                LOGGER.atFatal().withThrowable(throwable).log("Loading of routes was unsuccessful.");
+                promise.fail(throwable);
+            });
 
         return promise.future();
     }
@@ -1,16 +1,23 @@
 package io.strimzi.admin.http.server;
 
+import io.micrometer.core.instrument.Metrics;
 import io.strimzi.admin.http.server.registration.RouteRegistration;
 import io.strimzi.admin.http.server.registration.RouteRegistrationDescriptor;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
-import io.vertx.core.http.HttpServer;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerOptions;
 import io.vertx.ext.web.Router;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -22,37 +29,90 @@ import org.apache.logging.log4j.Logger;
  * mechanism. All modules implementing the {@link RouteRegistration} interface are loaded and the
  * getRegistrationDescriptor method called to get the set of routes and the mount point. The routes
  * are added to the server Router at the mount point.
+ * <p>
+ * The routes are loaded once per process by {@link #loadRoutes(Vertx)} and the resulting Router is
+ * shared by all the deployed AdminServer instances. Each instance runs on its own event loop and
+ * listens on the same port, Vert.x distributes the connections between them. The time each module
+ * takes to provide its routes is recorded by the {@link StartupTimer}, and the requests made to
+ * the routes of each module are timed by the {@link RequestMetricsHandler}.
+ * <p>
+ * Once the routes of all the modules are loaded, the readiness checks carried by their descriptors
+ * are handed to every module, so the module serving the readiness probe knows all of them.
  */
 public class AdminServer extends AbstractVerticle {
     private static final Logger LOGGER = LogManager.getLogger(AdminServer.class);
 
+    private final Router router;
+    private final HttpServerOptions httpServerOptions;
+
+    public AdminServer(final Router router, final HttpServerOptions httpServerOptions) {
+        this.router = router;
+        this.httpServerOptions = httpServerOptions;
+    }
+
     @Override
     public void start(final Promise<Void> startServer) {
+        vertx.createHttpServer(httpServerOptions)
+            .requestHandler(router)
+            .listen(ar -> {
+                if (ar.succeeded()) {
+                    LOGGER.info("Admin Server is listening on port {}", ar.result().actualPort());
+                    startServer.complete();
+                } else {
+                    LOGGER.atFatal().withThrowable(ar.cause()).log("Admin Server failed to listen on port {}", httpServerOptions.getPort());
+                    startServer.fail(ar.cause());
+                }
+            });
+    }
 
-        loadRoutes()
-            .onSuccess(router -> {
-                final HttpServer server = vertx.createHttpServer();
-                server.requestHandler(router).listen(8080);
-                LOGGER.info("Admin Server is listening on port 8080");
-            })
-            .onFailure(throwable -> LOGGER.atFatal().withThrowable(throwable).log("Loading of routes was unsuccessful."));
+    /**
+     * Loads the routes of all the modules implementing {@link RouteRegistration} and mounts them
+     * on a single Router.
+     * @param vertx a running instance of a {@link io.vertx.core.Vertx}
+     * @return a future completed with the Router containing the routes of all the modules
+     */
+    public static Future<Router> loadRoutes(final Vertx vertx) {
+        return loadRoutes(vertx, ServiceLoader.load(RouteRegistration.class));
     }
 
-    private Future<Router> loadRoutes() {
+    /**
+     * Loads the routes of the given modules and mounts them on a single Router, then hands the
+     * readiness checks of all the modules to each of them.
+     * @param vertx a running instance of a {@link io.vertx.core.Vertx}
+     * @param routeRegistrations the registrations of the modules
+     * @return a future completed with the Router containing the routes of the modules
+     */
+    public static Future<Router> loadRoutes(final Vertx vertx, final Iterable<RouteRegistration> routeRegistrations) {
         final Router router = Router.router(vertx);
-        final ServiceLoader<RouteRegistration> loader = ServiceLoader.load(RouteRegistration.class);
+        final List<RouteRegistration> registrations = new ArrayList<>();
         final List<Future<RouteRegistrationDescriptor>> routeRegistrationDescriptors = new ArrayList<>();
 
-        loader.forEach(routeRegistration -> routeRegistrationDescriptors.add(routeRegistration.getRegistrationDescriptor(vertx)));
+        routeRegistrations.forEach(routeRegistration -> {
+            registrations.add(routeRegistration);
+            routeRegistrationDescriptors.add(StartupTimer.time(
+                routeRegistration.getClass().getSimpleName(), "routes", () -> routeRegistration.getRegistrationDescriptor(vertx)));
+        });
 
         return CompositeFuture.all(new ArrayList<>(routeRegistrationDescriptors))
-            .onSuccess(cf -> routeRegistrationDescriptors.forEach(future -> {
-                final String mountPoint = future.result().mountPoint();
-                final Router subRouter = future.result().router();
+            .onSuccess(cf -> {
+                final List<String> mountPoints = routeRegistrationDescriptors.stream()
+                    .map(future -> future.result().mountPoint())
+                    .collect(Collectors.toList());
+                router.route().handler(new RequestMetricsHandler(Metrics.globalRegistry, mountPoints));
+
+                routeRegistrationDescriptors.forEach(future -> {
+                    final String mountPoint = future.result().mountPoint();
+                    final Router subRouter = future.result().router();
+
+                    router.mountSubRouter(mountPoint, subRouter);
 
-                router.mountSubRouter(mountPoint, subRouter);
+                    LOGGER.info("Module routes mounted on path {}.", mountPoint);
+                });
 
-                LOGGER.info("Module routes mounted on path {}.", mountPoint);
-            })).map(router);
+                final Map<String, Supplier<Future<Void>>> readinessChecks = new TreeMap<>();
+                routeRegistrationDescriptors.forEach(future -> readinessChecks.putAll(future.result().readinessChecks()));
+                LOGGER.info("Readiness checks loaded: {}.", readinessChecks.keySet());
+                registrations.forEach(registration -> registration.readinessChecksLoaded(Collections.unmodifiableMap(readinessChecks)));
+            }).map(router);
     }
 }
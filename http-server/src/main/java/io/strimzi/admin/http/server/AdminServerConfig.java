@@ -0,0 +1,86 @@
+package io.strimzi.admin.http.server;
+
+import io.vertx.core.VertxOptions;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonObject;
+import java.util.Map;
+
+/**
+ * Configuration of the admin HTTP server. The values are read from the environment of the admin
+ * server process.
+ */
+public class AdminServerConfig {
+    static final String PORT_ENV = "ADMIN_SERVER_PORT";
+    static final String INSTANCES_ENV = "ADMIN_SERVER_INSTANCES";
+    static final String NATIVE_TRANSPORT_ENV = "ADMIN_SERVER_NATIVE_TRANSPORT";
+    static final String HTTP_OPTIONS_ENV = "ADMIN_SERVER_HTTP_OPTIONS";
+
+    private static final int DEFAULT_PORT = 8080;
+    // the WebSocket protocol of the GraphQL subscriptions
+    private static final String DEFAULT_WEB_SOCKET_SUB_PROTOCOL = "graphql-ws";
+
+    private final int instances;
+    private final boolean nativeTransport;
+    private final HttpServerOptions httpServerOptions;
+
+    private AdminServerConfig(final int instances, final boolean nativeTransport, final HttpServerOptions httpServerOptions) {
+        this.instances = instances;
+        this.nativeTransport = nativeTransport;
+        this.httpServerOptions = httpServerOptions;
+    }
+
+    /**
+     * Factory method to create the configuration from a set of environment variables
+     * @param env the environment variables, usually {@link System#getenv()}
+     * @return the admin server configuration
+     */
+    public static AdminServerConfig fromEnv(final Map<String, String> env) {
+        final JsonObject httpOptions = new JsonObject(env.getOrDefault(HTTP_OPTIONS_ENV, "{}"));
+        if (env.containsKey(PORT_ENV)) {
+            httpOptions.put("port", Integer.parseInt(env.get(PORT_ENV)));
+        } else if (!httpOptions.containsKey("port")) {
+            httpOptions.put("port", DEFAULT_PORT);
+        }
+        // the compression is negotiated with each client from its Accept-Encoding header
+        if (!httpOptions.containsKey("compressionSupported")) {
+            httpOptions.put("compressionSupported", true);
+        }
+        final HttpServerOptions httpServerOptions = new HttpServerOptions(httpOptions);
+        if (httpServerOptions.getWebSocketSubProtocols() == null) {
+            httpServerOptions.addWebSocketSubProtocol(DEFAULT_WEB_SOCKET_SUB_PROTOCOL);
+        }
+
+        return new AdminServerConfig(
+            Integer.parseInt(env.getOrDefault(INSTANCES_ENV, String.valueOf(VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE))),
+            Boolean.parseBoolean(env.getOrDefault(NATIVE_TRANSPORT_ENV, "false")),
+            httpServerOptions);
+    }
+
+    /**
+     * Retrieve the number of server verticles to deploy. The verticles share the listening port and
+     * each of them runs on its own event loop.
+     * @return the number of server instances
+     */
+    public int getInstances() {
+        return instances;
+    }
+
+    /**
+     * Retrieve whether the native transport (epoll on Linux) should be used when available
+     * @return true to prefer the native transport
+     */
+    public boolean isNativeTransport() {
+        return nativeTransport;
+    }
+
+    /**
+     * Retrieve the options of the HTTP server, including the port to listen on. The options can be
+     * set as a JSON object in the ADMIN_SERVER_HTTP_OPTIONS environment variable, using the field
+     * names of {@link HttpServerOptions}. The gzip and deflate compression of the responses is
+     * enabled unless the options disable it.
+     * @return the HTTP server options
+     */
+    public HttpServerOptions getHttpServerOptions() {
+        return httpServerOptions;
+    }
+}
@@ -0,0 +1,84 @@
+package io.strimzi.admin.http.server;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.RoutingContext;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * Times the HTTP requests handled by the admin server. The requests are recorded in the
+ * admin.server.requests timer, tagged with the mount point of the module handling them, the
+ * method and the class of the response status.
+ * <p>
+ * The timers are looked up by index rather than by building their tags for each request, so
+ * timing a request does not allocate beyond the end handler registered on the response.
+ */
+public class RequestMetricsHandler implements Handler<RoutingContext> {
+    private static final String METRIC_NAME = "admin.server.requests";
+    private static final HttpMethod[] METHODS = HttpMethod.values();
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+    private static final String UNMATCHED = "none";
+
+    private final MeterRegistry registry;
+    private final String[] mountPoints;
+    private final AtomicReferenceArray<Timer> timers;
+
+    /**
+     * Creates a handler timing the requests made to the given mount points
+     * @param registry the registry in which the timers are registered
+     * @param mountPoints the mount points of the modules
+     */
+    public RequestMetricsHandler(final MeterRegistry registry, final List<String> mountPoints) {
+        this.registry = registry;
+        // the longest mount points come first so that the first match is the longest one
+        this.mountPoints = mountPoints.stream()
+            .distinct()
+            .sorted(Comparator.comparingInt(String::length).reversed())
+            .toArray(String[]::new);
+        this.timers = new AtomicReferenceArray<>((this.mountPoints.length + 1) * METHODS.length * STATUS_CLASSES.length);
+    }
+
+    @Override
+    public void handle(final RoutingContext rc) {
+        final long start = System.nanoTime();
+        final int mountPoint = mountPoint(rc.normalisedPath());
+
+        rc.addBodyEndHandler(v -> timer(mountPoint, rc.request().method(), rc.response().getStatusCode())
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        rc.next();
+    }
+
+    private int mountPoint(final String path) {
+        for (int i = 0; i < mountPoints.length; i++) {
+            if (path.startsWith(mountPoints[i])) {
+                return i;
+            }
+        }
+        return mountPoints.length;
+    }
+
+    private Timer timer(final int mountPoint, final HttpMethod method, final int statusCode) {
+        final int statusClass = Math.min(Math.max(statusCode / 100, 1), STATUS_CLASSES.length) - 1;
+        final int index = (mountPoint * METHODS.length + method.ordinal()) * STATUS_CLASSES.length + statusClass;
+
+        Timer timer = timers.get(index);
+        if (timer == null) {
+            // registering is idempotent, a concurrent registration returns the same timer
+            timer = Timer.builder(METRIC_NAME)
+                .description("Duration of the HTTP requests handled by the admin server")
+                .tag("route", mountPoint < mountPoints.length ? mountPoints[mountPoint] : UNMATCHED)
+                .tag("method", method.name())
+                .tag("status", STATUS_CLASSES[statusClass])
+                .publishPercentileHistogram()
+                .register(registry);
+            timers.set(index, timer);
+        }
+        return timer;
+    }
+}
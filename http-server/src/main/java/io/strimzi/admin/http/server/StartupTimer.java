@@ -0,0 +1,71 @@
+package io.strimzi.admin.http.server;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.TimeGauge;
+import io.vertx.core.Future;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Records how long the steps of the admin server startup take, so that the cold start time can be
+ * broken down per module. Each step is logged and recorded in the admin.server.startup gauge of
+ * the Micrometer global registry, tagged with the module and the phase of the startup.
+ * <p>
+ * Gauges are used rather than timers because the steps run once, possibly before the registry
+ * exporting the metrics has been added to the global registry: the gauges report the recorded
+ * durations to the registries added later on.
+ */
+public final class StartupTimer {
+    private static final Logger LOGGER = LogManager.getLogger(StartupTimer.class);
+    private static final String METRIC_NAME = "admin.server.startup";
+    private static final Map<String, AtomicLong> DURATIONS = new ConcurrentHashMap<>();
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Times an asynchronous startup step, from the call of the step until its future completes
+     * @param module the name of the module running the step
+     * @param phase the startup phase of the step
+     * @param step the step to run
+     * @param <T> the type of the result of the step
+     * @return the future returned by the step
+     */
+    public static <T> Future<T> time(final String module, final String phase, final Supplier<Future<T>> step) {
+        final long start = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = step.get();
+        } catch (RuntimeException exc) {
+            future = Future.failedFuture(exc);
+        }
+
+        return future.onComplete(ar -> record(module, phase, System.nanoTime() - start));
+    }
+
+    /**
+     * Records the duration of a startup step
+     * @param module the name of the module running the step
+     * @param phase the startup phase of the step
+     * @param durationNanos the duration of the step in nanoseconds
+     */
+    public static void record(final String module, final String phase, final long durationNanos) {
+        DURATIONS.computeIfAbsent(module + "/" + phase, key -> {
+            final AtomicLong duration = new AtomicLong();
+            TimeGauge.builder(METRIC_NAME, duration, TimeUnit.NANOSECONDS, AtomicLong::doubleValue)
+                .description("Duration of the admin server startup steps")
+                .tag("module", module)
+                .tag("phase", phase)
+                .register(Metrics.globalRegistry);
+            return duration;
+        }).set(durationNanos);
+
+        LOGGER.info("Startup of {} ({}) took {} ms.", module, phase, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+    }
+}
@@ -3,6 +3,8 @@ package io.strimzi.admin.http.server.registration;
 import io.strimzi.admin.http.server.AdminServer;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * The RouteRegistration interface is used to identify modules that wish to expose a set of REST endpoints
@@ -11,5 +13,13 @@ import io.vertx.core.Vertx;
  */
 public interface RouteRegistration {
     Future<RouteRegistrationDescriptor> getRegistrationDescriptor(final Vertx vertx);
+
+    /**
+     * Receives the readiness checks carried by the descriptors of all the modules, once all of
+     * them have been loaded. The checks are ignored by default.
+     * @param readinessChecks the readiness checks of all the modules, keyed by name
+     */
+    default void readinessChecksLoaded(final Map<String, Supplier<Future<Void>>> readinessChecks) {
+    }
 }
 
@@ -1,18 +1,29 @@
 package io.strimzi.admin.http.server.registration;
 
+import io.vertx.core.Future;
 import io.vertx.ext.web.Router;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Contains a Vert.x {@link Router} and a mountPoint which acts as a path off the root path
  * under which the routes on the Router will be mounted.
+ * <p>
+ * A descriptor may also carry the readiness checks of the module, such as a check of the
+ * connectivity to a backend the module depends on. A check completes its future when the module
+ * is ready and fails it otherwise, it is called on a Vert.x context and must not block.
  */
 public class RouteRegistrationDescriptor {
     private final Router router;
     private final String mountPoint;
+    private final Map<String, Supplier<Future<Void>>> readinessChecks;
 
-    private RouteRegistrationDescriptor(final String mountPoint, final Router router) {
+    private RouteRegistrationDescriptor(final String mountPoint, final Router router,
+                                        final Map<String, Supplier<Future<Void>>> readinessChecks) {
         this.mountPoint = mountPoint;
         this.router = router;
+        this.readinessChecks = readinessChecks;
     }
 
     /**
@@ -22,7 +33,20 @@ public class RouteRegistrationDescriptor {
      * @return a RouteRegistrationDescriptor containing the mountpoint and the Router.
      */
     public static RouteRegistrationDescriptor create(final String mountPoint, final Router router) {
-        return new RouteRegistrationDescriptor(mountPoint, router);
+        return new RouteRegistrationDescriptor(mountPoint, router, Collections.emptyMap());
+    }
+
+    /**
+     * Factory class to create a RouteRegistrationDescriptor with readiness checks
+     * @param mountPoint the path under which the routes will be mounted
+     * @param router the Vert.x Router containing the routes to be mounted
+     * @param readinessChecks the readiness checks of the module, keyed by the name reported in the
+     *                        readiness response
+     * @return a RouteRegistrationDescriptor containing the mountpoint, the Router and the readiness checks.
+     */
+    public static RouteRegistrationDescriptor create(final String mountPoint, final Router router,
+                                                     final Map<String, Supplier<Future<Void>>> readinessChecks) {
+        return new RouteRegistrationDescriptor(mountPoint, router, readinessChecks);
     }
 
     /**
@@ -40,4 +64,12 @@ public class RouteRegistrationDescriptor {
     public Router router() {
         return this.router;
     }
+
+    /**
+     * Retrieve the readiness checks of the module
+     * @return the readiness checks, keyed by name
+     */
+    public Map<String, Supplier<Future<Void>>> readinessChecks() {
+        return this.readinessChecks;
+    }
 }
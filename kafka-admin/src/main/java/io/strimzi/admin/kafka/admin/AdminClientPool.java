@@ -0,0 +1,113 @@
+package io.strimzi.admin.kafka.admin;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.common.KafkaException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A pool of Admin clients, one for each of the additional Kafka clusters configured in
+ * {@link KafkaAdminConfig}, keyed by cluster ID.
+ * <p>
+ * The client of a cluster is only created when the cluster is first queried, and is then shared
+ * by all the requests to that cluster. Concurrent requests to a cluster without a client wait for
+ * the same client to be created. A client which has not been used for the idle timeout is closed
+ * in the background and is created again on the next request. The idle timeout is expected to be
+ * much longer than any request, so a client is not closed while a request is using it.
+ */
+public class AdminClientPool {
+    private static final Logger LOGGER = LogManager.getLogger(AdminClientPool.class);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Vertx vertx;
+    private final Map<String, Map<String, Object>> clusterConfigs;
+    private final Function<Map<String, Object>, Future<Admin>> factory;
+    private final long idleTimeoutMs;
+    private final Map<String, PooledAdmin> admins = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a pool and starts its idle check
+     * @param vertx a running instance of a {@link io.vertx.core.Vertx}
+     * @param clusterConfigs the Admin client configuration of each cluster, keyed by cluster ID
+     * @param factory creates an Admin client from its configuration
+     * @param idleTimeoutMs the time after which an unused client is closed
+     */
+    public AdminClientPool(final Vertx vertx, final Map<String, Map<String, Object>> clusterConfigs,
+                           final Function<Map<String, Object>, Future<Admin>> factory, final long idleTimeoutMs) {
+        this.vertx = vertx;
+        this.clusterConfigs = clusterConfigs;
+        this.factory = factory;
+        this.idleTimeoutMs = idleTimeoutMs;
+        if (!clusterConfigs.isEmpty()) {
+            vertx.setPeriodic(Math.max(1_000L, idleTimeoutMs / 2), id -> closeIdle());
+        }
+    }
+
+    /**
+     * Retrieve the IDs of the clusters served by the pool
+     * @return the cluster IDs, ordered
+     */
+    public Set<String> clusterIds() {
+        return new TreeSet<>(clusterConfigs.keySet());
+    }
+
+    /**
+     * Retrieve the Admin client of a cluster, creating it if needed
+     * @param clusterId the ID of the cluster
+     * @return a future completed with the Admin client, or failed if the cluster is unknown or the
+     *         client cannot be created
+     */
+    public Future<Admin> admin(final String clusterId) {
+        final Map<String, Object> config = clusterConfigs.get(clusterId);
+        if (config == null) {
+            return Future.failedFuture(new KafkaException("Unknown cluster " + clusterId));
+        }
+
+        final PooledAdmin pooled = admins.computeIfAbsent(clusterId, id -> {
+            LOGGER.info("Creating the Admin client of cluster {}", id);
+            return new PooledAdmin(factory.apply(config));
+        });
+        pooled.lastUsed = System.nanoTime();
+
+        // a client which failed to be created is dropped, so the next request tries again
+        return pooled.admin.onFailure(throwable -> admins.remove(clusterId, pooled));
+    }
+
+    private void closeIdle() {
+        final long now = System.nanoTime();
+        admins.forEach((clusterId, pooled) -> {
+            if (pooled.admin.succeeded() && now - pooled.lastUsed > TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs)
+                && admins.remove(clusterId, pooled)) {
+                LOGGER.info("Closing the idle Admin client of cluster {}", clusterId);
+                // closing the client waits for its network thread, so it is kept off the event loop
+                vertx.executeBlocking(p -> {
+                    pooled.admin.result().close(CLOSE_TIMEOUT);
+                    p.complete();
+                }, false, ar -> {
+                    if (ar.failed()) {
+                        LOGGER.warn("Failed to close the Admin client of cluster {} - {}", clusterId, ar.cause().getMessage());
+                    }
+                });
+            }
+        });
+    }
+
+    private static final class PooledAdmin {
+        private final Future<Admin> admin;
+        private volatile long lastUsed;
+
+        private PooledAdmin(final Future<Admin> admin) {
+            this.admin = admin;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package io.strimzi.admin.kafka.admin;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+
+/**
+ * Configuration of the Kafka Admin module. The values are read from the environment of the
+ * admin server process.
+ * <p>
+ * Any environment variable prefixed with KAFKA_ADMIN_CLIENT_ is passed to the Kafka Admin
+ * client with the prefix removed, the name lower cased and underscores replaced by dots, e.g.
+ * KAFKA_ADMIN_CLIENT_SECURITY_PROTOCOL becomes security.protocol.
+ * <p>
+ * Additional clusters can be listed in KAFKA_ADMIN_CLUSTERS, their Admin clients are created with
+ * the same configuration apart from the bootstrap servers.
+ */
+public class KafkaAdminConfig {
+    static final String BOOTSTRAP_SERVERS_ENV = "KAFKA_ADMIN_BOOTSTRAP_SERVERS";
+    static final String TOPIC_REFRESH_INTERVAL_ENV = "KAFKA_ADMIN_TOPIC_REFRESH_INTERVAL_MS";
+    static final String TOPIC_FULL_REFRESH_CYCLES_ENV = "KAFKA_ADMIN_TOPIC_FULL_REFRESH_CYCLES";
+    static final String TOPIC_DESCRIBE_BATCH_SIZE_ENV = "KAFKA_ADMIN_TOPIC_DESCRIBE_BATCH_SIZE";
+    static final String SUBSCRIPTION_BUFFER_SIZE_ENV = "KAFKA_ADMIN_SUBSCRIPTION_BUFFER_SIZE";
+    static final String END_OFFSET_CACHE_TTL_ENV = "KAFKA_ADMIN_END_OFFSET_CACHE_TTL_MS";
+    static final String GROUP_OFFSETS_BATCH_SIZE_ENV = "KAFKA_ADMIN_GROUP_OFFSETS_BATCH_SIZE";
+    static final String TOPIC_CONFIG_CACHE_TTL_ENV = "KAFKA_ADMIN_TOPIC_CONFIG_CACHE_TTL_MS";
+    static final String TOPIC_CONFIG_CACHE_SIZE_ENV = "KAFKA_ADMIN_TOPIC_CONFIG_CACHE_SIZE";
+    static final String TOPIC_CONFIG_CONCURRENCY_ENV = "KAFKA_ADMIN_TOPIC_CONFIG_CONCURRENCY";
+    static final String MUTATION_BATCH_SIZE_ENV = "KAFKA_ADMIN_MUTATION_BATCH_SIZE";
+    static final String MUTATION_CONCURRENCY_ENV = "KAFKA_ADMIN_MUTATION_CONCURRENCY";
+    static final String CLUSTER_ID_ENV = "KAFKA_ADMIN_CLUSTER_ID";
+    static final String CLUSTERS_ENV = "KAFKA_ADMIN_CLUSTERS";
+    static final String CLUSTER_IDLE_TIMEOUT_ENV = "KAFKA_ADMIN_CLUSTER_IDLE_TIMEOUT_MS";
+    static final String CLUSTER_TIMEOUT_ENV = "KAFKA_ADMIN_CLUSTER_TIMEOUT_MS";
+    static final String CLUSTER_DESCRIBE_CONCURRENCY_ENV = "KAFKA_ADMIN_CLUSTER_DESCRIBE_CONCURRENCY";
+    static final String ADMIN_CLIENT_ENV_PREFIX = "KAFKA_ADMIN_CLIENT_";
+
+    private static final String DEFAULT_BOOTSTRAP_SERVERS = "localhost:9092";
+    private static final long DEFAULT_TOPIC_REFRESH_INTERVAL_MS = 30_000L;
+    private static final int DEFAULT_TOPIC_FULL_REFRESH_CYCLES = 10;
+    private static final int DEFAULT_TOPIC_DESCRIBE_BATCH_SIZE = 500;
+    private static final int DEFAULT_SUBSCRIPTION_BUFFER_SIZE = 16;
+    private static final long DEFAULT_END_OFFSET_CACHE_TTL_MS = 2_000L;
+    private static final int DEFAULT_GROUP_OFFSETS_BATCH_SIZE = 50;
+    private static final long DEFAULT_TOPIC_CONFIG_CACHE_TTL_MS = 60_000L;
+    private static final long DEFAULT_TOPIC_CONFIG_CACHE_SIZE = 100_000L;
+    private static final int DEFAULT_TOPIC_CONFIG_CONCURRENCY = 4;
+    private static final int DEFAULT_MUTATION_BATCH_SIZE = 100;
+    private static final int DEFAULT_MUTATION_CONCURRENCY = 4;
+    private static final String DEFAULT_CLUSTER_ID = "default";
+    private static final long DEFAULT_CLUSTER_IDLE_TIMEOUT_MS = 300_000L;
+    private static final long DEFAULT_CLUSTER_TIMEOUT_MS = 5_000L;
+    private static final int DEFAULT_CLUSTER_DESCRIBE_CONCURRENCY = 4;
+
+    private final Map<String, Object> adminClientConfig;
+    private final long topicRefreshIntervalMs;
+    private final int topicFullRefreshCycles;
+    private final int topicDescribeBatchSize;
+    private final int subscriptionBufferSize;
+    private final long endOffsetCacheTtlMs;
+    private final int groupOffsetsBatchSize;
+    private final long topicConfigCacheTtlMs;
+    private final long topicConfigCacheSize;
+    private final int topicConfigConcurrency;
+    private final int mutationBatchSize;
+    private final int mutationConcurrency;
+    private final String clusterId;
+    private final Map<String, Map<String, Object>> clusterAdminClientConfigs;
+    private final long clusterIdleTimeoutMs;
+    private final long clusterTimeoutMs;
+    private final int clusterDescribeConcurrency;
+
+    private KafkaAdminConfig(final Map<String, Object> adminClientConfig, final long topicRefreshIntervalMs,
+                             final int topicFullRefreshCycles, final int topicDescribeBatchSize,
+                             final int subscriptionBufferSize, final long endOffsetCacheTtlMs,
+                             final int groupOffsetsBatchSize, final long topicConfigCacheTtlMs,
+                             final long topicConfigCacheSize, final int topicConfigConcurrency,
+                             final int mutationBatchSize,
+                             final int mutationConcurrency, final String clusterId,
+                             final Map<String, Map<String, Object>> clusterAdminClientConfigs,
+                             final long clusterIdleTimeoutMs, final long clusterTimeoutMs,
+                             final int clusterDescribeConcurrency) {
+        this.adminClientConfig = adminClientConfig;
+        this.topicRefreshIntervalMs = topicRefreshIntervalMs;
+        this.topicFullRefreshCycles = topicFullRefreshCycles;
+        this.topicDescribeBatchSize = topicDescribeBatchSize;
+        this.subscriptionBufferSize = subscriptionBufferSize;
+        this.endOffsetCacheTtlMs = endOffsetCacheTtlMs;
+        this.groupOffsetsBatchSize = groupOffsetsBatchSize;
+        this.topicConfigCacheTtlMs = topicConfigCacheTtlMs;
+        this.topicConfigCacheSize = topicConfigCacheSize;
+        this.topicConfigConcurrency = topicConfigConcurrency;
+        this.mutationBatchSize = mutationBatchSize;
+        this.mutationConcurrency = mutationConcurrency;
+        this.clusterId = clusterId;
+        this.clusterAdminClientConfigs = clusterAdminClientConfigs;
+        this.clusterIdleTimeoutMs = clusterIdleTimeoutMs;
+        this.clusterTimeoutMs = clusterTimeoutMs;
+        this.clusterDescribeConcurrency = clusterDescribeConcurrency;
+    }
+
+    /**
+     * Factory method to create the configuration from a set of environment variables
+     * @param env the environment variables, usually {@link System#getenv()}
+     * @return the Kafka Admin module configuration
+     */
+    public static KafkaAdminConfig fromEnv(final Map<String, String> env) {
+        final Map<String, Object> adminClientConfig = clientConfig(env);
+
+        return new KafkaAdminConfig(
+            adminClientConfig,
+            Long.parseLong(env.getOrDefault(TOPIC_REFRESH_INTERVAL_ENV, String.valueOf(DEFAULT_TOPIC_REFRESH_INTERVAL_MS))),
+            Integer.parseInt(env.getOrDefault(TOPIC_FULL_REFRESH_CYCLES_ENV, String.valueOf(DEFAULT_TOPIC_FULL_REFRESH_CYCLES))),
+            Integer.parseInt(env.getOrDefault(TOPIC_DESCRIBE_BATCH_SIZE_ENV, String.valueOf(DEFAULT_TOPIC_DESCRIBE_BATCH_SIZE))),
+            Integer.parseInt(env.getOrDefault(SUBSCRIPTION_BUFFER_SIZE_ENV, String.valueOf(DEFAULT_SUBSCRIPTION_BUFFER_SIZE))),
+            Long.parseLong(env.getOrDefault(END_OFFSET_CACHE_TTL_ENV, String.valueOf(DEFAULT_END_OFFSET_CACHE_TTL_MS))),
+            Integer.parseInt(env.getOrDefault(GROUP_OFFSETS_BATCH_SIZE_ENV, String.valueOf(DEFAULT_GROUP_OFFSETS_BATCH_SIZE))),
+            Long.parseLong(env.getOrDefault(TOPIC_CONFIG_CACHE_TTL_ENV, String.valueOf(DEFAULT_TOPIC_CONFIG_CACHE_TTL_MS))),
+            Long.parseLong(env.getOrDefault(TOPIC_CONFIG_CACHE_SIZE_ENV, String.valueOf(DEFAULT_TOPIC_CONFIG_CACHE_SIZE))),
+            Integer.parseInt(env.getOrDefault(TOPIC_CONFIG_CONCURRENCY_ENV, String.valueOf(DEFAULT_TOPIC_CONFIG_CONCURRENCY))),
+            Integer.parseInt(env.getOrDefault(MUTATION_BATCH_SIZE_ENV, String.valueOf(DEFAULT_MUTATION_BATCH_SIZE))),
+            Integer.parseInt(env.getOrDefault(MUTATION_CONCURRENCY_ENV, String.valueOf(DEFAULT_MUTATION_CONCURRENCY))),
+            env.getOrDefault(CLUSTER_ID_ENV, DEFAULT_CLUSTER_ID),
+            clusterAdminClientConfigs(env.get(CLUSTERS_ENV), adminClientConfig),
+            Long.parseLong(env.getOrDefault(CLUSTER_IDLE_TIMEOUT_ENV, String.valueOf(DEFAULT_CLUSTER_IDLE_TIMEOUT_MS))),
+            Long.parseLong(env.getOrDefault(CLUSTER_TIMEOUT_ENV, String.valueOf(DEFAULT_CLUSTER_TIMEOUT_MS))),
+            Integer.parseInt(env.getOrDefault(CLUSTER_DESCRIBE_CONCURRENCY_ENV, String.valueOf(DEFAULT_CLUSTER_DESCRIBE_CONCURRENCY))));
+    }
+
+    /**
+     * Retrieve the configuration of the clients of the default cluster, made of its bootstrap
+     * servers and of the environment variables prefixed with KAFKA_ADMIN_CLIENT_. It is shared by
+     * the other modules connecting to the cluster, such as the consumers of the messages module.
+     * @param env the environment variables, usually {@link System#getenv()}
+     * @return a new client configuration, which can be extended by the caller
+     */
+    public static Map<String, Object> clientConfig(final Map<String, String> env) {
+        final Map<String, Object> clientConfig = new HashMap<>();
+        env.forEach((name, value) -> {
+            if (name.startsWith(ADMIN_CLIENT_ENV_PREFIX)) {
+                final String key = name.substring(ADMIN_CLIENT_ENV_PREFIX.length())
+                    .toLowerCase(Locale.ROOT)
+                    .replace('_', '.');
+                clientConfig.put(key, value);
+            }
+        });
+        clientConfig.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG,
+            env.getOrDefault(BOOTSTRAP_SERVERS_ENV, DEFAULT_BOOTSTRAP_SERVERS));
+        return clientConfig;
+    }
+
+    /**
+     * Parses the additional clusters, given as cluster ID and bootstrap servers pairs separated by
+     * semicolons, e.g. east=kafka-east:9092;west=kafka-west-0:9092,kafka-west-1:9092. The Admin
+     * clients of the additional clusters share the configuration of the default cluster apart from
+     * the bootstrap servers.
+     */
+    static Map<String, Map<String, Object>> clusterAdminClientConfigs(final String clusters, final Map<String, Object> adminClientConfig) {
+        final Map<String, Map<String, Object>> configs = new HashMap<>();
+        if (clusters == null) {
+            return configs;
+        }
+
+        for (final String cluster : clusters.split(";")) {
+            if (cluster.trim().isEmpty()) {
+                continue;
+            }
+            final int separator = cluster.indexOf('=');
+            if (separator <= 0 || separator == cluster.length() - 1) {
+                throw new IllegalArgumentException("Invalid cluster " + cluster + " in " + CLUSTERS_ENV + ", expected <id>=<bootstrap servers>");
+            }
+            final Map<String, Object> config = new HashMap<>(adminClientConfig);
+            config.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, cluster.substring(separator + 1).trim());
+            configs.put(cluster.substring(0, separator).trim(), config);
+        }
+
+        return configs;
+    }
+
+    /**
+     * Retrieve the configuration passed to the Kafka Admin client
+     * @return the Kafka Admin client configuration
+     */
+    public Map<String, Object> getAdminClientConfig() {
+        return adminClientConfig;
+    }
+
+    /**
+     * Retrieve the interval between two refreshes of the topic metadata cache
+     * @return the refresh interval in milliseconds
+     */
+    public long getTopicRefreshIntervalMs() {
+        return topicRefreshIntervalMs;
+    }
+
+    /**
+     * Retrieve how often the topic metadata cache re-describes all the known topics. Other
+     * refreshes only describe the topics which appeared since the previous refresh.
+     * @return the number of refresh cycles between two full refreshes
+     */
+    public int getTopicFullRefreshCycles() {
+        return topicFullRefreshCycles;
+    }
+
+    /**
+     * Retrieve the maximum number of topics described by a single describeTopics or
+     * describeConfigs request
+     * @return the describe batch size
+     */
+    public int getTopicDescribeBatchSize() {
+        return topicDescribeBatchSize;
+    }
+
+    /**
+     * Retrieve the maximum number of topic change events buffered for a subscriber which does not
+     * keep up. Once the buffer is full, the buffered events are replaced by a single snapshot.
+     * @return the subscription buffer size
+     */
+    public int getSubscriptionBufferSize() {
+        return subscriptionBufferSize;
+    }
+
+    /**
+     * Retrieve how long the end offsets of the partitions are cached for the computation of the
+     * consumer group lag
+     * @return the end offset cache time to live in milliseconds
+     */
+    public long getEndOffsetCacheTtlMs() {
+        return endOffsetCacheTtlMs;
+    }
+
+    /**
+     * Retrieve the maximum number of consumer groups whose committed offsets are fetched
+     * concurrently
+     * @return the committed offsets batch size
+     */
+    public int getGroupOffsetsBatchSize() {
+        return groupOffsetsBatchSize;
+    }
+
+    /**
+     * Retrieve how long the configuration of the topics is cached. The configuration altered
+     * through the admin server is discarded from the cache immediately.
+     * @return the topic config cache time to live in milliseconds
+     */
+    public long getTopicConfigCacheTtlMs() {
+        return topicConfigCacheTtlMs;
+    }
+
+    /**
+     * Retrieve the maximum number of topics whose configuration is cached
+     * @return the topic config cache size
+     */
+    public long getTopicConfigCacheSize() {
+        return topicConfigCacheSize;
+    }
+
+    /**
+     * Retrieve the maximum number of describeConfigs requests of a topic config lookup in flight
+     * at any time
+     * @return the topic config concurrency
+     */
+    public int getTopicConfigConcurrency() {
+        return topicConfigConcurrency;
+    }
+
+    /**
+     * Retrieve the maximum number of topics created, deleted or altered by a single Admin request
+     * of a topic mutation
+     * @return the mutation batch size
+     */
+    public int getMutationBatchSize() {
+        return mutationBatchSize;
+    }
+
+    /**
+     * Retrieve the maximum number of Admin requests of a topic mutation in flight at any time
+     * @return the mutation concurrency
+     */
+    public int getMutationConcurrency() {
+        return mutationConcurrency;
+    }
+
+    /**
+     * Retrieve the ID of the cluster configured by the bootstrap servers, whose topics are cached
+     * @return the default cluster ID
+     */
+    public String getClusterId() {
+        return clusterId;
+    }
+
+    /**
+     * Retrieve the Admin client configuration of each of the additional clusters
+     * @return the Admin client configurations keyed by cluster ID
+     */
+    public Map<String, Map<String, Object>> getClusterAdminClientConfigs() {
+        return clusterAdminClientConfigs;
+    }
+
+    /**
+     * Retrieve the time after which the unused Admin client of an additional cluster is closed
+     * @return the idle timeout in milliseconds
+     */
+    public long getClusterIdleTimeoutMs() {
+        return clusterIdleTimeoutMs;
+    }
+
+    /**
+     * Retrieve the time after which a query to an additional cluster fails, so a query fanning out
+     * to all the clusters returns the results of the others
+     * @return the cluster query timeout in milliseconds
+     */
+    public long getClusterTimeoutMs() {
+        return clusterTimeoutMs;
+    }
+
+    /**
+     * Retrieve the maximum number of describeTopics requests of a topic list of an additional
+     * cluster in flight at any time
+     * @return the cluster describe concurrency
+     */
+    public int getClusterDescribeConcurrency() {
+        return clusterDescribeConcurrency;
+    }
+}
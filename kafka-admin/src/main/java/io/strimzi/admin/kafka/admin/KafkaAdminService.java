@@ -1,61 +1,223 @@
 package io.strimzi.admin.kafka.admin;
 
 import graphql.schema.idl.RuntimeWiring;
-import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import io.strimzi.admin.graphql.registration.GraphQLRegistration;
 import io.strimzi.admin.graphql.registration.GraphQLRegistrationDescriptor;
+import io.strimzi.admin.graphql.schema.SchemaLoader;
+import io.strimzi.admin.http.server.StartupTimer;
+import io.strimzi.admin.kafka.admin.handlers.ClusterHandler;
+import io.strimzi.admin.kafka.admin.handlers.ConsumerGroupHandler;
+import io.strimzi.admin.kafka.admin.handlers.TopicChangeHandler;
+import io.strimzi.admin.kafka.admin.handlers.TopicDetailsHandler;
 import io.strimzi.admin.kafka.admin.handlers.TopicHandler;
 import io.strimzi.admin.kafka.admin.handlers.TopicListHandler;
+import io.strimzi.admin.kafka.admin.handlers.TopicMutationHandler;
+import io.strimzi.admin.kafka.admin.metadata.EndOffsetCache;
+import io.strimzi.admin.kafka.admin.metadata.TopicChangePublisher;
+import io.strimzi.admin.kafka.admin.metadata.TopicConfigCache;
+import io.strimzi.admin.kafka.admin.metadata.TopicMetadataCache;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.ext.web.handler.graphql.VertxDataFetcher;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.Objects;
+import io.vertx.ext.web.handler.graphql.VertxMappedBatchLoader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.kafka.clients.admin.Admin;
+import org.dataloader.DataLoader;
 
 /**
  * Defines the GraphQL schema and its implementation for the Kafka Admin client
  * queries and mutations.
+ * <p>
+ * The topic data fetchers read from a {@link TopicMetadataCache} which is kept up to date in the
+ * background by a Kafka Admin client connected to the cluster configured in {@link KafkaAdminConfig}.
+ * The changes of the cache are published to the subscribers of the topicChanges subscription by a
+ * single {@link TopicChangePublisher}.
+ * <p>
+ * The topic fields which are not held by the cache, such as the partition assignments, the
+ * configuration and the size on disk, have their own data fetchers and data loaders in the
+ * {@link TopicDetailsHandler}, so the Admin requests fetching them are only made when the fields
+ * are selected by a query, once for all the topics of the request. The configuration of the topics
+ * is shared between the requests by a {@link TopicConfigCache}.
+ * <p>
+ * The topic mutations are sent to the cluster in batches by the {@link TopicMutationHandler}, the
+ * topics created or deleted are then applied incrementally to the {@link TopicMetadataCache}.
+ * <p>
+ * The consumer group data fetchers compute the lag of the groups from their committed offsets and
+ * the end offsets of their partitions, which are shared between the requests for a short time by
+ * an {@link EndOffsetCache}.
+ * <p>
+ * The topics of the additional clusters configured in {@link KafkaAdminConfig} are served by the
+ * {@link ClusterHandler}, with Admin clients created on demand and closed when idle by an
+ * {@link AdminClientPool}. The brokers and totals of the default cluster are maintained incrementally
+ * with the {@link TopicMetadataCache}.
+ * <p>
+ * The fields served from the {@link TopicMetadataCache} are versioned by the version of its
+ * snapshot, which is the data version of the module.
+ * <p>
+ * The Admin clients are created with {@link Admin#create(Map)}, unless another factory is passed
+ * to the constructor, for instance to run the module against an in-process stand-in of a cluster.
+ * <p>
+ * The descriptor of the module carries readiness checks of the connectivity to the Kafka cluster
+ * and of the initial load of the topic metadata, which are run in the background by the health
+ * module.
  */
 public class KafkaAdminService implements GraphQLRegistration {
+    private static final String MODULE_NAME = KafkaAdminService.class.getSimpleName();
     private static final String KAFKA_ADMIN_SCHEMA_LOCATION = "graphql-schema/kafka-admin.graphql";
 
+    private final Function<Map<String, Object>, Admin> adminClientFactory;
+
+    public KafkaAdminService() {
+        this(Admin::create);
+    }
+
+    /**
+     * Creates the module with its own factory of Admin clients, such as a stand-in cluster
+     * @param adminClientFactory creates an Admin client from its configuration, called off the
+     * event loop
+     */
+    public KafkaAdminService(final Function<Map<String, Object>, Admin> adminClientFactory) {
+        this.adminClientFactory = adminClientFactory;
+    }
+
     @Override
     public Future<GraphQLRegistrationDescriptor> getRegistrationDescriptor(final Vertx vertx) {
         final Promise<GraphQLRegistrationDescriptor> promise = Promise.promise();
+        final KafkaAdminConfig config = KafkaAdminConfig.fromEnv(System.getenv());
+
+        final Future<TypeDefinitionRegistry> schemaFuture = StartupTimer.time(MODULE_NAME, "schema",
+            () -> SchemaLoader.load(vertx, getClass().getClassLoader(), KAFKA_ADMIN_SCHEMA_LOCATION));
+        final Future<Admin> adminFuture = StartupTimer.time(MODULE_NAME, "admin-client",
+            () -> createAdminClient(vertx, config.getAdminClientConfig()));
+
+        CompositeFuture.all(schemaFuture, adminFuture)
+            .onSuccess(cf -> {
+                final TopicMetadataCache topicMetadataCache = new TopicMetadataCache(
+                    vertx,
+                    adminFuture.result(),
+                    config.getTopicRefreshIntervalMs(),
+                    config.getTopicFullRefreshCycles(),
+                    config.getTopicDescribeBatchSize());
+                topicMetadataCache.start();
+
+                final TopicHandler topicHandler = new TopicHandler(topicMetadataCache);
+                final TopicConfigCache topicConfigCache = new TopicConfigCache(
+                    vertx,
+                    adminFuture.result(),
+                    config.getTopicConfigCacheTtlMs(),
+                    config.getTopicConfigCacheSize(),
+                    config.getTopicDescribeBatchSize(),
+                    config.getTopicConfigConcurrency());
+                final TopicListHandler topicListHandler = new TopicListHandler(topicMetadataCache, topicConfigCache);
+                final TopicDetailsHandler topicDetailsHandler = new TopicDetailsHandler(vertx, adminFuture.result(), topicConfigCache);
+                final TopicMutationHandler topicMutationHandler = new TopicMutationHandler(
+                    vertx,
+                    adminFuture.result(),
+                    topicMetadataCache,
+                    topicConfigCache,
+                    config.getMutationBatchSize(),
+                    config.getMutationConcurrency());
+                final ClusterHandler clusterHandler = new ClusterHandler(
+                    vertx,
+                    config.getClusterId(),
+                    topicMetadataCache,
+                    new AdminClientPool(vertx, config.getClusterAdminClientConfigs(),
+                        adminClientConfig -> createAdminClient(vertx, adminClientConfig), config.getClusterIdleTimeoutMs()),
+                    config.getTopicDescribeBatchSize(),
+                    config.getClusterDescribeConcurrency(),
+                    config.getClusterTimeoutMs());
+                final TopicChangeHandler topicChangeHandler = new TopicChangeHandler(
+                    new TopicChangePublisher(vertx, topicMetadataCache, config.getSubscriptionBufferSize()));
+                final ConsumerGroupHandler consumerGroupHandler = new ConsumerGroupHandler(
+                    vertx,
+                    adminFuture.result(),
+                    new EndOffsetCache(vertx, adminFuture.result(), config.getEndOffsetCacheTtlMs()),
+                    config.getGroupOffsetsBatchSize());
+
+                final RuntimeWiring query = RuntimeWiring.newRuntimeWiring()
+                    .scalar(LongScalar.LONG)
+                    .type("Query", typeWiring -> typeWiring
+                        .dataFetcher("topic", topicHandler::getTopic)
+                        .dataFetcher("topicList", new VertxDataFetcher<>(topicListHandler::getTopicList))
+                        .dataFetcher("topics", new VertxDataFetcher<>(topicListHandler::getTopics))
+                        .dataFetcher("consumerGroup", consumerGroupHandler::getConsumerGroup)
+                        .dataFetcher("consumerGroups", new VertxDataFetcher<>(consumerGroupHandler::getConsumerGroups))
+                        .dataFetcher("cluster", clusterHandler::getCluster)
+                        .dataFetcher("clusters", clusterHandler::getClusters)
+                    )
+                    .type("Cluster", typeWiring -> typeWiring
+                        .dataFetcher("topicList", new VertxDataFetcher<>(clusterHandler::getTopicList))
+                        .dataFetcher("brokers", clusterHandler::getBrokers)
+                        .dataFetcher("totals", clusterHandler::getTotals)
+                    )
+                    .type("Mutation", typeWiring -> typeWiring
+                        .dataFetcher("createTopics", new VertxDataFetcher<>(topicMutationHandler::createTopics))
+                        .dataFetcher("deleteTopics", new VertxDataFetcher<>(topicMutationHandler::deleteTopics))
+                        .dataFetcher("alterTopicConfigs", new VertxDataFetcher<>(topicMutationHandler::alterTopicConfigs))
+                    )
+                    .type("Topic", typeWiring -> typeWiring
+                        .dataFetcher("partitions", topicDetailsHandler::getPartitions)
+                        .dataFetcher("configs", topicDetailsHandler::getConfigs)
+                        .dataFetcher("size", topicDetailsHandler::getSize)
+                    )
+                    .type("Subscription", typeWiring -> typeWiring
+                        .dataFetcher("topicChanges", topicChangeHandler::getTopicChanges)
+                    )
+                    .build();
+
+                final Map<String, Supplier<DataLoader<?, ?>>> dataLoaders = new HashMap<>();
+                dataLoaders.put(TopicHandler.TOPIC_LOADER,
+                    () -> DataLoader.newMappedDataLoader(new VertxMappedBatchLoader<>(topicHandler::loadTopics)));
+                dataLoaders.put(TopicDetailsHandler.PARTITIONS_LOADER,
+                    () -> DataLoader.newMappedDataLoader(new VertxMappedBatchLoader<>(topicDetailsHandler::loadPartitions)));
+                dataLoaders.put(TopicDetailsHandler.CONFIGS_LOADER,
+                    () -> DataLoader.newMappedDataLoader(new VertxMappedBatchLoader<>(topicDetailsHandler::loadConfigs)));
+                dataLoaders.put(TopicDetailsHandler.SIZE_LOADER,
+                    () -> DataLoader.newMappedDataLoader(new VertxMappedBatchLoader<>(topicDetailsHandler::loadSizes)));
+                dataLoaders.put(ConsumerGroupHandler.CONSUMER_GROUP_LOADER,
+                    () -> DataLoader.newMappedDataLoader(new VertxMappedBatchLoader<>(consumerGroupHandler::loadConsumerGroups)));
 
+                promise.complete(GraphQLRegistrationDescriptor.create(schemaFuture.result(), query, dataLoaders,
+                    () -> topicMetadataCache.snapshot().getVersion(),
+                    readinessChecks(vertx, adminFuture.result(), topicMetadataCache),
+                    Collections.singletonMap(TopicListHandler.TOPIC_LIST_SIZE_ESTIMATE, topicListHandler::estimateTopicListSize)));
+            })
+            .onFailure(promise::fail);
+
+        return promise.future();
+    }
+
+    private static Map<String, Supplier<Future<Void>>> readinessChecks(final Vertx vertx, final Admin admin,
+                                                                        final TopicMetadataCache topicMetadataCache) {
+        final Map<String, Supplier<Future<Void>>> readinessChecks = new HashMap<>();
+        readinessChecks.put("kafka", () ->
+            KafkaFutures.toFuture(vertx.getOrCreateContext(), admin.describeCluster().clusterId()).mapEmpty());
+        readinessChecks.put("topic-metadata", () -> topicMetadataCache.initialLoad().isComplete()
+            ? Future.succeededFuture()
+            : Future.failedFuture("The topic metadata has not been loaded yet"));
+        return readinessChecks;
+    }
+
+    private Future<Admin> createAdminClient(final Vertx vertx, final Map<String, Object> adminClientConfig) {
+        final Promise<Admin> promise = Promise.promise();
+
+        // Creating the client resolves the bootstrap addresses, so it is kept off the event loop
         vertx.executeBlocking(p -> {
             try {
-                final SchemaParser schemaParser = new SchemaParser();
-                final InputStreamReader userInputStream = new InputStreamReader(
-                    Objects.requireNonNull(
-                        getClass()
-                            .getClassLoader()
-                            .getResourceAsStream(KAFKA_ADMIN_SCHEMA_LOCATION)),
-                    StandardCharsets.UTF_8);
-
-                final TypeDefinitionRegistry typeDefinitionRegistry = schemaParser.parse(userInputStream);
-                p.complete(typeDefinitionRegistry);
+                p.complete(adminClientFactory.apply(adminClientConfig));
             }
             catch (Exception exc) {
                 p.fail(exc);
             }
-        }, ar -> {
-            final TypeDefinitionRegistry schema = (TypeDefinitionRegistry) ar.result();
-
-            final RuntimeWiring query = RuntimeWiring.newRuntimeWiring()
-                .type("Query", typeWiring -> typeWiring
-                    .dataFetcher("topic", new VertxDataFetcher<>(TopicHandler::getTopic))
-                    .dataFetcher("topicList", new VertxDataFetcher<>(TopicListHandler::getTopicList))
-                )
-                .build();
-
-            promise.complete(GraphQLRegistrationDescriptor.create(schema, query));
-        });
+        }, false, promise);
 
         return promise.future();
     }
 }
-
@@ -0,0 +1,61 @@
+package io.strimzi.admin.kafka.admin;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.util.concurrent.CompletionStage;
+import org.apache.kafka.common.KafkaFuture;
+
+/**
+ * Bridges the futures returned by the Kafka Admin client to Vert.x futures.
+ */
+public final class KafkaFutures {
+
+    private KafkaFutures() {
+    }
+
+    /**
+     * Converts a Kafka future into a Vert.x future. The Kafka future completes on the Admin client
+     * network thread, so the result is handed back to the given Vert.x context before the returned
+     * future is completed.
+     * @param context the Vert.x context on which the returned future completes
+     * @param kafkaFuture the future returned by the Kafka Admin client
+     * @param <T> the type of the result
+     * @return a Vert.x future completed with the result of the Kafka future
+     */
+    public static <T> Future<T> toFuture(final Context context, final KafkaFuture<T> kafkaFuture) {
+        final Promise<T> promise = Promise.promise();
+
+        kafkaFuture.whenComplete((result, throwable) -> context.runOnContext(v -> {
+            if (throwable != null) {
+                promise.fail(throwable);
+            } else {
+                promise.complete(result);
+            }
+        }));
+
+        return promise.future();
+    }
+
+    /**
+     * Converts a completion stage, such as the futures of a Caffeine cache loading its values
+     * with the Kafka Admin client, into a Vert.x future completed on the given Vert.x context.
+     * @param context the Vert.x context on which the returned future completes
+     * @param stage the completion stage
+     * @param <T> the type of the result
+     * @return a Vert.x future completed with the result of the completion stage
+     */
+    public static <T> Future<T> toFuture(final Context context, final CompletionStage<T> stage) {
+        final Promise<T> promise = Promise.promise();
+
+        stage.whenComplete((result, throwable) -> context.runOnContext(v -> {
+            if (throwable != null) {
+                promise.fail(throwable);
+            } else {
+                promise.complete(result);
+            }
+        }));
+
+        return promise.future();
+    }
+}
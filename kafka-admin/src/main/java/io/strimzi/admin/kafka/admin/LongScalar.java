@@ -0,0 +1,80 @@
+package io.strimzi.admin.kafka.admin;
+
+import graphql.language.IntValue;
+import graphql.language.StringValue;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingParseValueException;
+import graphql.schema.CoercingSerializeException;
+import graphql.schema.GraphQLScalarType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * The Long scalar of the schema, a signed 64-bit integer such as a topic size or a snapshot
+ * version. Integral numbers and strings holding an integral number are accepted, values which do
+ * not fit in a long are rejected rather than truncated.
+ */
+final class LongScalar {
+    static final GraphQLScalarType LONG = GraphQLScalarType.newScalar()
+        .name("Long")
+        .description("A signed 64-bit integer")
+        .coercing(new LongCoercing())
+        .build();
+
+    private LongScalar() {
+    }
+
+    private static Long toLong(final Object value) {
+        try {
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                return ((Number) value).longValue();
+            } else if (value instanceof BigInteger) {
+                return ((BigInteger) value).longValueExact();
+            } else if (value instanceof Number) {
+                return new BigDecimal(value.toString()).longValueExact();
+            } else if (value instanceof String) {
+                return new BigDecimal((String) value).longValueExact();
+            }
+        } catch (ArithmeticException | NumberFormatException exc) {
+            return null;
+        }
+        return null;
+    }
+
+    private static final class LongCoercing implements Coercing<Long, Long> {
+        @Override
+        public Long serialize(final Object dataFetcherResult) {
+            final Long value = toLong(dataFetcherResult);
+            if (value == null) {
+                throw new CoercingSerializeException("Expected a value that can be converted to a Long but was " + dataFetcherResult);
+            }
+            return value;
+        }
+
+        @Override
+        public Long parseValue(final Object input) {
+            final Long value = toLong(input);
+            if (value == null) {
+                throw new CoercingParseValueException("Expected a value that can be converted to a Long but was " + input);
+            }
+            return value;
+        }
+
+        @Override
+        public Long parseLiteral(final Object input) {
+            if (input instanceof IntValue) {
+                final Long value = toLong(((IntValue) input).getValue());
+                if (value != null) {
+                    return value;
+                }
+            } else if (input instanceof StringValue) {
+                final Long value = toLong(((StringValue) input).getValue());
+                if (value != null) {
+                    return value;
+                }
+            }
+            throw new CoercingParseLiteralException("Expected an Int or String literal within the range of a Long but was " + input);
+        }
+    }
+}
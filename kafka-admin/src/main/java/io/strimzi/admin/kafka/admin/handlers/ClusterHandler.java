@@ -0,0 +1,241 @@
+package io.strimzi.admin.kafka.admin.handlers;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.strimzi.admin.kafka.admin.AdminClientPool;
+import io.strimzi.admin.kafka.admin.KafkaFutures;
+import io.strimzi.admin.kafka.admin.metadata.ClusterSummary;
+import io.strimzi.admin.kafka.admin.metadata.TopicMetadataCache;
+import io.strimzi.admin.kafka.admin.metadata.TopicNameFilter;
+import io.strimzi.admin.kafka.admin.metadata.TopicSnapshot;
+import io.strimzi.admin.kafka.admin.model.Broker;
+import io.strimzi.admin.kafka.admin.model.Cluster;
+import io.strimzi.admin.kafka.admin.model.ClusterTotals;
+import io.strimzi.admin.kafka.admin.model.Topic;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListTopicsOptions;
+import org.apache.kafka.clients.admin.TopicListing;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+
+/**
+ * Serves the queries addressed to a cluster by ID. The topics of the default cluster are served
+ * from the {@link TopicMetadataCache}, the topics of the additional clusters are listed with the
+ * Admin clients of the {@link AdminClientPool}, and only described when the partition count or the
+ * replication factor is selected. The topics are described in batches, with a bounded number of
+ * describeTopics requests in flight, and no further batch is sent once the cluster timeout elapsed.
+ * <p>
+ * The brokers and totals of the default cluster are read from the {@link ClusterSummary} of the
+ * current snapshot of the cache, which is maintained as the topics are refreshed, so they cost the
+ * number of brokers rather than the number of partitions of the cluster.
+ * <p>
+ * The fields of the clusters returned by the clusters query are resolved concurrently. Each cluster
+ * fails on its own after the cluster timeout, so a query fanning out to all the clusters returns
+ * within the timeout with the results of the clusters which responded.
+ */
+public class ClusterHandler {
+
+    private final Vertx vertx;
+    private final String defaultClusterId;
+    private final TopicMetadataCache topicMetadataCache;
+    private final AdminClientPool adminClientPool;
+    private final int describeBatchSize;
+    private final int describeConcurrency;
+    private final long timeoutMs;
+
+    public ClusterHandler(final Vertx vertx, final String defaultClusterId, final TopicMetadataCache topicMetadataCache,
+                          final AdminClientPool adminClientPool, final int describeBatchSize, final int describeConcurrency,
+                          final long timeoutMs) {
+        this.vertx = vertx;
+        this.defaultClusterId = defaultClusterId;
+        this.topicMetadataCache = topicMetadataCache;
+        this.adminClientPool = adminClientPool;
+        this.describeBatchSize = Math.max(1, describeBatchSize);
+        this.describeConcurrency = Math.max(1, describeConcurrency);
+        this.timeoutMs = timeoutMs;
+    }
+
+    public Cluster getCluster(final DataFetchingEnvironment env) {
+        final String clusterId = env.getArgument("id");
+        return defaultClusterId.equals(clusterId) || adminClientPool.clusterIds().contains(clusterId)
+            ? Cluster.create(clusterId)
+            : null;
+    }
+
+    /**
+     * Retrieves all the clusters, the default cluster first and then the additional clusters
+     * ordered by ID
+     */
+    public List<Cluster> getClusters(final DataFetchingEnvironment env) {
+        final List<Cluster> clusters = new ArrayList<>();
+        clusters.add(Cluster.create(defaultClusterId));
+        adminClientPool.clusterIds().forEach(clusterId -> clusters.add(Cluster.create(clusterId)));
+        return clusters;
+    }
+
+    /**
+     * Retrieves the topics of a cluster whose name matches the filter, ordered by name
+     */
+    public void getTopicList(final DataFetchingEnvironment env, final Promise<List<Topic>> promise) {
+        final Cluster cluster = env.getSource();
+        final TopicNameFilter filter;
+        try {
+            filter = TopicListHandler.byTopicName(env.getArgument("filter"), env.getArgument("filterType"));
+        } catch (PatternSyntaxException exc) {
+            promise.fail(exc);
+            return;
+        }
+
+        if (defaultClusterId.equals(cluster.getId())) {
+            final TopicSnapshot snapshot = topicMetadataCache.snapshot();
+            promise.complete(topicMetadataCache.topicNameIndex()
+                .search(filter)
+                .map(snapshot::getTopic)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+            return;
+        }
+
+        final boolean describe = env.getSelectionSet().contains("partitionCount")
+            || env.getSelectionSet().contains("replicationFactor");
+        final Context context = vertx.getOrCreateContext();
+        final long deadline = System.currentTimeMillis() + timeoutMs;
+
+        final Future<List<Topic>> topics = adminClientPool.admin(cluster.getId())
+            .compose(admin -> KafkaFutures.toFuture(context, admin.listTopics(new ListTopicsOptions().listInternal(true)).listings())
+                .compose(listings -> {
+                    final List<TopicListing> matching = listings.stream()
+                        .filter(listing -> filter == null || filter.matches(listing.name()))
+                        .sorted(Comparator.comparing(TopicListing::name))
+                        .collect(Collectors.toList());
+                    return describe
+                        ? describe(context, admin, matching.stream().map(TopicListing::name).collect(Collectors.toList()), deadline)
+                        : Future.succeededFuture(matching.stream()
+                            .map(listing -> Topic.create(listing.name(), listing.isInternal(), 0, 0))
+                            .collect(Collectors.toList()));
+                }));
+
+        withTimeout(cluster.getId(), topics).onComplete(promise);
+    }
+
+    /**
+     * Retrieves the brokers of the default cluster ordered by ID, null for the other clusters
+     */
+    public List<Broker> getBrokers(final DataFetchingEnvironment env) {
+        final ClusterSummary summary = clusterSummary(env.getSource());
+        return summary == null ? null : summary.getBrokers();
+    }
+
+    /**
+     * Retrieves the totals of the default cluster, null for the other clusters
+     */
+    public ClusterTotals getTotals(final DataFetchingEnvironment env) {
+        final ClusterSummary summary = clusterSummary(env.getSource());
+        return summary == null ? null : summary.getTotals();
+    }
+
+    private ClusterSummary clusterSummary(final Cluster cluster) {
+        return defaultClusterId.equals(cluster.getId()) ? topicMetadataCache.snapshot().getClusterSummary() : null;
+    }
+
+    private Future<List<Topic>> describe(final Context context, final Admin admin, final List<String> names, final long deadline) {
+        final List<List<String>> batches = new ArrayList<>();
+        for (int from = 0; from < names.size(); from += describeBatchSize) {
+            batches.add(names.subList(from, Math.min(from + describeBatchSize, names.size())));
+        }
+
+        final DescribeWindow window = new DescribeWindow(context, admin, batches, deadline);
+        if (batches.isEmpty()) {
+            window.promise.complete(window.result);
+        }
+        for (int i = 0; i < Math.min(describeConcurrency, batches.size()); i++) {
+            window.sendNext();
+        }
+        return window.promise.future();
+    }
+
+    private <T> Future<T> withTimeout(final String clusterId, final Future<T> future) {
+        final Promise<T> promise = Promise.promise();
+        final long timerId = vertx.setTimer(timeoutMs, id -> promise.tryFail(
+            new TimeoutException("Cluster " + clusterId + " did not respond within " + timeoutMs + " ms")));
+
+        future.onComplete(ar -> {
+            vertx.cancelTimer(timerId);
+            if (ar.succeeded()) {
+                promise.tryComplete(ar.result());
+            } else {
+                promise.tryFail(ar.cause());
+            }
+        });
+
+        return promise.future();
+    }
+
+    /**
+     * Keeps a bounded number of describeTopics requests in flight, sending the next batch each time
+     * one completes. The descriptions are handed back to the context of the query, so the window is
+     * only accessed from that context. No batch is sent once the cluster timeout has elapsed, as the
+     * query has failed already.
+     */
+    private final class DescribeWindow {
+        private final Context context;
+        private final Admin admin;
+        private final List<List<String>> batches;
+        private final long deadline;
+        private final List<Topic> result = new ArrayList<>();
+        private final Promise<List<Topic>> promise = Promise.promise();
+        private int next;
+        private int completed;
+
+        private DescribeWindow(final Context context, final Admin admin, final List<List<String>> batches, final long deadline) {
+            this.context = context;
+            this.admin = admin;
+            this.batches = batches;
+            this.deadline = deadline;
+        }
+
+        @SuppressWarnings("rawtypes")
+        private void sendNext() {
+            if (next >= batches.size() || promise.future().isComplete()) {
+                return;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                promise.fail(new TimeoutException("Describing the topics did not complete within " + timeoutMs + " ms"));
+                return;
+            }
+
+            final List<Future> descriptions = new ArrayList<>();
+            // a topic deleted since it was listed fails on its own and is left out of the result
+            admin.describeTopics(batches.get(next++)).values().values()
+                .forEach(description -> descriptions.add(KafkaFutures.toFuture(context, description)
+                    .map(TopicMetadataCache::toTopic)
+                    .recover(throwable -> throwable instanceof UnknownTopicOrPartitionException
+                        ? Future.succeededFuture()
+                        : Future.failedFuture(throwable))));
+
+            CompositeFuture.all(descriptions).onComplete(ar -> {
+                if (ar.failed()) {
+                    promise.tryFail(ar.cause());
+                    return;
+                }
+                ar.result().<Topic>list().stream().filter(Objects::nonNull).forEach(result::add);
+                if (++completed == batches.size()) {
+                    result.sort(Comparator.comparing(Topic::getName));
+                    promise.tryComplete(result);
+                } else {
+                    sendNext();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package io.strimzi.admin.kafka.admin.handlers;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.strimzi.admin.kafka.admin.KafkaFutures;
+import io.strimzi.admin.kafka.admin.metadata.EndOffsetCache;
+import io.strimzi.admin.kafka.admin.model.ConsumerGroup;
+import io.strimzi.admin.kafka.admin.model.ConsumerGroupPartition;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.ConsumerGroupState;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.GroupIdNotFoundException;
+import org.dataloader.BatchLoaderEnvironment;
+import org.dataloader.DataLoader;
+
+public class ConsumerGroupHandler {
+
+    public static final String CONSUMER_GROUP_LOADER = "consumerGroup";
+
+    private static final Comparator<ConsumerGroupPartition> PARTITION_ORDER =
+        Comparator.comparing(ConsumerGroupPartition::getTopic).thenComparingInt(ConsumerGroupPartition::getPartition);
+
+    private final Vertx vertx;
+    private final Admin admin;
+    private final EndOffsetCache endOffsetCache;
+    private final int offsetsBatchSize;
+
+    public ConsumerGroupHandler(final Vertx vertx, final Admin admin, final EndOffsetCache endOffsetCache, final int offsetsBatchSize) {
+        this.vertx = vertx;
+        this.admin = admin;
+        this.endOffsetCache = endOffsetCache;
+        this.offsetsBatchSize = Math.max(1, offsetsBatchSize);
+    }
+
+    /**
+     * Resolves a consumer group through the {@link #CONSUMER_GROUP_LOADER} data loader, so all the
+     * groups requested by a single GraphQL request are loaded together.
+     */
+    public CompletableFuture<ConsumerGroup> getConsumerGroup(final DataFetchingEnvironment env) {
+        final String groupId = env.getArgument("groupId");
+        if (groupId == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final DataLoader<String, ConsumerGroup> consumerGroupLoader = env.getDataLoader(CONSUMER_GROUP_LOADER);
+        return consumerGroupLoader.load(groupId);
+    }
+
+    /**
+     * Retrieves the consumer groups whose ID contains the filter, ordered by ID, with the lag of
+     * each of their partitions.
+     */
+    public void getConsumerGroups(final DataFetchingEnvironment env, final Promise<List<ConsumerGroup>> promise) {
+        final String filter = env.getArgument("filter");
+
+        KafkaFutures.toFuture(vertx.getOrCreateContext(), admin.listConsumerGroups().all())
+            .compose(listings -> loadGroups(listings.stream()
+                .map(ConsumerGroupListing::groupId)
+                .filter(groupId -> filter == null || groupId.contains(filter))
+                .collect(Collectors.toList())))
+            .map(groups -> groups.values().stream()
+                .sorted(Comparator.comparing(ConsumerGroup::getGroupId))
+                .collect(Collectors.toList()))
+            .onComplete(promise);
+    }
+
+    /**
+     * Batch loads consumer groups by ID. The groups are described with a single request, their
+     * committed offsets are fetched concurrently, in batches of groups, and the end offsets of
+     * all the partitions of all the groups are looked up at once in the {@link EndOffsetCache}.
+     */
+    public void loadConsumerGroups(final Set<String> groupIds, final BatchLoaderEnvironment env,
+                                   final Promise<Map<String, ConsumerGroup>> promise) {
+        loadGroups(new ArrayList<>(groupIds)).onComplete(promise);
+    }
+
+    private Future<Map<String, ConsumerGroup>> loadGroups(final List<String> groupIds) {
+        if (groupIds.isEmpty()) {
+            return Future.succeededFuture(Collections.emptyMap());
+        }
+        final Context context = vertx.getOrCreateContext();
+
+        final Future<Map<String, ConsumerGroupDescription>> descriptions = describe(context, groupIds);
+        final Future<Map<String, Map<TopicPartition, OffsetAndMetadata>>> committedOffsets = committedOffsets(context, groupIds);
+
+        return CompositeFuture.all(descriptions, committedOffsets).compose(cf -> {
+            final Set<TopicPartition> partitions = new HashSet<>();
+            committedOffsets.result().values().forEach(offsets -> partitions.addAll(offsets.keySet()));
+
+            return endOffsetCache.endOffsets(partitions)
+                .map(endOffsets -> toConsumerGroups(descriptions.result(), committedOffsets.result(), endOffsets));
+        });
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Future<Map<String, ConsumerGroupDescription>> describe(final Context context, final Collection<String> groupIds) {
+        final Map<String, Future<ConsumerGroupDescription>> descriptions = new HashMap<>(groupIds.size());
+
+        // a group deleted since it was listed fails on its own and is left out of the result
+        admin.describeConsumerGroups(groupIds).describedGroups().forEach((groupId, description) -> descriptions.put(groupId,
+            KafkaFutures.toFuture(context, description)
+                .recover(throwable -> throwable instanceof GroupIdNotFoundException
+                    ? Future.succeededFuture()
+                    : Future.failedFuture(throwable))));
+
+        return CompositeFuture.all(new ArrayList<Future>(descriptions.values())).map(cf -> {
+            final Map<String, ConsumerGroupDescription> result = new HashMap<>(descriptions.size());
+            descriptions.forEach((groupId, description) -> {
+                if (description.result() != null) {
+                    result.put(groupId, description.result());
+                }
+            });
+            return result;
+        });
+    }
+
+    private Future<Map<String, Map<TopicPartition, OffsetAndMetadata>>> committedOffsets(final Context context, final List<String> groupIds) {
+        Future<Map<String, Map<TopicPartition, OffsetAndMetadata>>> result = Future.succeededFuture(new HashMap<>(groupIds.size()));
+
+        // the offsets of a group are fetched from its coordinator with a request of their own,
+        // the batches bound the number of requests in flight
+        for (int from = 0; from < groupIds.size(); from += offsetsBatchSize) {
+            final List<String> batch = groupIds.subList(from, Math.min(from + offsetsBatchSize, groupIds.size()));
+            result = result.compose(fetched -> committedOffsetsBatch(context, batch).map(offsets -> {
+                fetched.putAll(offsets);
+                return fetched;
+            }));
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Future<Map<String, Map<TopicPartition, OffsetAndMetadata>>> committedOffsetsBatch(final Context context, final List<String> groupIds) {
+        final List<Future> offsets = new ArrayList<>(groupIds.size());
+
+        groupIds.forEach(groupId -> offsets.add(
+            KafkaFutures.toFuture(context, admin.listConsumerGroupOffsets(groupId).partitionsToOffsetAndMetadata())
+                .recover(throwable -> throwable instanceof GroupIdNotFoundException
+                    ? Future.succeededFuture(Collections.emptyMap())
+                    : Future.failedFuture(throwable))));
+
+        return CompositeFuture.all(offsets).map(cf -> {
+            final Map<String, Map<TopicPartition, OffsetAndMetadata>> result = new HashMap<>(groupIds.size());
+            for (int i = 0; i < groupIds.size(); i++) {
+                result.put(groupIds.get(i), cf.resultAt(i));
+            }
+            return result;
+        });
+    }
+
+    private static Map<String, ConsumerGroup> toConsumerGroups(final Map<String, ConsumerGroupDescription> descriptions,
+                                                               final Map<String, Map<TopicPartition, OffsetAndMetadata>> committedOffsets,
+                                                               final Map<TopicPartition, Long> endOffsets) {
+        final Map<String, ConsumerGroup> groups = new HashMap<>(descriptions.size());
+
+        descriptions.forEach((groupId, description) -> {
+            final Map<TopicPartition, OffsetAndMetadata> offsets = committedOffsets.getOrDefault(groupId, Collections.emptyMap());
+            // describing an unknown group succeeds with the dead state
+            if (description.state() == ConsumerGroupState.DEAD && offsets.isEmpty()) {
+                return;
+            }
+
+            final List<ConsumerGroupPartition> partitions = offsets.entrySet().stream()
+                .map(entry -> ConsumerGroupPartition.create(
+                    entry.getKey().topic(),
+                    entry.getKey().partition(),
+                    entry.getValue() == null ? null : entry.getValue().offset(),
+                    endOffsets.get(entry.getKey())))
+                .sorted(PARTITION_ORDER)
+                .collect(Collectors.toList());
+
+            groups.put(groupId, ConsumerGroup.create(groupId, description.state().name(), partitions));
+        });
+
+        return groups;
+    }
+}
@@ -0,0 +1,27 @@
+package io.strimzi.admin.kafka.admin.handlers;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.strimzi.admin.kafka.admin.metadata.TopicChangePublisher;
+import io.strimzi.admin.kafka.admin.model.TopicChangeEvent;
+import io.vertx.ext.web.handler.graphql.ApolloWSMessage;
+import org.reactivestreams.Publisher;
+
+public class TopicChangeHandler {
+
+    private final TopicChangePublisher topicChangePublisher;
+
+    public TopicChangeHandler(final TopicChangePublisher topicChangePublisher) {
+        this.topicChangePublisher = topicChangePublisher;
+    }
+
+    /**
+     * Subscribes to the topic changes. When the subscription is served over a WebSocket, the
+     * events are only delivered while the WebSocket keeps up with writing them.
+     */
+    public Publisher<TopicChangeEvent> getTopicChanges(final DataFetchingEnvironment env) {
+        final Object context = env.getContext();
+        return topicChangePublisher.publisher(context instanceof ApolloWSMessage
+            ? ((ApolloWSMessage) context).serverWebSocket()
+            : null);
+    }
+}
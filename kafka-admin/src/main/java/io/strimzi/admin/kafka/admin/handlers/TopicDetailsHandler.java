@@ -0,0 +1,144 @@
+package io.strimzi.admin.kafka.admin.handlers;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.strimzi.admin.kafka.admin.KafkaFutures;
+import io.strimzi.admin.kafka.admin.metadata.TopicConfigCache;
+import io.strimzi.admin.kafka.admin.model.Partition;
+import io.strimzi.admin.kafka.admin.model.Topic;
+import io.strimzi.admin.kafka.admin.model.TopicConfigEntry;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.dataloader.BatchLoaderEnvironment;
+import org.dataloader.DataLoader;
+
+/**
+ * Resolves the fields of a topic which are not part of the topic metadata cache, as they are
+ * expensive to fetch or change too often to be cached.
+ * <p>
+ * Each field has its own data fetcher, so the Admin requests are only made when the field is
+ * part of the selection set of the query, and its own data loader, so the field is fetched for
+ * all the topics of a request with a single Admin request.
+ */
+public class TopicDetailsHandler {
+
+    public static final String PARTITIONS_LOADER = "topicPartitions";
+    public static final String CONFIGS_LOADER = "topicConfigs";
+    public static final String SIZE_LOADER = "topicSize";
+
+    private final Vertx vertx;
+    private final Admin admin;
+    private final TopicConfigCache topicConfigCache;
+
+    public TopicDetailsHandler(final Vertx vertx, final Admin admin, final TopicConfigCache topicConfigCache) {
+        this.vertx = vertx;
+        this.admin = admin;
+        this.topicConfigCache = topicConfigCache;
+    }
+
+    public CompletableFuture<List<Partition>> getPartitions(final DataFetchingEnvironment env) {
+        return load(env, PARTITIONS_LOADER);
+    }
+
+    public CompletableFuture<List<TopicConfigEntry>> getConfigs(final DataFetchingEnvironment env) {
+        return load(env, CONFIGS_LOADER);
+    }
+
+    public CompletableFuture<Long> getSize(final DataFetchingEnvironment env) {
+        return load(env, SIZE_LOADER);
+    }
+
+    private static <V> CompletableFuture<V> load(final DataFetchingEnvironment env, final String loaderName) {
+        final Topic topic = env.getSource();
+        final DataLoader<String, V> loader = env.getDataLoader(loaderName);
+        return loader.load(topic.getName());
+    }
+
+    /**
+     * Batch loads the partitions of topics, with their current leader and in-sync replicas, with a
+     * single describeTopics request.
+     */
+    @SuppressWarnings("rawtypes")
+    public void loadPartitions(final Set<String> topicNames, final BatchLoaderEnvironment env,
+                               final Promise<Map<String, List<Partition>>> promise) {
+        final Context context = vertx.getOrCreateContext();
+        final Map<String, Future<TopicDescription>> descriptions = new HashMap<>(topicNames.size());
+
+        // a topic deleted since it was listed fails on its own and is left out of the result
+        admin.describeTopics(topicNames).values().forEach((name, description) -> descriptions.put(name,
+            KafkaFutures.toFuture(context, description)
+                .recover(throwable -> throwable instanceof UnknownTopicOrPartitionException
+                    ? Future.succeededFuture()
+                    : Future.failedFuture(throwable))));
+
+        CompositeFuture.all(new ArrayList<Future>(descriptions.values()))
+            .map(cf -> {
+                final Map<String, List<Partition>> partitions = new HashMap<>(descriptions.size());
+                descriptions.forEach((name, description) -> {
+                    if (description.result() != null) {
+                        partitions.put(name, description.result().partitions().stream()
+                            .map(info -> Partition.create(
+                                info.partition(),
+                                info.leader() == null ? null : info.leader().id(),
+                                brokerIds(info.replicas()),
+                                brokerIds(info.isr())))
+                            .collect(Collectors.toList()));
+                    }
+                });
+                return partitions;
+            })
+            .onComplete(promise);
+    }
+
+    /**
+     * Batch loads the configuration of topics through the {@link TopicConfigCache}, which
+     * describes the topics missing from the cache with batched describeConfigs requests.
+     */
+    public void loadConfigs(final Set<String> topicNames, final BatchLoaderEnvironment env,
+                            final Promise<Map<String, List<TopicConfigEntry>>> promise) {
+        topicConfigCache.configs(topicNames).onComplete(promise);
+    }
+
+    /**
+     * Batch loads the size on disk of topics, summed over all their replicas, from the log
+     * directories of all the brokers. The brokers describe all the replicas they host, whatever
+     * the number of requested topics, so the log directories are described once per batch.
+     */
+    public void loadSizes(final Set<String> topicNames, final BatchLoaderEnvironment env,
+                          final Promise<Map<String, Long>> promise) {
+        final Context context = vertx.getOrCreateContext();
+
+        KafkaFutures.toFuture(context, admin.describeCluster().nodes())
+            .compose(nodes -> KafkaFutures.toFuture(context, admin.describeLogDirs(
+                nodes.stream().map(Node::id).collect(Collectors.toList())).all()))
+            .map(brokers -> {
+                final Map<String, Long> sizes = new HashMap<>(topicNames.size());
+                brokers.values().forEach(logDirs -> logDirs.values().forEach(logDir ->
+                    logDir.replicaInfos.forEach((partition, replica) -> {
+                        // a future replica is the copy of a replica being moved to another log directory
+                        if (!replica.isFuture && topicNames.contains(partition.topic())) {
+                            sizes.merge(partition.topic(), replica.size, Long::sum);
+                        }
+                    })));
+                return sizes;
+            })
+            .onComplete(promise);
+    }
+
+    private static List<Integer> brokerIds(final List<Node> nodes) {
+        return nodes.stream().map(Node::id).collect(Collectors.toList());
+    }
+}
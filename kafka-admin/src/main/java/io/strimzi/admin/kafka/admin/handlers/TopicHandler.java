@@ -1,12 +1,72 @@
 package io.strimzi.admin.kafka.admin.handlers;
 
 import graphql.schema.DataFetchingEnvironment;
+import io.strimzi.admin.kafka.admin.metadata.TopicMetadataCache;
+import io.strimzi.admin.kafka.admin.metadata.TopicSnapshot;
 import io.strimzi.admin.kafka.admin.model.Topic;
 import io.vertx.core.Promise;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.dataloader.BatchLoaderEnvironment;
+import org.dataloader.DataLoader;
 
 public class TopicHandler {
 
-    public static void getTopic(final DataFetchingEnvironment env, final Promise<Topic> promise) {
-        promise.complete(TopicListHandler.SAMPLE_TOPICS.get(env.getArgument("topicName")));
+    public static final String TOPIC_LOADER = "topic";
+
+    private final TopicMetadataCache topicMetadataCache;
+
+    public TopicHandler(final TopicMetadataCache topicMetadataCache) {
+        this.topicMetadataCache = topicMetadataCache;
+    }
+
+    /**
+     * Resolves a topic through the {@link #TOPIC_LOADER} data loader, so all the topics requested
+     * by a single GraphQL request are loaded together.
+     */
+    public CompletableFuture<Topic> getTopic(final DataFetchingEnvironment env) {
+        final String topicName = env.getArgument("topicName");
+        if (topicName == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final DataLoader<String, Topic> topicLoader = env.getDataLoader(TOPIC_LOADER);
+        return topicLoader.load(topicName);
+    }
+
+    /**
+     * Batch loads topics by name. Topics present in the metadata snapshot are served from it,
+     * the remaining ones, which may have been created since the last refresh, are described with
+     * a single Admin request.
+     */
+    public void loadTopics(final Set<String> topicNames, final BatchLoaderEnvironment env, final Promise<Map<String, Topic>> promise) {
+        final TopicSnapshot snapshot = topicMetadataCache.snapshot();
+        final Map<String, Topic> topics = new HashMap<>(topicNames.size());
+
+        topicNames.forEach(name -> {
+            final Topic topic = snapshot.getTopic(name);
+            if (topic != null) {
+                topics.put(name, topic);
+            }
+        });
+
+        final List<String> missing = topicNames.stream()
+            .filter(name -> !topics.containsKey(name))
+            .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            promise.complete(topics);
+            return;
+        }
+
+        topicMetadataCache.describeTopics(missing)
+            .onSuccess(described -> {
+                described.forEach(topic -> topics.put(topic.getName(), topic));
+                promise.complete(topics);
+            })
+            .onFailure(promise::fail);
     }
 }
@@ -1,42 +1,167 @@
 package io.strimzi.admin.kafka.admin.handlers;
 
 import graphql.schema.DataFetchingEnvironment;
+import io.strimzi.admin.kafka.admin.metadata.TopicConfigCache;
+import io.strimzi.admin.kafka.admin.metadata.TopicMetadataCache;
+import io.strimzi.admin.kafka.admin.metadata.TopicNameFilter;
+import io.strimzi.admin.kafka.admin.metadata.TopicSnapshot;
+import io.strimzi.admin.kafka.admin.model.PageInfo;
 import io.strimzi.admin.kafka.admin.model.Topic;
+import io.strimzi.admin.kafka.admin.model.TopicConnection;
+import io.strimzi.admin.kafka.admin.model.TopicEdge;
 import io.vertx.core.Promise;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Predicate;
+import java.util.Objects;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
 public class TopicListHandler {
 
-    public static final Map<String, Topic> SAMPLE_TOPICS = new HashMap<>();
-    static {
-        SAMPLE_TOPICS.put("topic1", Topic.create("topic1", false, 3, 3));
-        SAMPLE_TOPICS.put("topic2", Topic.create("topic2", false, 1, 1));
-        SAMPLE_TOPICS.put("topic2-a", Topic.create("topic2-a", false, 1, 1));
-        SAMPLE_TOPICS.put("topic2-b", Topic.create("topic2-b", false, 1, 1));
-        SAMPLE_TOPICS.put("topic2-c", Topic.create("topic2-c", false, 1, 1));
-        SAMPLE_TOPICS.put("topic3", Topic.create("topic3", false, 6, 1));
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_CONFIG_FILTERED_TOPICS = 1000;
+    public static final String TOPIC_LIST_SIZE_ESTIMATE = "topicList";
+    private static final String CURSOR_PREFIX = "topic:";
+
+    private final TopicMetadataCache topicMetadataCache;
+    private final TopicConfigCache topicConfigCache;
+
+    public TopicListHandler(final TopicMetadataCache topicMetadataCache, final TopicConfigCache topicConfigCache) {
+        this.topicMetadataCache = topicMetadataCache;
+        this.topicConfigCache = topicConfigCache;
+    }
+
+    /**
+     * Retrieves the topics whose name matches the filter, ordered by name. When a config key is
+     * given, only the topics whose configuration entry of that name has the given value are kept,
+     * or the topics overriding the default of the entry when no value is given. The configuration
+     * of all the candidate topics is looked up at once in the {@link TopicConfigCache}, so the name
+     * filter must narrow the candidates down to at most {@link #MAX_CONFIG_FILTERED_TOPICS} topics,
+     * the cost of the lookup growing with their number rather than with the selection of the query.
+     */
+    public void getTopicList(final DataFetchingEnvironment env, final Promise<List<Topic>> promise) {
+        final TopicNameFilter filter;
+        try {
+            filter = byTopicName(env.getArgument("filter"), env.getArgument("filterType"));
+        } catch (PatternSyntaxException exc) {
+            promise.fail(exc);
+            return;
+        }
+
+        final TopicSnapshot snapshot = topicMetadataCache.snapshot();
+        final List<Topic> topics = topicMetadataCache.topicNameIndex()
+            .search(filter)
+            .map(snapshot::getTopic)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+
+        final String configKey = env.getArgument("configKey");
+        if (configKey == null) {
+            promise.complete(topics);
+            return;
+        }
+
+        if (topics.size() > MAX_CONFIG_FILTERED_TOPICS) {
+            promise.fail(new IllegalArgumentException("The configKey filter applies to at most " + MAX_CONFIG_FILTERED_TOPICS
+                + " topics, " + topics.size() + " topics match the name filter, narrow it with the filter argument"));
+            return;
+        }
+
+        final String configValue = env.getArgument("configValue");
+        topicConfigCache.configs(topics.stream().map(Topic::getName).collect(Collectors.toList()))
+            .map(configs -> topics.stream()
+                .filter(topic -> configs.getOrDefault(topic.getName(), Collections.emptyList()).stream()
+                    .anyMatch(entry -> configKey.equals(entry.getName()) && (configValue == null
+                        ? !entry.isDefault()
+                        : configValue.equals(entry.getValue()))))
+                .collect(Collectors.toList()))
+            .onComplete(promise);
+    }
+
+    /**
+     * Retrieves a page of the topics, ordered by name. The cursors encode the name of the topic
+     * so they remain valid as topics are created and deleted. The total count is only computed
+     * when it is part of the selection set, as it requires evaluating the filter on every
+     * candidate topic.
+     */
+    public void getTopics(final DataFetchingEnvironment env, final Promise<TopicConnection> promise) {
+        final TopicNameFilter filter;
+        final String after;
+        try {
+            filter = byTopicName(env.getArgument("filter"), env.getArgument("filterType"));
+            after = decodeCursor(env.getArgument("after"));
+        } catch (IllegalArgumentException exc) {
+            promise.fail(exc);
+            return;
+        }
+        final Integer first = env.getArgument("first");
+        final int pageSize = Math.min(first == null ? DEFAULT_PAGE_SIZE : Math.max(0, first), MAX_PAGE_SIZE);
+
+        final TopicSnapshot snapshot = topicMetadataCache.snapshot();
+        final List<String> names = topicMetadataCache.topicNameIndex().search(filter, after, pageSize + 1);
+
+        final List<TopicEdge> edges = names.stream()
+            .limit(pageSize)
+            .map(snapshot::getTopic)
+            .filter(Objects::nonNull)
+            .map(topic -> TopicEdge.create(encodeCursor(topic.getName()), topic))
+            .collect(Collectors.toList());
+
+        final PageInfo pageInfo = PageInfo.create(
+            names.size() > pageSize,
+            after != null,
+            edges.isEmpty() ? null : edges.get(0).getCursor(),
+            edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor());
+
+        final Long totalCount = env.getSelectionSet().contains("totalCount")
+            ? topicMetadataCache.topicNameIndex().count(filter)
+            : null;
+
+        promise.complete(TopicConnection.create(totalCount, edges, pageInfo));
     }
 
-    public static void getTopicList(final DataFetchingEnvironment env, final Promise<List<Topic>> promise) {
-        promise.complete(
-            SAMPLE_TOPICS
-                .values()
-                .stream()
-                .filter(byTopicName(env.getArgument("filter")))
-                .collect(Collectors.toList()));
+    static String encodeCursor(final String topicName) {
+        return Base64.getUrlEncoder().encodeToString((CURSOR_PREFIX + topicName).getBytes(StandardCharsets.UTF_8));
     }
 
-    private static Predicate<Topic> byTopicName(String filterParameter) {
-        return topic -> {
-            if (filterParameter == null) {
-                return true;
-            } else {
-                return topic.getName().contains(filterParameter);
-            }
-        };
+    static String decodeCursor(final String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!decoded.startsWith(CURSOR_PREFIX)) {
+            throw new IllegalArgumentException("Invalid cursor " + cursor);
+        }
+        return decoded.substring(CURSOR_PREFIX.length());
+    }
+
+    /**
+     * Estimates the number of topics returned by topicList, from the current topics matching its
+     * name filter, so the cost of the queries listing all the topics grows with the cluster. An
+     * invalid filter, which fails the query when it executes, counts as all the topics.
+     */
+    public long estimateTopicListSize(final Map<String, Object> arguments) {
+        TopicNameFilter filter;
+        try {
+            filter = byTopicName((String) arguments.get("filter"), (String) arguments.get("filterType"));
+        } catch (IllegalArgumentException exc) {
+            filter = null;
+        }
+        return topicMetadataCache.topicNameIndex().count(filter);
+    }
+
+    static TopicNameFilter byTopicName(final String filterParameter, final String filterTypeParameter) {
+        if (filterParameter == null) {
+            return null;
+        }
+        final TopicNameFilter.Type filterType = filterTypeParameter == null
+            ? TopicNameFilter.Type.CONTAINS
+            : TopicNameFilter.Type.valueOf(filterTypeParameter);
+
+        return TopicNameFilter.create(filterType, filterParameter);
     }
 }
@@ -0,0 +1,259 @@
+package io.strimzi.admin.kafka.admin.handlers;
+
+import graphql.schema.DataFetchingEnvironment;
+import io.strimzi.admin.kafka.admin.KafkaFutures;
+import io.strimzi.admin.kafka.admin.metadata.TopicConfigCache;
+import io.strimzi.admin.kafka.admin.metadata.TopicMetadataCache;
+import io.strimzi.admin.kafka.admin.metadata.TopicSnapshot;
+import io.strimzi.admin.kafka.admin.model.TopicMutationResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AlterConfigOp;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Implements the topic mutations. Each mutation takes a list of topics which is split into
+ * batches, each batch is sent as a single Admin request and a bounded number of batches are in
+ * flight at any time. The outcome is reported for each topic, a topic which fails does not fail
+ * the others.
+ * <p>
+ * The topics created or deleted are applied to the {@link TopicMetadataCache}, and the cached
+ * configuration of all the mutated topics is discarded from the {@link TopicConfigCache}, before
+ * the result is returned, so the following queries see the changes without waiting for the next
+ * refresh.
+ */
+public class TopicMutationHandler {
+    private static final Logger LOGGER = LogManager.getLogger(TopicMutationHandler.class);
+
+    private final Vertx vertx;
+    private final Admin admin;
+    private final TopicMetadataCache topicMetadataCache;
+    private final TopicConfigCache topicConfigCache;
+    private final int batchSize;
+    private final int concurrency;
+
+    public TopicMutationHandler(final Vertx vertx, final Admin admin, final TopicMetadataCache topicMetadataCache,
+                                final TopicConfigCache topicConfigCache, final int batchSize, final int concurrency) {
+        this.vertx = vertx;
+        this.admin = admin;
+        this.topicMetadataCache = topicMetadataCache;
+        this.topicConfigCache = topicConfigCache;
+        this.batchSize = Math.max(1, batchSize);
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * Creates topics, the partitions, replication factor and configuration not given default to
+     * the broker configuration.
+     */
+    public void createTopics(final DataFetchingEnvironment env, final Promise<List<TopicMutationResult>> promise) {
+        final List<Map<String, Object>> topics = env.getArgument("topics");
+        final Context context = vertx.getOrCreateContext();
+
+        final Map<String, NewTopic> newTopics = new LinkedHashMap<>(topics.size());
+        topics.forEach(topic -> {
+            final String name = (String) topic.get("name");
+            final Integer partitions = (Integer) topic.get("partitions");
+            final Integer replicationFactor = (Integer) topic.get("replicationFactor");
+            final Map<String, String> configs = new HashMap<>();
+            configEntries(topic).forEach(entry -> configs.put(entry.name(), entry.value()));
+
+            newTopics.putIfAbsent(name, new NewTopic(name,
+                Optional.ofNullable(partitions),
+                Optional.ofNullable(replicationFactor).map(Integer::shortValue))
+                .configs(configs));
+        });
+
+        run(context, new ArrayList<>(newTopics.values()),
+            batch -> admin.createTopics(batch).values(),
+            NewTopic::name)
+            .compose(results -> refreshCache(results, topicMetadataCache::refreshTopics))
+            .map(results -> inInputOrder(topics.stream().map(topic -> (String) topic.get("name")), results))
+            .onComplete(promise);
+    }
+
+    /**
+     * Deletes topics by name
+     */
+    public void deleteTopics(final DataFetchingEnvironment env, final Promise<List<TopicMutationResult>> promise) {
+        final List<String> topicNames = env.getArgument("topicNames");
+        final Context context = vertx.getOrCreateContext();
+
+        run(context, topicNames.stream().distinct().collect(Collectors.toList()),
+            batch -> admin.deleteTopics(batch).values(),
+            name -> name)
+            .compose(results -> refreshCache(results, topicMetadataCache::removeTopics))
+            .map(results -> inInputOrder(topicNames.stream(), results))
+            .onComplete(promise);
+    }
+
+    /**
+     * Alters the configuration of topics incrementally. The entries with a value are set, the
+     * entries without a value are reset to their default.
+     */
+    public void alterTopicConfigs(final DataFetchingEnvironment env, final Promise<List<TopicMutationResult>> promise) {
+        final List<Map<String, Object>> topics = env.getArgument("topics");
+        final Context context = vertx.getOrCreateContext();
+
+        final Map<ConfigResource, Collection<AlterConfigOp>> alterations = new LinkedHashMap<>(topics.size());
+        topics.forEach(topic -> alterations.putIfAbsent(
+            new ConfigResource(ConfigResource.Type.TOPIC, (String) topic.get("name")),
+            configEntries(topic).stream()
+                .map(entry -> new AlterConfigOp(entry, entry.value() == null ? AlterConfigOp.OpType.DELETE : AlterConfigOp.OpType.SET))
+                .collect(Collectors.toList())));
+
+        run(context, new ArrayList<>(alterations.keySet()),
+            batch -> {
+                final Map<ConfigResource, Collection<AlterConfigOp>> configs = new HashMap<>(batch.size());
+                batch.forEach(resource -> configs.put(resource, alterations.get(resource)));
+                final Map<String, KafkaFuture<Void>> futures = new HashMap<>(batch.size());
+                admin.incrementalAlterConfigs(configs).values().forEach((resource, future) -> futures.put(resource.name(), future));
+                return futures;
+            },
+            ConfigResource::name)
+            .map(results -> inInputOrder(topics.stream().map(topic -> (String) topic.get("name")), results))
+            .onComplete(promise);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ConfigEntry> configEntries(final Map<String, Object> topic) {
+        final List<Map<String, Object>> configs = (List<Map<String, Object>>) topic.get("configs");
+        if (configs == null) {
+            return Collections.emptyList();
+        }
+        return configs.stream()
+            .map(config -> new ConfigEntry((String) config.get("name"), (String) config.get("value")))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Sends the items in batches, with at most {@link #concurrency} batches in flight, and maps the
+     * outcome of each item to a result keyed by topic name.
+     */
+    private <T> Future<Map<String, TopicMutationResult>> run(final Context context, final List<T> items,
+                                                             final Function<List<T>, Map<String, KafkaFuture<Void>>> request,
+                                                             final Function<T, String> topicName) {
+        final List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += batchSize) {
+            batches.add(items.subList(from, Math.min(from + batchSize, items.size())));
+        }
+
+        final BatchWindow<T> window = new BatchWindow<>(context, batches, request, topicName);
+        for (int i = 0; i < Math.min(concurrency, batches.size()); i++) {
+            window.sendNext();
+        }
+        if (batches.isEmpty()) {
+            window.promise.complete(Collections.emptyMap());
+        }
+        return window.promise.future().onSuccess(results -> topicConfigCache.invalidate(results.keySet()));
+    }
+
+    /**
+     * Applies the topics which were mutated successfully to the cache. A failure to refresh the
+     * cache does not fail the mutation, the topics are picked up by the next refresh.
+     */
+    private Future<Map<String, TopicMutationResult>> refreshCache(final Map<String, TopicMutationResult> results,
+                                                                  final Function<Collection<String>, Future<TopicSnapshot>> refresh) {
+        final List<String> succeeded = results.values().stream()
+            .filter(TopicMutationResult::isSuccess)
+            .map(TopicMutationResult::getName)
+            .collect(Collectors.toList());
+        if (succeeded.isEmpty()) {
+            return Future.succeededFuture(results);
+        }
+
+        return refresh.apply(succeeded)
+            .recover(throwable -> {
+                LOGGER.warn("Failed to refresh the topic metadata of {} mutated topics - {}", succeeded.size(), throwable.getMessage());
+                return Future.succeededFuture();
+            })
+            .map(snapshot -> results);
+    }
+
+    private static List<TopicMutationResult> inInputOrder(final Stream<String> names,
+                                                          final Map<String, TopicMutationResult> results) {
+        return names.map(results::get).collect(Collectors.toList());
+    }
+
+    private static String errorMessage(final Throwable throwable) {
+        return throwable.getMessage() != null ? throwable.getMessage() : throwable.getClass().getSimpleName();
+    }
+
+    /**
+     * Keeps a bounded number of batches in flight, sending the next batch each time one completes.
+     * All the callbacks run on the same context, so the window needs no synchronization.
+     */
+    private static final class BatchWindow<T> {
+        private final Context context;
+        private final List<List<T>> batches;
+        private final Function<List<T>, Map<String, KafkaFuture<Void>>> request;
+        private final Function<T, String> topicName;
+        private final Map<String, TopicMutationResult> results = new HashMap<>();
+        private final Promise<Map<String, TopicMutationResult>> promise = Promise.promise();
+        private int next = 0;
+        private int completed = 0;
+
+        private BatchWindow(final Context context, final List<List<T>> batches,
+                            final Function<List<T>, Map<String, KafkaFuture<Void>>> request,
+                            final Function<T, String> topicName) {
+            this.context = context;
+            this.batches = batches;
+            this.request = request;
+            this.topicName = topicName;
+        }
+
+        @SuppressWarnings("rawtypes")
+        private void sendNext() {
+            // a batch rejected by the Admin client completes immediately and may already have
+            // sent the remaining batches
+            if (next >= batches.size()) {
+                return;
+            }
+            final List<T> batch = batches.get(next++);
+            final List<Future> outcomes = new ArrayList<>(batch.size());
+
+            Map<String, KafkaFuture<Void>> futures;
+            try {
+                futures = request.apply(batch);
+            } catch (RuntimeException exc) {
+                // the Admin client validates some of the input before sending the request
+                futures = Collections.emptyMap();
+                batch.forEach(item -> results.put(topicName.apply(item), TopicMutationResult.failed(topicName.apply(item), errorMessage(exc))));
+            }
+
+            futures.forEach((name, future) -> outcomes.add(KafkaFutures.toFuture(context, future)
+                .map(v -> TopicMutationResult.succeeded(name))
+                .otherwise(throwable -> TopicMutationResult.failed(name, errorMessage(throwable)))
+                .onSuccess(result -> results.put(name, result))));
+
+            CompositeFuture.join(outcomes).onComplete(ar -> {
+                completed++;
+                if (completed == batches.size()) {
+                    promise.complete(results);
+                } else if (next < batches.size()) {
+                    sendNext();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.strimzi.admin.kafka.admin.metadata;
+
+import io.strimzi.admin.kafka.admin.model.Broker;
+import io.strimzi.admin.kafka.admin.model.ClusterTotals;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+
+/**
+ * Maintains the number of partitions led and replicated by each broker incrementally, as the topics
+ * of the {@link TopicMetadataCache} are described and removed, so the {@link ClusterSummary} is
+ * computed from the per broker counters rather than from all the partitions of the cluster.
+ * <p>
+ * The contribution of each topic to the counters is kept as a compact array of primitives. When a
+ * topic is described again or removed, its previous contribution is subtracted from the counters
+ * before the new one is added. Not thread safe, it is only used on the context of the cache.
+ */
+class BrokerAggregates {
+    // layout of a topic contribution, followed by a (broker ID, leaders, replicas) triple per broker
+    private static final int PARTITIONS = 0;
+    private static final int REPLICAS = 1;
+    private static final int OFFLINE = 2;
+    private static final int UNDER_REPLICATED = 3;
+    private static final int HEADER_SIZE = 4;
+    private static final int BROKER_SIZE = 3;
+    // layout of the counters of a broker
+    private static final int LEADERS = 0;
+    private static final int BROKER_REPLICAS = 1;
+
+    private final Map<String, int[]> contributions = new HashMap<>();
+    private final Map<Integer, int[]> brokers = new HashMap<>();
+    private final long[] totals = new long[HEADER_SIZE];
+
+    private ClusterSummary summary = ClusterSummary.EMPTY;
+    private boolean changed = false;
+
+    /**
+     * Applies the topics described and removed by a refresh to the counters
+     * @param described the topics described, which replace their previous contribution
+     * @param removed the names of the topics removed
+     */
+    void apply(final Collection<TopicDescription> described, final Collection<String> removed) {
+        for (final String name : removed) {
+            final int[] previous = contributions.remove(name);
+            if (previous != null) {
+                add(previous, -1);
+            }
+        }
+        for (final TopicDescription description : described) {
+            final int[] contribution = contribution(description);
+            final int[] previous = contributions.put(description.name(), contribution);
+            if (previous != null && Arrays.equals(previous, contribution)) {
+                continue;
+            }
+            if (previous != null) {
+                add(previous, -1);
+            }
+            add(contribution, 1);
+        }
+    }
+
+    /**
+     * Retrieve the summary of the counters. The summary is only computed again when the counters
+     * changed since the previous call, so the same instance is returned while they do not change.
+     * @return the summary of the counters
+     */
+    ClusterSummary summary() {
+        if (!changed) {
+            return summary;
+        }
+        changed = false;
+
+        final long leaders = brokers.values().stream().mapToLong(counters -> counters[LEADERS]).sum();
+        final double averageLeaders = brokers.isEmpty() ? 0.0 : (double) leaders / brokers.size();
+        final List<Broker> brokerList = new ArrayList<>(brokers.size());
+        new TreeMap<>(brokers).forEach((id, counters) -> brokerList.add(Broker.create(
+            id,
+            counters[LEADERS],
+            counters[BROKER_REPLICAS],
+            averageLeaders == 0.0 ? 0.0 : (counters[LEADERS] - averageLeaders) / averageLeaders)));
+
+        summary = new ClusterSummary(Collections.unmodifiableList(brokerList), ClusterTotals.create(
+            contributions.size(), brokers.size(), totals[PARTITIONS], totals[REPLICAS], totals[OFFLINE], totals[UNDER_REPLICATED]));
+        return summary;
+    }
+
+    private void add(final int[] contribution, final int sign) {
+        changed = true;
+        for (int i = 0; i < HEADER_SIZE; i++) {
+            totals[i] += sign * contribution[i];
+        }
+        for (int i = HEADER_SIZE; i < contribution.length; i += BROKER_SIZE) {
+            final int[] counters = brokers.computeIfAbsent(contribution[i], id -> new int[2]);
+            counters[LEADERS] += sign * contribution[i + 1];
+            counters[BROKER_REPLICAS] += sign * contribution[i + 2];
+            if (counters[LEADERS] == 0 && counters[BROKER_REPLICAS] == 0) {
+                brokers.remove(contribution[i]);
+            }
+        }
+    }
+
+    private static int[] contribution(final TopicDescription description) {
+        final TreeMap<Integer, int[]> byBroker = new TreeMap<>();
+        int replicas = 0;
+        int offline = 0;
+        int underReplicated = 0;
+
+        for (final TopicPartitionInfo partition : description.partitions()) {
+            final Node leader = partition.leader();
+            if (leader == null || leader.isEmpty()) {
+                offline++;
+            } else {
+                byBroker.computeIfAbsent(leader.id(), id -> new int[2])[LEADERS]++;
+            }
+            for (final Node replica : partition.replicas()) {
+                byBroker.computeIfAbsent(replica.id(), id -> new int[2])[BROKER_REPLICAS]++;
+                replicas++;
+            }
+            if (partition.isr().size() < partition.replicas().size()) {
+                underReplicated++;
+            }
+        }
+
+        final int[] contribution = new int[HEADER_SIZE + BROKER_SIZE * byBroker.size()];
+        contribution[PARTITIONS] = description.partitions().size();
+        contribution[REPLICAS] = replicas;
+        contribution[OFFLINE] = offline;
+        contribution[UNDER_REPLICATED] = underReplicated;
+        int i = HEADER_SIZE;
+        for (final Map.Entry<Integer, int[]> broker : byBroker.entrySet()) {
+            contribution[i++] = broker.getKey();
+            contribution[i++] = broker.getValue()[LEADERS];
+            contribution[i++] = broker.getValue()[BROKER_REPLICAS];
+        }
+        return contribution;
+    }
+}
@@ -0,0 +1,39 @@
+package io.strimzi.admin.kafka.admin.metadata;
+
+import io.strimzi.admin.kafka.admin.model.Broker;
+import io.strimzi.admin.kafka.admin.model.ClusterTotals;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable summary of the partition assignments of a Kafka cluster, the number of partitions
+ * led and replicated by each broker and the totals of the cluster. It is part of the
+ * {@link TopicSnapshot} it was computed with, so it always matches the topics of the snapshot.
+ */
+public final class ClusterSummary {
+    static final ClusterSummary EMPTY = new ClusterSummary(Collections.emptyList(), ClusterTotals.create(0, 0, 0L, 0L, 0L, 0L));
+
+    private final List<Broker> brokers;
+    private final ClusterTotals totals;
+
+    ClusterSummary(final List<Broker> brokers, final ClusterTotals totals) {
+        this.brokers = brokers;
+        this.totals = totals;
+    }
+
+    /**
+     * Retrieve the brokers which hold at least one replica
+     * @return an unmodifiable list of the brokers ordered by ID
+     */
+    public List<Broker> getBrokers() {
+        return brokers;
+    }
+
+    /**
+     * Retrieve the totals of the cluster
+     * @return the totals
+     */
+    public ClusterTotals getTotals() {
+        return totals;
+    }
+}
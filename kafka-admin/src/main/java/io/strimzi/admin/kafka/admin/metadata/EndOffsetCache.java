@@ -0,0 +1,80 @@
+package io.strimzi.admin.kafka.admin.metadata;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.strimzi.admin.kafka.admin.KafkaFutures;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * A short lived cache of the end offsets of the topic partitions, shared by the requests which
+ * compute the lag of consumer groups.
+ * <p>
+ * The end offsets missing from the cache are listed with a single listOffsets request for all
+ * the partitions of a lookup, whatever the number of groups consuming them. A lookup needing
+ * partitions which are being listed by a concurrent lookup waits for that request rather than
+ * listing them again, so concurrent dashboard queries share the work. The offsets expire after
+ * a configured time, as they are constantly moving.
+ */
+public class EndOffsetCache {
+    private final Vertx vertx;
+    private final Admin admin;
+    private final AsyncCache<TopicPartition, Long> endOffsets;
+
+    public EndOffsetCache(final Vertx vertx, final Admin admin, final long ttlMs) {
+        this.vertx = vertx;
+        this.admin = admin;
+        this.endOffsets = Caffeine.newBuilder()
+            .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+            .buildAsync();
+    }
+
+    /**
+     * Retrieve the end offsets of a set of partitions
+     * @param partitions the partitions
+     * @return a future completed on the context of the caller with the end offsets of the
+     *         partitions which exist
+     */
+    public Future<Map<TopicPartition, Long>> endOffsets(final Collection<TopicPartition> partitions) {
+        return KafkaFutures.toFuture(vertx.getOrCreateContext(),
+            endOffsets.getAll(partitions, (missing, executor) -> listOffsets(missing)));
+    }
+
+    private CompletableFuture<Map<TopicPartition, Long>> listOffsets(final Iterable<? extends TopicPartition> partitions) {
+        final Map<TopicPartition, OffsetSpec> specs = new HashMap<>();
+        partitions.forEach(partition -> specs.put(partition, OffsetSpec.latest()));
+
+        final CompletableFuture<Map<TopicPartition, Long>> future = new CompletableFuture<>();
+        if (specs.isEmpty()) {
+            future.complete(new HashMap<>());
+            return future;
+        }
+
+        // a partition deleted since the offsets were committed fails on its own, it is left out
+        // of the result and so out of the cache
+        final ListOffsetsResult result = admin.listOffsets(specs);
+        final Map<TopicPartition, Long> offsets = new ConcurrentHashMap<>(specs.size());
+        final AtomicInteger remaining = new AtomicInteger(specs.size());
+        specs.keySet().forEach(partition -> result.partitionResult(partition).whenComplete((info, throwable) -> {
+            if (throwable == null) {
+                offsets.put(partition, info.offset());
+            }
+            if (remaining.decrementAndGet() == 0) {
+                future.complete(offsets);
+            }
+        }));
+
+        return future;
+    }
+}
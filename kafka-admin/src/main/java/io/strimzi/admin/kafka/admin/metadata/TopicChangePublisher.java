@@ -0,0 +1,177 @@
+package io.strimzi.admin.kafka.admin.metadata;
+
+import io.strimzi.admin.kafka.admin.model.TopicChangeEvent;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.streams.WriteStream;
+import java.util.ArrayDeque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Publishes the changes of a {@link TopicMetadataCache} to any number of subscribers, using a
+ * single listener on the cache.
+ * <p>
+ * Every subscriber first receives a snapshot of all the topics, then the changes applied by each
+ * refresh. The events are delivered as long as the subscriber requested them and, when the
+ * subscriber writes them to a {@link WriteStream} such as a WebSocket, as long as the write queue
+ * of the stream is not full. The stream belongs to the subscriber, its handlers are left alone and
+ * a full write queue is checked again periodically. The events which cannot be delivered are
+ * buffered, up to a fixed number per subscriber. When the buffer overflows, the buffered events
+ * are dropped and the subscriber receives a new snapshot once it catches up, so a slow subscriber
+ * never holds more than the buffer size in memory.
+ * <p>
+ * The state of the subscriptions is only accessed on the context of the cache. The subscriber is
+ * called, and its stream checked, on the context it subscribed from, one event at a time.
+ */
+public class TopicChangePublisher {
+    private static final Logger LOGGER = LogManager.getLogger(TopicChangePublisher.class);
+    private static final long WRITE_QUEUE_CHECK_INTERVAL_MS = 50L;
+
+    private final Vertx vertx;
+    private final TopicMetadataCache cache;
+    private final int bufferSize;
+    private final Set<TopicChangeSubscription> subscriptions = new LinkedHashSet<>();
+
+    public TopicChangePublisher(final Vertx vertx, final TopicMetadataCache cache, final int bufferSize) {
+        this.vertx = vertx;
+        this.cache = cache;
+        this.bufferSize = Math.max(1, bufferSize);
+        cache.addListener(this::publish);
+    }
+
+    /**
+     * Creates a publisher of the topic changes for a single subscriber
+     * @param stream the stream the subscriber writes the events to, or null if the events are only
+     *               limited by the requests of the subscriber
+     * @return a publisher of the topic changes
+     */
+    public Publisher<TopicChangeEvent> publisher(final WriteStream<?> stream) {
+        return subscriber -> {
+            final Context subscriberContext = vertx.getOrCreateContext();
+            final TopicChangeSubscription subscription = new TopicChangeSubscription(subscriber, subscriberContext, stream);
+            cache.runOnContext(v -> {
+                subscriptions.add(subscription);
+                LOGGER.debug("Topic change subscriber added, {} subscribers.", subscriptions.size());
+            });
+            subscriberContext.runOnContext(v -> subscriber.onSubscribe(subscription));
+        };
+    }
+
+    private void publish(final TopicChangeEvent event) {
+        subscriptions.forEach(subscription -> subscription.offer(event));
+    }
+
+    private final class TopicChangeSubscription implements Subscription {
+        private final Subscriber<? super TopicChangeEvent> subscriber;
+        private final Context subscriberContext;
+        private final WriteStream<?> stream;
+        private final ArrayDeque<TopicChangeEvent> pending = new ArrayDeque<>();
+        private long demand = 0L;
+        // the first event of a subscription is a snapshot
+        private boolean snapshotRequired = true;
+        private boolean cancelled = false;
+        // an event taken from the subscription is being delivered on the context of the subscriber
+        private boolean delivering = false;
+
+        private TopicChangeSubscription(final Subscriber<? super TopicChangeEvent> subscriber, final Context subscriberContext,
+                                        final WriteStream<?> stream) {
+            this.subscriber = subscriber;
+            this.subscriberContext = subscriberContext;
+            this.stream = stream;
+        }
+
+        @Override
+        public void request(final long n) {
+            cache.runOnContext(v -> {
+                if (cancelled) {
+                    return;
+                }
+                if (n <= 0) {
+                    cancel();
+                    subscriberContext.runOnContext(e ->
+                        subscriber.onError(new IllegalArgumentException("The number of requested events must be positive")));
+                    return;
+                }
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                deliver();
+            });
+        }
+
+        @Override
+        public void cancel() {
+            cache.runOnContext(v -> {
+                if (!cancelled) {
+                    cancelled = true;
+                    pending.clear();
+                    subscriptions.remove(this);
+                    LOGGER.debug("Topic change subscriber removed, {} subscribers.", subscriptions.size());
+                }
+            });
+        }
+
+        private void offer(final TopicChangeEvent event) {
+            if (!snapshotRequired) {
+                if (pending.size() >= bufferSize) {
+                    // the subscriber does not keep up, it catches up with a snapshot instead
+                    pending.clear();
+                    snapshotRequired = true;
+                } else {
+                    pending.add(event);
+                }
+            }
+            deliver();
+        }
+
+        /**
+         * Takes the next event of the subscription and hands it to the subscriber, once the previous
+         * event has been delivered. Called on the context of the cache.
+         */
+        private void deliver() {
+            if (cancelled || delivering || demand == 0 || !snapshotRequired && pending.isEmpty()) {
+                return;
+            }
+
+            final TopicChangeEvent event;
+            if (snapshotRequired) {
+                final TopicSnapshot snapshot = cache.snapshot();
+                event = TopicChangeEvent.snapshot(snapshot.getVersion(), snapshot.getTopics().values());
+                snapshotRequired = false;
+                pending.clear();
+            } else {
+                event = pending.poll();
+            }
+
+            demand--;
+            delivering = true;
+            subscriberContext.runOnContext(v -> write(event));
+        }
+
+        /**
+         * Delivers an event to the subscriber once the write queue of its stream has room. Called on
+         * the context of the subscriber.
+         */
+        private void write(final TopicChangeEvent event) {
+            if (stream != null && stream.writeQueueFull()) {
+                // the subscription is checked on the context of the cache, a cancelled subscription stops waiting
+                vertx.setTimer(WRITE_QUEUE_CHECK_INTERVAL_MS, t -> cache.runOnContext(v -> {
+                    if (!cancelled) {
+                        subscriberContext.runOnContext(w -> write(event));
+                    }
+                }));
+                return;
+            }
+
+            subscriber.onNext(event);
+            cache.runOnContext(v -> {
+                delivering = false;
+                deliver();
+            });
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package io.strimzi.admin.kafka.admin.metadata;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.strimzi.admin.kafka.admin.KafkaFutures;
+import io.strimzi.admin.kafka.admin.model.TopicConfigEntry;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.config.ConfigResource;
+
+/**
+ * A bounded cache of the configuration of the topics, shared by all the requests.
+ * <p>
+ * The configurations missing from the cache are described with describeConfigs requests of up to
+ * a configured number of topics, with a bounded number of requests in flight, so the configuration
+ * of thousands of topics is fetched in a few round trips without a single lookup flooding the
+ * brokers with requests. A lookup needing topics which are being described by a concurrent
+ * lookup waits for that request rather than describing them again. The configurations expire
+ * after a configured time, to pick up the changes made by other clients, and are invalidated as
+ * soon as the admin server alters them itself.
+ */
+public class TopicConfigCache {
+    private final Vertx vertx;
+    private final Admin admin;
+    private final int batchSize;
+    private final int concurrency;
+    private final AsyncCache<String, List<TopicConfigEntry>> configs;
+
+    public TopicConfigCache(final Vertx vertx, final Admin admin, final long ttlMs, final long maximumSize,
+                            final int batchSize, final int concurrency) {
+        this.vertx = vertx;
+        this.admin = admin;
+        this.batchSize = Math.max(1, batchSize);
+        this.concurrency = Math.max(1, concurrency);
+        this.configs = Caffeine.newBuilder()
+            .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+            .maximumSize(maximumSize)
+            .buildAsync();
+    }
+
+    /**
+     * Retrieve the configuration of a set of topics
+     * @param topicNames the names of the topics
+     * @return a future completed on the context of the caller with the configuration of the
+     *         topics which exist
+     */
+    public Future<Map<String, List<TopicConfigEntry>>> configs(final Collection<String> topicNames) {
+        return KafkaFutures.toFuture(vertx.getOrCreateContext(),
+            configs.getAll(topicNames, (missing, executor) -> describeConfigs(missing)));
+    }
+
+    /**
+     * Discards the cached configuration of a set of topics, such as the topics whose configuration
+     * was altered by a mutation
+     * @param topicNames the names of the topics
+     */
+    public void invalidate(final Collection<String> topicNames) {
+        configs.synchronous().invalidateAll(topicNames);
+    }
+
+    private CompletableFuture<Map<String, List<TopicConfigEntry>>> describeConfigs(final Iterable<? extends String> topicNames) {
+        final List<ConfigResource> resources = new ArrayList<>();
+        topicNames.forEach(name -> resources.add(new ConfigResource(ConfigResource.Type.TOPIC, name)));
+
+        final List<List<ConfigResource>> batches = new ArrayList<>();
+        for (int from = 0; from < resources.size(); from += batchSize) {
+            batches.add(resources.subList(from, Math.min(from + batchSize, resources.size())));
+        }
+
+        final DescribeWindow window = new DescribeWindow(batches);
+        if (batches.isEmpty()) {
+            window.future.complete(window.result);
+        }
+        for (int i = 0; i < Math.min(concurrency, batches.size()); i++) {
+            window.sendNext();
+        }
+        return window.future;
+    }
+
+    /**
+     * Keeps a bounded number of describeConfigs requests in flight, sending the next batch each time
+     * one completes. The requests complete on the threads of the Admin client, so the window is
+     * shared through atomic counters.
+     */
+    private final class DescribeWindow {
+        private final List<List<ConfigResource>> batches;
+        private final Map<String, List<TopicConfigEntry>> result = new ConcurrentHashMap<>();
+        private final CompletableFuture<Map<String, List<TopicConfigEntry>>> future = new CompletableFuture<>();
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+
+        private DescribeWindow(final List<List<ConfigResource>> batches) {
+            this.batches = batches;
+        }
+
+        private void sendNext() {
+            final int index = next.getAndIncrement();
+            if (index >= batches.size()) {
+                return;
+            }
+            final List<ConfigResource> batch = batches.get(index);
+
+            final Map<ConfigResource, KafkaFuture<Config>> values;
+            try {
+                values = admin.describeConfigs(batch).values();
+            } catch (RuntimeException exc) {
+                future.completeExceptionally(exc);
+                return;
+            }
+
+            // a topic deleted since it was listed fails on its own, it is left out of the result
+            // and so out of the cache
+            final AtomicInteger remaining = new AtomicInteger(batch.size());
+            batch.forEach(resource -> values.get(resource).whenComplete((config, throwable) -> {
+                if (throwable == null) {
+                    result.put(resource.name(), toConfigEntries(config));
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    batchCompleted();
+                }
+            }));
+        }
+
+        private void batchCompleted() {
+            if (completed.incrementAndGet() == batches.size()) {
+                future.complete(result);
+            } else {
+                sendNext();
+            }
+        }
+    }
+
+    static List<TopicConfigEntry> toConfigEntries(final Config config) {
+        return config.entries().stream()
+            .map(entry -> TopicConfigEntry.create(
+                entry.name(),
+                entry.value(),
+                entry.source().name(),
+                entry.isDefault(),
+                entry.isSensitive(),
+                entry.isReadOnly()))
+            .collect(Collectors.toList());
+    }
+}
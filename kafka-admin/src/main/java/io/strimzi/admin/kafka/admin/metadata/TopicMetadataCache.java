@@ -0,0 +1,377 @@
+package io.strimzi.admin.kafka.admin.metadata;
+
+import io.strimzi.admin.kafka.admin.KafkaFutures;
+import io.strimzi.admin.kafka.admin.model.Topic;
+import io.strimzi.admin.kafka.admin.model.TopicChangeEvent;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListTopicsOptions;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * An in-process cache of the topic metadata of a Kafka cluster, kept up to date in the background
+ * using the Kafka Admin client.
+ * <p>
+ * Each refresh lists the topic names and compares them with the current {@link TopicSnapshot}.
+ * Only the topics which appeared since the previous refresh are described, apart from every
+ * n-th refresh which re-describes all the topics to pick up changes such as added partitions.
+ * The changes are applied to a copy of the current snapshot which then replaces it atomically,
+ * so the data fetchers reading the cache never block and never see a half applied refresh.
+ * <p>
+ * A {@link TopicNameIndex} of the topic names is maintained alongside the snapshots. New names are
+ * indexed before the snapshot containing them is published and removed names are dropped from the
+ * index after, so every name of a snapshot can always be found through the index.
+ * <p>
+ * Listeners can be registered to receive the changes applied by each refresh, as a
+ * {@link TopicChangeEvent} carrying the topics created, updated and deleted since the previous
+ * snapshot. The listeners are called on the context of the cache, in the order of the snapshots.
+ * <p>
+ * Topics known to have changed, such as the topics created or deleted by a mutation, can be
+ * refreshed or removed incrementally without waiting for the next refresh. The incremental
+ * changes are applied on the context of the cache too, so they are ordered with the refreshes.
+ * A refresh compares the topic names with the snapshot taken when they were listed, and leaves
+ * alone the topics changed incrementally while it was in progress, as the list and the
+ * descriptions of the refresh may predate these changes.
+ * <p>
+ * The partition assignments of the described topics are folded into {@link BrokerAggregates} as
+ * they are applied, so each snapshot carries the {@link ClusterSummary} of its topics without the
+ * partitions being walked again when the summary is queried.
+ * <p>
+ * All the refresh work runs on a single Vert.x context, the Admin client is passed in so the
+ * cache can be used with any {@link Admin} implementation.
+ */
+public class TopicMetadataCache {
+    private static final Logger LOGGER = LogManager.getLogger(TopicMetadataCache.class);
+
+    private final Vertx vertx;
+    private final Admin admin;
+    private final long refreshIntervalMs;
+    private final int fullRefreshCycles;
+    private final int describeBatchSize;
+    private final AtomicReference<TopicSnapshot> snapshot = new AtomicReference<>(TopicSnapshot.EMPTY);
+    private final Promise<TopicSnapshot> initialLoad = Promise.promise();
+    private final TopicNameIndex topicNameIndex = new TopicNameIndex();
+    private final List<Handler<TopicChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final BrokerAggregates brokerAggregates = new BrokerAggregates();
+
+    private Context context;
+    private long timerId = -1L;
+    private long refreshCycle = 0L;
+    private boolean refreshInProgress = false;
+    // the names of the topics changed incrementally since the topics of the refresh in progress were listed
+    private Set<String> changedDuringRefresh = null;
+
+    public TopicMetadataCache(final Vertx vertx, final Admin admin, final long refreshIntervalMs,
+                              final int fullRefreshCycles, final int describeBatchSize) {
+        this.vertx = vertx;
+        this.admin = admin;
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.fullRefreshCycles = Math.max(1, fullRefreshCycles);
+        this.describeBatchSize = Math.max(1, describeBatchSize);
+    }
+
+    /**
+     * Starts the background refresh. The first refresh is triggered immediately.
+     */
+    public void start() {
+        context = vertx.getOrCreateContext();
+        context.runOnContext(v -> {
+            refresh();
+            timerId = vertx.setPeriodic(refreshIntervalMs, id -> refresh());
+        });
+    }
+
+    /**
+     * Stops the background refresh. The last snapshot remains available.
+     */
+    public void stop() {
+        if (context != null) {
+            context.runOnContext(v -> vertx.cancelTimer(timerId));
+        }
+    }
+
+    /**
+     * Retrieve the current topic metadata. This never blocks, before the first refresh completes
+     * an empty snapshot is returned.
+     * @return the current snapshot of the topic metadata
+     */
+    public TopicSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Retrieve the index of the topic names. Names found through the index should be resolved
+     * against a snapshot, as the index may still contain names of recently removed topics.
+     * @return the topic name index
+     */
+    public TopicNameIndex topicNameIndex() {
+        return topicNameIndex;
+    }
+
+    /**
+     * Retrieve a future which completes once the first refresh has been successful
+     * @return a future completed with the first loaded snapshot
+     */
+    public Future<TopicSnapshot> initialLoad() {
+        return initialLoad.future();
+    }
+
+    /**
+     * Runs a refresh, unless the previous refresh is still in progress. Must be called on the
+     * context of the cache.
+     * @return a future completed with the snapshot once the refresh is applied, or with the current
+     * snapshot if the refresh was skipped
+     */
+    Future<TopicSnapshot> refresh() {
+        if (refreshInProgress) {
+            LOGGER.debug("Skipping topic metadata refresh, the previous refresh is still in progress.");
+            return Future.succeededFuture(snapshot.get());
+        }
+        refreshInProgress = true;
+        changedDuringRefresh = new HashSet<>();
+
+        final boolean fullRefresh = refreshCycle++ % fullRefreshCycles == 0;
+        final long start = System.nanoTime();
+        final TopicSnapshot listed = snapshot.get();
+
+        return KafkaFutures.toFuture(context, admin.listTopics(new ListTopicsOptions().listInternal(true)).names())
+            .compose(names -> applyChanges(listed, names, fullRefresh))
+            .onComplete(ar -> {
+                refreshInProgress = false;
+                changedDuringRefresh = null;
+                if (ar.succeeded()) {
+                    initialLoad.tryComplete(ar.result());
+                    LOGGER.debug("Topic metadata refreshed in {} ms, snapshot version {} contains {} topics.",
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), ar.result().getVersion(), ar.result().size());
+                } else {
+                    LOGGER.warn("Topic metadata refresh failed - {}", ar.cause().getMessage());
+                }
+            });
+    }
+
+    /**
+     * Registers a listener called with the changes applied by each refresh which changed the
+     * content of the snapshot. The listener is called on the context of the cache.
+     * @param listener the listener
+     */
+    public void addListener(final Handler<TopicChangeEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener registered with {@link #addListener(Handler)}
+     * @param listener the listener
+     */
+    public void removeListener(final Handler<TopicChangeEvent> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Runs an action on the context of the cache, where the listeners are called
+     * @param action the action to run
+     */
+    void runOnContext(final Handler<Void> action) {
+        if (context == null) {
+            throw new IllegalStateException("The topic metadata cache is not started");
+        }
+        context.runOnContext(action);
+    }
+
+    /**
+     * Applies the topic names listed by a refresh, compared with the snapshot current when they
+     * were listed. Must be called on the context of the cache.
+     */
+    private Future<TopicSnapshot> applyChanges(final TopicSnapshot listed, final Set<String> names, final boolean fullRefresh) {
+        final List<String> removed = listed.getTopics().keySet().stream()
+            .filter(name -> !names.contains(name))
+            .collect(Collectors.toList());
+        final List<String> toDescribe = names.stream()
+            .filter(name -> fullRefresh || listed.getTopic(name) == null)
+            .collect(Collectors.toList());
+
+        return describe(toDescribe).map(described -> {
+            // the incremental changes applied since the names were listed are more recent
+            final Set<String> changed = changedDuringRefresh;
+            return publish(
+                described.stream().filter(description -> !changed.contains(description.name())).collect(Collectors.toList()),
+                removed.stream().filter(name -> !changed.contains(name)).collect(Collectors.toList()));
+        });
+    }
+
+    /**
+     * Applies a set of changes to the latest snapshot, which may have been replaced by an
+     * incremental refresh since the changes were computed. Must be called on the context of the
+     * cache.
+     */
+    private TopicSnapshot publish(final List<TopicDescription> descriptions, final List<String> removed) {
+        final List<Topic> described = descriptions.stream().map(TopicMetadataCache::toTopic).collect(Collectors.toList());
+        brokerAggregates.apply(descriptions, removed);
+
+        final TopicSnapshot current = snapshot.get();
+        final TopicSnapshot updated = current.apply(described, removed, brokerAggregates.summary());
+        described.forEach(topic -> topicNameIndex.add(topic.getName()));
+        snapshot.set(updated);
+        removed.forEach(topicNameIndex::remove);
+        if (updated != current) {
+            notifyListeners(current, updated, described, removed);
+        }
+        return updated;
+    }
+
+    /**
+     * Describes a set of topics and applies them to the snapshot without waiting for the next
+     * refresh, such as the topics created by a mutation. Topics which cannot be described yet are
+     * left to the next refresh.
+     * @param names the names of the topics to refresh
+     * @return a future completed on the context of the caller with the updated snapshot
+     */
+    public Future<TopicSnapshot> refreshTopics(final Collection<String> names) {
+        return describe(new ArrayList<>(names))
+            .compose(described -> onContext(() -> {
+                described.forEach(description -> changedIncrementally(description.name()));
+                return publish(described, Collections.emptyList());
+            }));
+    }
+
+    /**
+     * Removes a set of topics from the snapshot without waiting for the next refresh, such as the
+     * topics deleted by a mutation.
+     * @param names the names of the topics to remove
+     * @return a future completed on the context of the caller with the updated snapshot
+     */
+    public Future<TopicSnapshot> removeTopics(final Collection<String> names) {
+        return onContext(() -> {
+            names.forEach(this::changedIncrementally);
+            return publish(Collections.emptyList(), new ArrayList<>(names));
+        });
+    }
+
+    private void changedIncrementally(final String name) {
+        if (changedDuringRefresh != null) {
+            changedDuringRefresh.add(name);
+        }
+    }
+
+    private Future<TopicSnapshot> onContext(final Supplier<TopicSnapshot> action) {
+        final Context caller = vertx.getOrCreateContext();
+        final Promise<TopicSnapshot> promise = Promise.promise();
+
+        runOnContext(v -> {
+            final TopicSnapshot updated = action.get();
+            caller.runOnContext(v2 -> promise.complete(updated));
+        });
+
+        return promise.future();
+    }
+
+    private void notifyListeners(final TopicSnapshot previous, final TopicSnapshot current,
+                                 final List<Topic> described, final List<String> removed) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        final List<Topic> created = new ArrayList<>();
+        final List<Topic> updated = new ArrayList<>();
+        for (final Topic topic : described) {
+            final Topic previousTopic = previous.getTopic(topic.getName());
+            if (previousTopic == null) {
+                created.add(topic);
+            } else if (!previousTopic.equals(topic)) {
+                updated.add(topic);
+            }
+        }
+        final List<String> deleted = removed.stream()
+            .filter(name -> previous.getTopic(name) != null)
+            .collect(Collectors.toList());
+        // a snapshot which only changed the cluster summary has no topic change to publish
+        if (created.isEmpty() && updated.isEmpty() && deleted.isEmpty()) {
+            return;
+        }
+
+        final TopicChangeEvent event = TopicChangeEvent.changes(current.getVersion(), created, updated, deleted);
+        listeners.forEach(listener -> {
+            try {
+                listener.handle(event);
+            } catch (RuntimeException exc) {
+                LOGGER.warn("Topic change listener failed - {}", exc.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Describes a set of topics with the Admin client, bypassing the snapshot. This is used for
+     * topics which are not part of the snapshot yet, such as topics created since the last refresh.
+     * @param names the names of the topics to describe
+     * @return a future completed on the context of the caller with the topics which exist
+     */
+    public Future<List<Topic>> describeTopics(final Collection<String> names) {
+        return describe(new ArrayList<>(names)).map(descriptions -> descriptions.stream()
+            .map(TopicMetadataCache::toTopic)
+            .collect(Collectors.toList()));
+    }
+
+    private Future<List<TopicDescription>> describe(final List<String> names) {
+        final Context caller = vertx.getOrCreateContext();
+        Future<List<TopicDescription>> result = Future.succeededFuture(new ArrayList<>(names.size()));
+
+        for (int from = 0; from < names.size(); from += describeBatchSize) {
+            final List<String> batch = names.subList(from, Math.min(from + describeBatchSize, names.size()));
+            result = result.compose(described -> describeBatch(caller, batch).map(topics -> {
+                described.addAll(topics);
+                return described;
+            }));
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Future<List<TopicDescription>> describeBatch(final Context caller, final Collection<String> names) {
+        final List<Future> descriptions = new ArrayList<>(names.size());
+
+        // A topic deleted between the list and the describe request fails on its own, it is
+        // removed from the snapshot by the next refresh.
+        admin.describeTopics(names).values().values().forEach(description -> descriptions.add(
+            KafkaFutures.toFuture(caller, description)
+                .recover(throwable -> throwable instanceof UnknownTopicOrPartitionException
+                    ? Future.succeededFuture()
+                    : Future.failedFuture(throwable))));
+
+        return CompositeFuture.all(descriptions).map(cf -> cf.<TopicDescription>list().stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList()));
+    }
+
+    /**
+     * Converts a topic description into the cached topic metadata
+     * @param description the description returned by the Admin client
+     * @return the topic
+     */
+    public static Topic toTopic(final TopicDescription description) {
+        final int replicationFactor = description.partitions().isEmpty()
+            ? 0
+            : description.partitions().get(0).replicas().size();
+
+        return Topic.create(description.name(), description.isInternal(), description.partitions().size(), replicationFactor);
+    }
+}
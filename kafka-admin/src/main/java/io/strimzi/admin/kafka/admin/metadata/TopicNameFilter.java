@@ -0,0 +1,322 @@
+package io.strimzi.admin.kafka.admin.metadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A filter on topic names used to search the {@link TopicNameIndex}.
+ */
+public final class TopicNameFilter {
+
+    /**
+     * The ways a filter value can be matched against a topic name
+     */
+    public enum Type {
+        EXACT,
+        PREFIX,
+        CONTAINS,
+        REGEX
+    }
+
+    private final Type type;
+    private final String value;
+    private final Pattern pattern;
+    private final List<String> requiredLiterals;
+
+    private TopicNameFilter(final Type type, final String value) {
+        this.type = type;
+        this.value = value;
+        if (type == Type.REGEX) {
+            this.pattern = Pattern.compile(value);
+            this.requiredLiterals = requiredLiterals(value);
+        } else {
+            this.pattern = null;
+            this.requiredLiterals = Collections.singletonList(value);
+        }
+    }
+
+    /**
+     * Factory method to create a TopicNameFilter
+     * @param type how the value is matched against the topic names
+     * @param value the value to match, for a REGEX filter the pattern has to match the whole name
+     * @return a filter on the topic names
+     * @throws java.util.regex.PatternSyntaxException if the value of a REGEX filter is not a valid pattern
+     */
+    public static TopicNameFilter create(final Type type, final String value) {
+        return new TopicNameFilter(type, value);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Check whether a topic name matches the filter
+     * @param name the topic name
+     * @return true if the topic name matches
+     */
+    public boolean matches(final String name) {
+        switch (type) {
+            case EXACT:
+                return name.equals(value);
+            case PREFIX:
+                return name.startsWith(value);
+            case CONTAINS:
+                return name.contains(value);
+            default:
+                for (final String literal : requiredLiterals) {
+                    if (!name.contains(literal)) {
+                        return false;
+                    }
+                }
+                return pattern.matcher(name).matches();
+        }
+    }
+
+    /**
+     * Retrieve the substrings which are present in every topic name matching the filter. The
+     * index uses them to restrict the search to candidate names.
+     * @return the required substrings, empty if the filter does not require any
+     */
+    List<String> getRequiredLiterals() {
+        return requiredLiterals;
+    }
+
+    /**
+     * Extracts the runs of literal characters which any string matching the regular expression
+     * has to contain. The extraction is conservative, constructs it does not understand (alternation,
+     * special groups, quoting, unknown escapes) make it give up and return no literal at all.
+     */
+    static List<String> requiredLiterals(final String regex) {
+        if (regex.indexOf('|') >= 0 || regex.contains("(?") || regex.contains("\\Q")) {
+            return Collections.emptyList();
+        }
+
+        final List<String> literals = new ArrayList<>();
+        final StringBuilder current = new StringBuilder();
+        int i = 0;
+
+        while (i < regex.length()) {
+            final int c = regex.codePointAt(i);
+            final int literal;
+
+            if (c == '\\') {
+                final Escape escape = Escape.parse(regex, i);
+                if (escape == null) {
+                    return Collections.emptyList();
+                }
+                i = escape.end;
+                if (escape.codePoint < 0) {
+                    // character classes such as \d, back references and boundaries
+                    flush(current, literals);
+                    continue;
+                }
+                literal = escape.codePoint;
+            } else if (c == '[') {
+                flush(current, literals);
+                i = skipCharacterClass(regex, i);
+                continue;
+            } else if (c == '(') {
+                flush(current, literals);
+                final int close = findGroupEnd(regex, i);
+                if (close < 0) {
+                    return Collections.emptyList();
+                }
+                // the content of an optional or repeated group is not required
+                i = isOptionalQuantifier(regex, close + 1) ? close + 1 : i + 1;
+                continue;
+            } else if (".^$)*+?{}".indexOf(c) >= 0) {
+                flush(current, literals);
+                i = c == '{' ? skipPast(regex, i, '}') : i + 1;
+                continue;
+            } else {
+                literal = c;
+                i += Character.charCount(c);
+            }
+
+            if (isOptionalQuantifier(regex, i)) {
+                flush(current, literals);
+            } else if (i < regex.length() && regex.charAt(i) == '+') {
+                current.appendCodePoint(literal);
+                flush(current, literals);
+            } else {
+                current.appendCodePoint(literal);
+            }
+        }
+        flush(current, literals);
+
+        return literals;
+    }
+
+    private static boolean isOptionalQuantifier(final String regex, final int index) {
+        if (index >= regex.length()) {
+            return false;
+        }
+        final char c = regex.charAt(index);
+        return c == '*' || c == '?' || c == '{';
+    }
+
+    private static void flush(final StringBuilder current, final List<String> literals) {
+        if (current.length() > 0) {
+            literals.add(current.toString());
+            current.setLength(0);
+        }
+    }
+
+    private static int skipCharacterClass(final String regex, final int start) {
+        int depth = 0;
+        for (int i = start; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']' && --depth == 0) {
+                return i + 1;
+            }
+        }
+        return regex.length();
+    }
+
+    private static int findGroupEnd(final String regex, final int start) {
+        int depth = 0;
+        for (int i = start; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipCharacterClass(regex, i) - 1;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipPast(final String regex, final int start, final char end) {
+        final int index = regex.indexOf(end, start);
+        return index < 0 ? regex.length() : index + 1;
+    }
+
+    /**
+     * An escape sequence of a regular expression, either a literal character or a construct which
+     * does not match a fixed character, such as a character class or a back reference
+     */
+    private static final class Escape {
+        private static final String CLASSES_AND_BOUNDARIES = "dDsSwWhHvVRXbBAGZz";
+
+        private final int end;
+        private final int codePoint;
+
+        private Escape(final int end, final int codePoint) {
+            this.end = end;
+            this.codePoint = codePoint;
+        }
+
+        private static Escape literal(final int end, final int codePoint) {
+            return new Escape(end, codePoint);
+        }
+
+        private static Escape construct(final int end) {
+            return new Escape(end, -1);
+        }
+
+        /**
+         * Parses the escape sequence starting at a backslash
+         * @return the escape sequence, or null if it is not fully understood
+         */
+        private static Escape parse(final String regex, final int start) {
+            final int i = start + 1;
+            if (i >= regex.length()) {
+                return null;
+            }
+
+            final char c = regex.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                return literal(i + Character.charCount(regex.codePointAt(i)), regex.codePointAt(i));
+            }
+
+            switch (c) {
+                case 't':
+                    return literal(i + 1, '\t');
+                case 'n':
+                    return literal(i + 1, '\n');
+                case 'r':
+                    return literal(i + 1, '\r');
+                case 'f':
+                    return literal(i + 1, '\f');
+                case 'a':
+                    return literal(i + 1, 0x07);
+                case 'e':
+                    return literal(i + 1, 0x1B);
+                case '0':
+                    return octal(regex, i + 1);
+                case 'x':
+                    return i + 1 < regex.length() && regex.charAt(i + 1) == '{'
+                        ? hex(regex, i + 2, regex.indexOf('}', i + 2), 1)
+                        : hex(regex, i + 1, i + 3, 0);
+                case 'u':
+                    return hex(regex, i + 1, i + 5, 0);
+                case 'c':
+                    return i + 1 < regex.length() ? literal(i + 2, regex.charAt(i + 1) ^ 64) : null;
+                case 'k':
+                    return enclosed(regex, i + 1, '<', '>');
+                case 'p':
+                case 'P':
+                    return i + 1 < regex.length() && regex.charAt(i + 1) != '{'
+                        ? construct(i + 2)
+                        : enclosed(regex, i + 1, '{', '}');
+                default:
+                    if (CLASSES_AND_BOUNDARIES.indexOf(c) >= 0) {
+                        return construct(i + 1);
+                    }
+                    // a back reference, its digits are ambiguous with the literal digits following it
+                    return c >= '1' && c <= '9' && (i + 1 >= regex.length() || !Character.isDigit(regex.charAt(i + 1)))
+                        ? construct(i + 1)
+                        : null;
+            }
+        }
+
+        /**
+         * Parses the octal value of \0n, \0nn or \0mnn, with m lower than 4
+         */
+        private static Escape octal(final String regex, final int start) {
+            final int maxDigits = start < regex.length() && regex.charAt(start) <= '3' ? 3 : 2;
+            int value = 0;
+            int end = start;
+            while (end < regex.length() && end - start < maxDigits && regex.charAt(end) >= '0' && regex.charAt(end) <= '7') {
+                value = value * 8 + regex.charAt(end++) - '0';
+            }
+            return end == start ? null : literal(end, value);
+        }
+
+        /**
+         * Parses the hexadecimal value between two indices, followed by the given number of closing
+         * characters
+         */
+        private static Escape hex(final String regex, final int start, final int end, final int closing) {
+            if (start >= end || end > regex.length()) {
+                return null;
+            }
+            try {
+                final int value = Integer.parseInt(regex.substring(start, end), 16);
+                return Character.isValidCodePoint(value) ? literal(end + closing, value) : null;
+            } catch (NumberFormatException exc) {
+                return null;
+            }
+        }
+
+        private static Escape enclosed(final String regex, final int start, final char open, final char close) {
+            final int end = regex.indexOf(close, start);
+            return start < regex.length() && regex.charAt(start) == open && end > start ? construct(end + 1) : null;
+        }
+    }
+}
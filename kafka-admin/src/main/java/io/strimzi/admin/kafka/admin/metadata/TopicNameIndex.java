@@ -0,0 +1,207 @@
+package io.strimzi.admin.kafka.admin.metadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An index of topic names supporting exact, prefix, substring and regular expression searches
+ * without scanning every name.
+ * <p>
+ * The names are held in a sorted set which answers exact and prefix searches directly. Substring
+ * and regular expression searches use a trigram index, mapping every three character sequence to
+ * the names containing it. Only the names found under the least frequent trigram of the searched
+ * value are checked against the filter. Searches which do not contain any trigram, such as
+ * substrings shorter than three characters, fall back to checking every name.
+ * <p>
+ * The index is updated incrementally as topics are added and removed. It is written by a single
+ * thread and can be searched concurrently, so a search may observe a name which has just been
+ * removed; callers resolve the names against a {@link TopicSnapshot} which filters them out.
+ */
+public class TopicNameIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final ConcurrentSkipListSet<String> names = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<String, Set<String>> postings = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a topic name to the index
+     * @param name the topic name
+     */
+    public void add(final String name) {
+        if (names.add(name)) {
+            grams(name).forEach(gram -> postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(name));
+        }
+    }
+
+    /**
+     * Removes a topic name from the index
+     * @param name the topic name
+     */
+    public void remove(final String name) {
+        if (names.remove(name)) {
+            grams(name).forEach(gram -> postings.computeIfPresent(gram, (g, posting) -> {
+                posting.remove(name);
+                return posting.isEmpty() ? null : posting;
+            }));
+        }
+    }
+
+    /**
+     * Retrieve the number of indexed names
+     * @return the number of names in the index
+     */
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Searches the names matching a filter
+     * @param filter the filter to apply, or null to return all the names
+     * @return the matching names in ascending order
+     */
+    public Stream<String> search(final TopicNameFilter filter) {
+        if (filter == null) {
+            return names.stream();
+        }
+
+        switch (filter.getType()) {
+            case EXACT:
+                return names.contains(filter.getValue()) ? Stream.of(filter.getValue()) : Stream.empty();
+            case PREFIX:
+                return withPrefix(filter.getValue(), null).stream();
+            default:
+                final Set<String> candidates = candidates(filter);
+                if (candidates == null) {
+                    return names.stream().filter(filter::matches);
+                }
+                return candidates.stream().filter(filter::matches).sorted();
+        }
+    }
+
+    /**
+     * Searches a page of the names matching a filter. Only the names following the given name
+     * are considered and at most limit names are returned, without sorting all the matching names.
+     * @param filter the filter to apply, or null to page through all the names
+     * @param after the name after which the page starts, or null to start from the first name
+     * @param limit the maximum number of names to return
+     * @return the matching names in ascending order
+     */
+    public List<String> search(final TopicNameFilter filter, final String after, final int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        final Stream<String> matching;
+        if (filter == null) {
+            matching = following(names, after).stream();
+        } else {
+            switch (filter.getType()) {
+                case EXACT:
+                    matching = search(filter).filter(name -> after == null || name.compareTo(after) > 0);
+                    break;
+                case PREFIX:
+                    matching = withPrefix(filter.getValue(), after).stream();
+                    break;
+                default:
+                    final Set<String> candidates = candidates(filter);
+                    if (candidates == null) {
+                        matching = following(names, after).stream().filter(filter::matches);
+                        break;
+                    }
+                    return first(candidates, filter, after, limit);
+            }
+        }
+
+        return matching.limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * Counts the names matching a filter
+     * @param filter the filter to apply, or null to count all the names
+     * @return the number of matching names
+     */
+    public long count(final TopicNameFilter filter) {
+        return filter == null ? names.size() : search(filter).count();
+    }
+
+    private NavigableSet<String> withPrefix(final String prefix, final String after) {
+        final String upper = prefix + Character.MAX_VALUE;
+
+        if (after == null || after.compareTo(prefix) < 0) {
+            return names.subSet(prefix, true, upper, true);
+        } else if (after.compareTo(upper) >= 0) {
+            return Collections.emptyNavigableSet();
+        }
+        return names.subSet(after, false, upper, true);
+    }
+
+    private static NavigableSet<String> following(final NavigableSet<String> names, final String after) {
+        return after == null ? names : names.tailSet(after, false);
+    }
+
+    /**
+     * Selects the lowest matching candidates following a name, keeping only limit names in memory
+     */
+    private static List<String> first(final Set<String> candidates, final TopicNameFilter filter, final String after, final int limit) {
+        final PriorityQueue<String> lowest = new PriorityQueue<>(limit, Comparator.reverseOrder());
+
+        for (final String name : candidates) {
+            if ((after == null || name.compareTo(after) > 0) && filter.matches(name)) {
+                if (lowest.size() < limit) {
+                    lowest.add(name);
+                } else if (name.compareTo(lowest.peek()) < 0) {
+                    lowest.poll();
+                    lowest.add(name);
+                }
+            }
+        }
+
+        final List<String> page = new ArrayList<>(lowest);
+        Collections.sort(page);
+        return page;
+    }
+
+    /**
+     * Finds the smallest set of names which contains all the names matching the filter
+     * @return the candidate names, or null if the index cannot narrow down the search
+     */
+    private Set<String> candidates(final TopicNameFilter filter) {
+        Set<String> smallest = null;
+
+        for (final String literal : filter.getRequiredLiterals()) {
+            for (final String gram : grams(literal)) {
+                final Set<String> posting = postings.get(gram);
+                if (posting == null) {
+                    return Collections.emptySet();
+                }
+                if (smallest == null || posting.size() < smallest.size()) {
+                    smallest = posting;
+                }
+            }
+        }
+
+        return smallest;
+    }
+
+    private static Set<String> grams(final String value) {
+        if (value.length() < GRAM_LENGTH) {
+            return Collections.emptySet();
+        }
+
+        final Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
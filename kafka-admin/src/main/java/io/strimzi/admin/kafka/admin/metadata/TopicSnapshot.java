@@ -0,0 +1,99 @@
+package io.strimzi.admin.kafka.admin.metadata;
+
+import io.strimzi.admin.kafka.admin.model.Topic;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * An immutable, point in time view of the topics of a Kafka cluster. The topics are kept ordered
+ * by name. A new snapshot is derived from the previous one by applying the changes found during a
+ * refresh, so readers holding a snapshot never observe a partially applied refresh.
+ * <p>
+ * The snapshot also holds the {@link ClusterSummary} of the partition assignments of its topics,
+ * replaced in the same step as the topics.
+ */
+public final class TopicSnapshot {
+    static final TopicSnapshot EMPTY = new TopicSnapshot(0L, Collections.unmodifiableNavigableMap(new TreeMap<>()), ClusterSummary.EMPTY);
+
+    private final long version;
+    private final NavigableMap<String, Topic> topics;
+    private final ClusterSummary clusterSummary;
+
+    private TopicSnapshot(final long version, final NavigableMap<String, Topic> topics, final ClusterSummary clusterSummary) {
+        this.version = version;
+        this.topics = topics;
+        this.clusterSummary = clusterSummary;
+    }
+
+    /**
+     * Retrieve the version of the snapshot. The version is incremented each time a refresh
+     * changes the content of the snapshot.
+     * @return the snapshot version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieve a topic by name
+     * @param name the name of the topic
+     * @return the topic or null if the topic is not part of the snapshot
+     */
+    public Topic getTopic(final String name) {
+        return name == null ? null : topics.get(name);
+    }
+
+    /**
+     * Retrieve all the topics of the snapshot
+     * @return an unmodifiable view of the topics ordered by name
+     */
+    public NavigableMap<String, Topic> getTopics() {
+        return topics;
+    }
+
+    /**
+     * Retrieve the summary of the partition assignments of the topics of the snapshot
+     * @return the cluster summary
+     */
+    public ClusterSummary getClusterSummary() {
+        return clusterSummary;
+    }
+
+    /**
+     * Retrieve the number of topics in the snapshot
+     * @return the number of topics
+     */
+    public int size() {
+        return topics.size();
+    }
+
+    /**
+     * Derives a new snapshot by applying a set of changes to this snapshot.
+     * @param upserts topics which were created or described since this snapshot was taken
+     * @param removals names of the topics which no longer exist
+     * @param summary the summary of the partition assignments once the changes are applied, a
+     * summary which changed is a different instance
+     * @return a new snapshot with an incremented version, or this snapshot if the changes did not
+     * modify any topic nor the summary
+     */
+    TopicSnapshot apply(final Collection<Topic> upserts, final Collection<String> removals, final ClusterSummary summary) {
+        if (upserts.isEmpty() && removals.isEmpty()) {
+            return summary == clusterSummary ? this : new TopicSnapshot(version + 1, topics, summary);
+        }
+
+        final TreeMap<String, Topic> updated = new TreeMap<>(topics);
+        // a partition reassignment changes the summary only
+        boolean changed = summary != clusterSummary;
+
+        for (final String name : removals) {
+            changed |= updated.remove(name) != null;
+        }
+        for (final Topic topic : upserts) {
+            changed |= !topic.equals(updated.put(topic.getName(), topic));
+        }
+
+        return changed ? new TopicSnapshot(version + 1, Collections.unmodifiableNavigableMap(updated), summary) : this;
+    }
+}
@@ -0,0 +1,35 @@
+package io.strimzi.admin.kafka.admin.model;
+
+public class Broker {
+    private final int id;
+    private final int leaderCount;
+    private final int replicaCount;
+    private final double partitionSkew;
+
+    private Broker(final int id, final int leaderCount, final int replicaCount, final double partitionSkew) {
+        this.id = id;
+        this.leaderCount = leaderCount;
+        this.replicaCount = replicaCount;
+        this.partitionSkew = partitionSkew;
+    }
+
+    public static Broker create(final int id, final int leaderCount, final int replicaCount, final double partitionSkew) {
+        return new Broker(id, leaderCount, replicaCount, partitionSkew);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getLeaderCount() {
+        return leaderCount;
+    }
+
+    public int getReplicaCount() {
+        return replicaCount;
+    }
+
+    public double getPartitionSkew() {
+        return partitionSkew;
+    }
+}
@@ -0,0 +1,17 @@
+package io.strimzi.admin.kafka.admin.model;
+
+public class Cluster {
+    private final String id;
+
+    private Cluster(final String id) {
+        this.id = id;
+    }
+
+    public static Cluster create(final String id) {
+        return new Cluster(id);
+    }
+
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,49 @@
+package io.strimzi.admin.kafka.admin.model;
+
+public class ClusterTotals {
+    private final int topicCount;
+    private final int brokerCount;
+    private final long partitionCount;
+    private final long replicaCount;
+    private final long offlinePartitionCount;
+    private final long underReplicatedPartitionCount;
+
+    private ClusterTotals(final int topicCount, final int brokerCount, final long partitionCount, final long replicaCount,
+                          final long offlinePartitionCount, final long underReplicatedPartitionCount) {
+        this.topicCount = topicCount;
+        this.brokerCount = brokerCount;
+        this.partitionCount = partitionCount;
+        this.replicaCount = replicaCount;
+        this.offlinePartitionCount = offlinePartitionCount;
+        this.underReplicatedPartitionCount = underReplicatedPartitionCount;
+    }
+
+    public static ClusterTotals create(final int topicCount, final int brokerCount, final long partitionCount, final long replicaCount,
+                                       final long offlinePartitionCount, final long underReplicatedPartitionCount) {
+        return new ClusterTotals(topicCount, brokerCount, partitionCount, replicaCount, offlinePartitionCount, underReplicatedPartitionCount);
+    }
+
+    public int getTopicCount() {
+        return topicCount;
+    }
+
+    public int getBrokerCount() {
+        return brokerCount;
+    }
+
+    public long getPartitionCount() {
+        return partitionCount;
+    }
+
+    public long getReplicaCount() {
+        return replicaCount;
+    }
+
+    public long getOfflinePartitionCount() {
+        return offlinePartitionCount;
+    }
+
+    public long getUnderReplicatedPartitionCount() {
+        return underReplicatedPartitionCount;
+    }
+}
@@ -0,0 +1,43 @@
+package io.strimzi.admin.kafka.admin.model;
+
+import java.util.List;
+import java.util.Objects;
+
+public class ConsumerGroup {
+    private final String groupId;
+    private final String state;
+    private final List<ConsumerGroupPartition> partitions;
+
+    private ConsumerGroup(final String groupId, final String state, final List<ConsumerGroupPartition> partitions) {
+        this.groupId = groupId;
+        this.state = state;
+        this.partitions = partitions;
+    }
+
+    public static ConsumerGroup create(final String groupId, final String state, final List<ConsumerGroupPartition> partitions) {
+        return new ConsumerGroup(groupId, state, partitions);
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public List<ConsumerGroupPartition> getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * The lag of the group summed over the partitions with a known lag
+     */
+    public long getTotalLag() {
+        return partitions.stream()
+            .map(ConsumerGroupPartition::getLag)
+            .filter(Objects::nonNull)
+            .mapToLong(Long::longValue)
+            .sum();
+    }
+}
@@ -0,0 +1,43 @@
+package io.strimzi.admin.kafka.admin.model;
+
+public class ConsumerGroupPartition {
+    private final String topic;
+    private final int partition;
+    private final Long committedOffset;
+    private final Long endOffset;
+
+    private ConsumerGroupPartition(final String topic, final int partition, final Long committedOffset, final Long endOffset) {
+        this.topic = topic;
+        this.partition = partition;
+        this.committedOffset = committedOffset;
+        this.endOffset = endOffset;
+    }
+
+    public static ConsumerGroupPartition create(final String topic, final int partition, final Long committedOffset, final Long endOffset) {
+        return new ConsumerGroupPartition(topic, partition, committedOffset, endOffset);
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public Long getCommittedOffset() {
+        return committedOffset;
+    }
+
+    public Long getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * The number of records of the partition not consumed by the group yet, unknown when one of
+     * the offsets is unknown
+     */
+    public Long getLag() {
+        return committedOffset == null || endOffset == null ? null : Math.max(0L, endOffset - committedOffset);
+    }
+}
@@ -0,0 +1,35 @@
+package io.strimzi.admin.kafka.admin.model;
+
+public class PageInfo {
+    private final boolean hasNextPage;
+    private final boolean hasPreviousPage;
+    private final String startCursor;
+    private final String endCursor;
+
+    private PageInfo(final boolean hasNextPage, final boolean hasPreviousPage, final String startCursor, final String endCursor) {
+        this.hasNextPage = hasNextPage;
+        this.hasPreviousPage = hasPreviousPage;
+        this.startCursor = startCursor;
+        this.endCursor = endCursor;
+    }
+
+    public static PageInfo create(final boolean hasNextPage, final boolean hasPreviousPage, final String startCursor, final String endCursor) {
+        return new PageInfo(hasNextPage, hasPreviousPage, startCursor, endCursor);
+    }
+
+    public boolean isHasNextPage() {
+        return hasNextPage;
+    }
+
+    public boolean isHasPreviousPage() {
+        return hasPreviousPage;
+    }
+
+    public String getStartCursor() {
+        return startCursor;
+    }
+
+    public String getEndCursor() {
+        return endCursor;
+    }
+}
@@ -0,0 +1,37 @@
+package io.strimzi.admin.kafka.admin.model;
+
+import java.util.List;
+
+public class Partition {
+    private final int partition;
+    private final Integer leader;
+    private final List<Integer> replicas;
+    private final List<Integer> isr;
+
+    private Partition(final int partition, final Integer leader, final List<Integer> replicas, final List<Integer> isr) {
+        this.partition = partition;
+        this.leader = leader;
+        this.replicas = replicas;
+        this.isr = isr;
+    }
+
+    public static Partition create(final int partition, final Integer leader, final List<Integer> replicas, final List<Integer> isr) {
+        return new Partition(partition, leader, replicas, isr);
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public Integer getLeader() {
+        return leader;
+    }
+
+    public List<Integer> getReplicas() {
+        return replicas;
+    }
+
+    public List<Integer> getIsr() {
+        return isr;
+    }
+}
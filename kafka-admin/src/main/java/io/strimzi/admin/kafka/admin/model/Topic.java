@@ -1,5 +1,7 @@
 package io.strimzi.admin.kafka.admin.model;
 
+import java.util.Objects;
+
 public class Topic {
     private final String name;
     private final boolean isInternal;
@@ -32,4 +34,24 @@ public class Topic {
     public int getReplicationFactor() {
         return replicationFactor;
     }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final Topic topic = (Topic) o;
+        return isInternal == topic.isInternal
+            && partitionCount == topic.partitionCount
+            && replicationFactor == topic.replicationFactor
+            && name.equals(topic.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, isInternal, partitionCount, replicationFactor);
+    }
 }
@@ -0,0 +1,50 @@
+package io.strimzi.admin.kafka.admin.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class TopicChangeEvent {
+    private final long version;
+    private final Collection<Topic> snapshot;
+    private final List<Topic> created;
+    private final List<Topic> updated;
+    private final List<String> deleted;
+
+    private TopicChangeEvent(final long version, final Collection<Topic> snapshot, final List<Topic> created,
+                             final List<Topic> updated, final List<String> deleted) {
+        this.version = version;
+        this.snapshot = snapshot;
+        this.created = created;
+        this.updated = updated;
+        this.deleted = deleted;
+    }
+
+    public static TopicChangeEvent snapshot(final long version, final Collection<Topic> topics) {
+        return new TopicChangeEvent(version, topics, Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+    }
+
+    public static TopicChangeEvent changes(final long version, final List<Topic> created, final List<Topic> updated, final List<String> deleted) {
+        return new TopicChangeEvent(version, null, created, updated, deleted);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Collection<Topic> getSnapshot() {
+        return snapshot;
+    }
+
+    public List<Topic> getCreated() {
+        return created;
+    }
+
+    public List<Topic> getUpdated() {
+        return updated;
+    }
+
+    public List<String> getDeleted() {
+        return deleted;
+    }
+}
@@ -0,0 +1,49 @@
+package io.strimzi.admin.kafka.admin.model;
+
+public class TopicConfigEntry {
+    private final String name;
+    private final String value;
+    private final String source;
+    private final boolean isDefault;
+    private final boolean isSensitive;
+    private final boolean isReadOnly;
+
+    private TopicConfigEntry(final String name, final String value, final String source,
+                             final boolean isDefault, final boolean isSensitive, final boolean isReadOnly) {
+        this.name = name;
+        this.value = value;
+        this.source = source;
+        this.isDefault = isDefault;
+        this.isSensitive = isSensitive;
+        this.isReadOnly = isReadOnly;
+    }
+
+    public static TopicConfigEntry create(final String name, final String value, final String source,
+                                          final boolean isDefault, final boolean isSensitive, final boolean isReadOnly) {
+        return new TopicConfigEntry(name, value, source, isDefault, isSensitive, isReadOnly);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public boolean isDefault() {
+        return isDefault;
+    }
+
+    public boolean isSensitive() {
+        return isSensitive;
+    }
+
+    public boolean isReadOnly() {
+        return isReadOnly;
+    }
+}
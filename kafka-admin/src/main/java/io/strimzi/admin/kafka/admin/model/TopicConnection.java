@@ -0,0 +1,31 @@
+package io.strimzi.admin.kafka.admin.model;
+
+import java.util.List;
+
+public class TopicConnection {
+    private final Long totalCount;
+    private final List<TopicEdge> edges;
+    private final PageInfo pageInfo;
+
+    private TopicConnection(final Long totalCount, final List<TopicEdge> edges, final PageInfo pageInfo) {
+        this.totalCount = totalCount;
+        this.edges = edges;
+        this.pageInfo = pageInfo;
+    }
+
+    public static TopicConnection create(final Long totalCount, final List<TopicEdge> edges, final PageInfo pageInfo) {
+        return new TopicConnection(totalCount, edges, pageInfo);
+    }
+
+    public Long getTotalCount() {
+        return totalCount;
+    }
+
+    public List<TopicEdge> getEdges() {
+        return edges;
+    }
+
+    public PageInfo getPageInfo() {
+        return pageInfo;
+    }
+}
@@ -0,0 +1,23 @@
+package io.strimzi.admin.kafka.admin.model;
+
+public class TopicEdge {
+    private final String cursor;
+    private final Topic node;
+
+    private TopicEdge(final String cursor, final Topic node) {
+        this.cursor = cursor;
+        this.node = node;
+    }
+
+    public static TopicEdge create(final String cursor, final Topic node) {
+        return new TopicEdge(cursor, node);
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public Topic getNode() {
+        return node;
+    }
+}
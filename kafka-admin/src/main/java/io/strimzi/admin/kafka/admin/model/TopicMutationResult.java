@@ -0,0 +1,33 @@
+package io.strimzi.admin.kafka.admin.model;
+
+public class TopicMutationResult {
+    private final String name;
+    private final boolean success;
+    private final String error;
+
+    private TopicMutationResult(final String name, final boolean success, final String error) {
+        this.name = name;
+        this.success = success;
+        this.error = error;
+    }
+
+    public static TopicMutationResult succeeded(final String name) {
+        return new TopicMutationResult(name, true, null);
+    }
+
+    public static TopicMutationResult failed(final String name, final String error) {
+        return new TopicMutationResult(name, false, error);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,203 @@
+package io.strimzi.admin.kafka.admin.metadata;
+
+import io.strimzi.admin.kafka.admin.model.Topic;
+import io.strimzi.admin.kafka.admin.model.TopicChangeEvent;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.streams.WriteStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.admin.MockAdminClient;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopicChangePublisherTest {
+    private static final Node BROKER = new Node(0, "localhost", 9092);
+
+    private Vertx vertx;
+    private MockAdminClient admin;
+    private TopicMetadataCache cache;
+    private TopicChangePublisher publisher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        vertx = Vertx.vertx();
+        admin = new MockAdminClient(Collections.singletonList(BROKER), BROKER);
+        addTopic("orders");
+        cache = new TopicMetadataCache(vertx, admin, TimeUnit.HOURS.toMillis(1), 2, 1);
+        cache.start();
+        await(cache.initialLoad());
+        publisher = new TopicChangePublisher(vertx, cache, 4);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        cache.stop();
+        admin.close();
+        final Promise<Void> closed = Promise.promise();
+        vertx.close(closed);
+        await(closed.future());
+    }
+
+    @Test
+    void testEventsAreDeliveredOnTheContextOfTheSubscriber() throws Exception {
+        final Context subscriberContext = vertx.getOrCreateContext();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        subscriberContext.runOnContext(v -> publisher.publisher(null).subscribe(subscriber));
+
+        final TopicChangeEvent snapshot = subscriber.events.poll(10, TimeUnit.SECONDS);
+        assertEquals(Collections.singletonList("orders"), names(snapshot.getSnapshot()));
+
+        addTopic("shipments");
+        await(cache.refreshTopics(Collections.singleton("shipments")));
+
+        final TopicChangeEvent created = subscriber.events.poll(10, TimeUnit.SECONDS);
+        assertEquals(Collections.singletonList("shipments"), names(created.getCreated()));
+        assertEquals(2, subscriber.contexts.size());
+        subscriber.contexts.forEach(context -> assertSame(subscriberContext, context));
+    }
+
+    @Test
+    void testFullWriteQueueDefersTheEventsWithoutTakingTheDrainHandler() throws Exception {
+        final Context subscriberContext = vertx.getOrCreateContext();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        final FullableStream stream = new FullableStream();
+        stream.full = true;
+        subscriberContext.runOnContext(v -> publisher.publisher(stream).subscribe(subscriber));
+
+        assertNull(subscriber.events.poll(200, TimeUnit.MILLISECONDS));
+
+        stream.full = false;
+        final TopicChangeEvent snapshot = subscriber.events.poll(10, TimeUnit.SECONDS);
+        assertEquals(Collections.singletonList("orders"), names(snapshot.getSnapshot()));
+        assertFalse(stream.drainHandlerSet);
+        assertTrue(stream.fullChecks.stream().allMatch(context -> context == subscriberContext));
+    }
+
+    private void addTopic(final String name) {
+        admin.addTopic(false, name,
+            Collections.singletonList(new TopicPartitionInfo(0, BROKER, Collections.singletonList(BROKER), Collections.singletonList(BROKER))),
+            Collections.emptyMap());
+    }
+
+    private static List<String> names(final Collection<Topic> topics) {
+        final List<String> names = new ArrayList<>();
+        topics.forEach(topic -> names.add(topic.getName()));
+        Collections.sort(names);
+        return names;
+    }
+
+    private static <T> T await(final Future<T> future) throws Exception {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        future.onComplete(ar -> {
+            if (ar.succeeded()) {
+                result.complete(ar.result());
+            } else {
+                result.completeExceptionally(ar.cause());
+            }
+        });
+        return result.get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Requests the events one at a time, like the subscribers of the GraphQL subscriptions, and
+     * records the events and the contexts they were delivered on
+     */
+    private static final class RecordingSubscriber implements Subscriber<TopicChangeEvent> {
+        private final BlockingQueue<TopicChangeEvent> events = new LinkedBlockingQueue<>();
+        private final List<Context> contexts = new CopyOnWriteArrayList<>();
+        private Subscription subscription;
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(final TopicChangeEvent event) {
+            contexts.add(Vertx.currentContext());
+            events.add(event);
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    /**
+     * A stream whose write queue is full on demand, recording the contexts it is checked on
+     */
+    private static final class FullableStream implements WriteStream<Object> {
+        private final List<Context> fullChecks = new CopyOnWriteArrayList<>();
+        private volatile boolean full;
+        private volatile boolean drainHandlerSet;
+
+        @Override
+        public boolean writeQueueFull() {
+            fullChecks.add(Vertx.currentContext());
+            return full;
+        }
+
+        @Override
+        public WriteStream<Object> drainHandler(final Handler<Void> handler) {
+            drainHandlerSet = true;
+            return this;
+        }
+
+        @Override
+        public WriteStream<Object> exceptionHandler(final Handler<Throwable> handler) {
+            return this;
+        }
+
+        @Override
+        public WriteStream<Object> write(final Object data) {
+            return this;
+        }
+
+        @Override
+        public WriteStream<Object> write(final Object data, final Handler<AsyncResult<Void>> handler) {
+            return this;
+        }
+
+        @Override
+        public void end() {
+        }
+
+        @Override
+        public void end(final Handler<AsyncResult<Void>> handler) {
+        }
+
+        @Override
+        public WriteStream<Object> setWriteQueueMaxSize(final int maxSize) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package io.strimzi.admin.kafka.admin.metadata;
+
+import io.strimzi.admin.kafka.admin.model.TopicConfigEntry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.DescribeConfigsOptions;
+import org.apache.kafka.clients.admin.DescribeConfigsResult;
+import org.apache.kafka.clients.admin.MockAdminClient;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopicConfigCacheTest {
+    private static final Node BROKER = new Node(0, "localhost", 9092);
+    private static final int BATCH_SIZE = 2;
+    private static final int CONCURRENCY = 2;
+
+    private Vertx vertx;
+    private HoldingAdminClient admin;
+    private TopicConfigCache cache;
+
+    @BeforeEach
+    void setUp() {
+        vertx = Vertx.vertx();
+        admin = new HoldingAdminClient();
+        cache = new TopicConfigCache(vertx, admin, TimeUnit.HOURS.toMillis(1), 1000, BATCH_SIZE, CONCURRENCY);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        admin.close();
+        final Promise<Void> closed = Promise.promise();
+        vertx.close(closed);
+        await(closed.future());
+    }
+
+    @Test
+    void testBatchesAreSentThroughABoundedWindow() throws Exception {
+        final List<String> topics = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            topics.add("topic-" + i);
+        }
+
+        final Future<Map<String, List<TopicConfigEntry>>> configs = cache.configs(topics);
+        assertEquals(CONCURRENCY, admin.requests.size());
+
+        // a deleted topic fails on its own, its batch still completes
+        final ConfigResource deleted = admin.requests.get(0).iterator().next();
+        admin.fail(0, deleted);
+        admin.complete(0);
+        assertEquals(CONCURRENCY + 1, admin.requests.size());
+        assertFalse(configs.isComplete());
+
+        for (int request = 1; request < 5; request++) {
+            admin.complete(request);
+            assertEquals(Math.min(5, request + CONCURRENCY + 1), admin.requests.size());
+        }
+
+        final Map<String, List<TopicConfigEntry>> result = await(configs);
+        assertEquals(8, result.size());
+        assertFalse(result.containsKey(deleted.name()));
+        result.values().forEach(entries -> assertEquals("delete", entries.get(0).getValue()));
+        assertTrue(admin.requests.stream().allMatch(request -> request.size() <= BATCH_SIZE));
+    }
+
+    @Test
+    void testCachedConfigsAreNotDescribedAgain() throws Exception {
+        final Future<Map<String, List<TopicConfigEntry>>> first = cache.configs(Collections.singletonList("orders"));
+        admin.complete(0);
+        await(first);
+
+        final Map<String, List<TopicConfigEntry>> second = await(cache.configs(Collections.singletonList("orders")));
+        assertEquals(1, admin.requests.size());
+        assertEquals(1, second.size());
+    }
+
+    private static <T> T await(final Future<T> future) throws Exception {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        future.onComplete(ar -> {
+            if (ar.succeeded()) {
+                result.complete(ar.result());
+            } else {
+                result.completeExceptionally(ar.cause());
+            }
+        });
+        return result.get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Holds the describeConfigs responses back until the test completes them, recording the
+     * requests in the order they were sent
+     */
+    private static final class HoldingAdminClient extends MockAdminClient {
+        private final List<Collection<ConfigResource>> requests = new CopyOnWriteArrayList<>();
+        private final List<Map<ConfigResource, KafkaFutureImpl<Config>>> responses = new ArrayList<>();
+
+        private HoldingAdminClient() {
+            super(Collections.singletonList(BROKER), BROKER);
+        }
+
+        @Override
+        public synchronized DescribeConfigsResult describeConfigs(final Collection<ConfigResource> resources,
+                                                                  final DescribeConfigsOptions options) {
+            final Map<ConfigResource, KafkaFutureImpl<Config>> futures = new HashMap<>();
+            resources.forEach(resource -> futures.put(resource, new KafkaFutureImpl<>()));
+            requests.add(new ArrayList<>(resources));
+            responses.add(futures);
+
+            try {
+                final Constructor<DescribeConfigsResult> constructor = DescribeConfigsResult.class.getDeclaredConstructor(Map.class);
+                constructor.setAccessible(true);
+                return constructor.newInstance(new HashMap<ConfigResource, KafkaFuture<Config>>(futures));
+            } catch (Exception exc) {
+                throw new IllegalStateException(exc);
+            }
+        }
+
+        private void fail(final int request, final ConfigResource resource) {
+            final KafkaFutureImpl<Config> future;
+            synchronized (this) {
+                future = responses.get(request).get(resource);
+            }
+            future.completeExceptionally(new UnknownTopicOrPartitionException(resource.name()));
+        }
+
+        private void complete(final int request) {
+            final Map<ConfigResource, KafkaFutureImpl<Config>> futures;
+            synchronized (this) {
+                futures = new HashMap<>(responses.get(request));
+            }
+            futures.values().forEach(future -> future.complete(
+                new Config(Collections.singletonList(new ConfigEntry("cleanup.policy", "delete")))));
+        }
+    }
+}
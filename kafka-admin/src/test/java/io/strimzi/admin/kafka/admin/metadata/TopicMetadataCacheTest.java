@@ -0,0 +1,283 @@
+package io.strimzi.admin.kafka.admin.metadata;
+
+import io.strimzi.admin.kafka.admin.model.TopicChangeEvent;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.admin.DescribeTopicsOptions;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.ListTopicsOptions;
+import org.apache.kafka.clients.admin.ListTopicsResult;
+import org.apache.kafka.clients.admin.MockAdminClient;
+import org.apache.kafka.clients.admin.TopicListing;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopicMetadataCacheTest {
+    private static final long REFRESH_INTERVAL_MS = TimeUnit.HOURS.toMillis(1);
+    private static final int FULL_REFRESH_CYCLES = 2;
+    private static final Node BROKER = new Node(0, "localhost", 9092);
+
+    private Vertx vertx;
+    private CountingAdminClient admin;
+    private TopicMetadataCache cache;
+    private final List<TopicChangeEvent> events = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        vertx = Vertx.vertx();
+        admin = new CountingAdminClient();
+        addTopic("orders", 3);
+        addTopic("payments", 1);
+        cache = new TopicMetadataCache(vertx, admin, REFRESH_INTERVAL_MS, FULL_REFRESH_CYCLES, 1);
+        cache.addListener(events::add);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        cache.stop();
+        admin.close();
+        final Promise<Void> closed = Promise.promise();
+        vertx.close(closed);
+        await(closed.future());
+    }
+
+    @Test
+    void testInitialLoadDescribesAllTopics() throws Exception {
+        assertEquals(0, cache.snapshot().size());
+
+        cache.start();
+        final TopicSnapshot snapshot = await(cache.initialLoad());
+
+        assertSame(snapshot, cache.snapshot());
+        assertEquals(Arrays.asList("orders", "payments"), new ArrayList<>(snapshot.getTopics().keySet()));
+        assertEquals(3, snapshot.getTopic("orders").getPartitionCount());
+        assertEquals(1, snapshot.getTopic("orders").getReplicationFactor());
+        assertEquals(new HashSet<>(Arrays.asList("orders", "payments")), new HashSet<>(admin.described));
+        assertEquals(2, cache.topicNameIndex().size());
+    }
+
+    @Test
+    void testRefreshAppliesCreatedAndDeletedTopics() throws Exception {
+        cache.start();
+        final TopicSnapshot initial = await(cache.initialLoad());
+        events.clear();
+
+        addTopic("shipments", 2);
+        await(admin.deleteTopics(Collections.singleton("payments")).all());
+        final TopicSnapshot refreshed = refresh();
+
+        assertEquals(initial.getVersion() + 1, refreshed.getVersion());
+        assertEquals(Arrays.asList("orders", "shipments"), new ArrayList<>(refreshed.getTopics().keySet()));
+        assertEquals(1, events.size());
+        assertEquals(refreshed.getVersion(), events.get(0).getVersion());
+        assertEquals("shipments", events.get(0).getCreated().get(0).getName());
+        assertTrue(events.get(0).getUpdated().isEmpty());
+        assertEquals(Collections.singletonList("payments"), events.get(0).getDeleted());
+    }
+
+    @Test
+    void testIncrementalRefreshOnlyDescribesNewTopics() throws Exception {
+        cache.start();
+        await(cache.initialLoad());
+        admin.described.clear();
+
+        addTopic("shipments", 2);
+        // the mock does not support adding partitions, the topic is recreated with more partitions
+        await(admin.deleteTopics(Collections.singleton("orders")).all());
+        addTopic("orders", 6);
+        final TopicSnapshot incremental = refresh();
+
+        assertEquals(Collections.singletonList("shipments"), admin.described);
+        assertEquals(3, incremental.getTopic("orders").getPartitionCount());
+
+        admin.described.clear();
+        events.clear();
+        final TopicSnapshot full = refresh();
+
+        assertEquals(new HashSet<>(Arrays.asList("orders", "payments", "shipments")), new HashSet<>(admin.described));
+        assertEquals(6, full.getTopic("orders").getPartitionCount());
+        assertEquals(incremental.getVersion() + 1, full.getVersion());
+        assertEquals(1, events.size());
+        assertEquals("orders", events.get(0).getUpdated().get(0).getName());
+    }
+
+    @Test
+    void testUnchangedRefreshKeepsTheSnapshot() throws Exception {
+        cache.start();
+        final TopicSnapshot initial = await(cache.initialLoad());
+        events.clear();
+
+        assertSame(initial, refresh());
+        assertSame(initial, refresh());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testSnapshotsAreNotModifiedByLaterRefreshes() throws Exception {
+        cache.start();
+        final TopicSnapshot initial = await(cache.initialLoad());
+
+        addTopic("shipments", 2);
+        await(admin.deleteTopics(Collections.singleton("orders")).all());
+        final TopicSnapshot refreshed = refresh();
+
+        assertEquals(Arrays.asList("orders", "payments"), new ArrayList<>(initial.getTopics().keySet()));
+        assertNotNull(initial.getTopic("orders"));
+        assertNull(initial.getTopic("shipments"));
+        assertNull(refreshed.getTopic("orders"));
+        assertNotNull(refreshed.getTopic("shipments"));
+        assertThrows(UnsupportedOperationException.class, () -> refreshed.getTopics().remove("payments"));
+    }
+
+    @Test
+    void testIncrementalChangesAreAppliedWithoutRefresh() throws Exception {
+        cache.start();
+        final TopicSnapshot initial = await(cache.initialLoad());
+        events.clear();
+
+        addTopic("shipments", 2);
+        final TopicSnapshot created = await(cache.refreshTopics(Collections.singleton("shipments")));
+        assertEquals(initial.getVersion() + 1, created.getVersion());
+        assertNotNull(created.getTopic("shipments"));
+
+        final TopicSnapshot removed = await(cache.removeTopics(Collections.singleton("payments")));
+        assertEquals(created.getVersion() + 1, removed.getVersion());
+        assertNull(removed.getTopic("payments"));
+
+        assertEquals(2, events.size());
+        assertEquals("shipments", events.get(0).getCreated().get(0).getName());
+        assertEquals(Collections.singletonList("payments"), events.get(1).getDeleted());
+    }
+
+    @Test
+    void testRefreshKeepsTheIncrementalChangesMadeWhileListing() throws Exception {
+        cache.start();
+        await(cache.initialLoad());
+        // the next refresh is a full refresh, which describes all the listed topics again
+        refresh();
+
+        final CompletableFuture<Void> listed = admin.holdListing();
+        final Promise<TopicSnapshot> refreshed = Promise.promise();
+        cache.runOnContext(v -> cache.refresh().onComplete(refreshed));
+        listed.get(10, TimeUnit.SECONDS);
+
+        // created and deleted after the topics were listed, the deletion is still in progress
+        addTopic("shipments", 2);
+        await(cache.refreshTopics(Collections.singleton("shipments")));
+        await(cache.removeTopics(Collections.singleton("payments")));
+        admin.releaseListing();
+
+        final TopicSnapshot snapshot = await(refreshed.future());
+        assertEquals(Arrays.asList("orders", "shipments"), new ArrayList<>(snapshot.getTopics().keySet()));
+        assertSame(snapshot, cache.snapshot());
+    }
+
+    private TopicSnapshot refresh() throws Exception {
+        final Promise<TopicSnapshot> promise = Promise.promise();
+        cache.runOnContext(v -> cache.refresh().onComplete(promise));
+        return await(promise.future());
+    }
+
+    private void addTopic(final String name, final int partitions) {
+        final List<TopicPartitionInfo> partitionInfos = new ArrayList<>(partitions);
+        for (int partition = 0; partition < partitions; partition++) {
+            partitionInfos.add(new TopicPartitionInfo(partition, BROKER, Collections.singletonList(BROKER), Collections.singletonList(BROKER)));
+        }
+        admin.addTopic(false, name, partitionInfos, Collections.emptyMap());
+    }
+
+    private static <T> T await(final Future<T> future) throws Exception {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        future.onComplete(ar -> {
+            if (ar.succeeded()) {
+                result.complete(ar.result());
+            } else {
+                result.completeExceptionally(ar.cause());
+            }
+        });
+        return result.get(10, TimeUnit.SECONDS);
+    }
+
+    private static <T> T await(final KafkaFuture<T> future) throws Exception {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Records the names of the topics described through the Admin client, in the order of the
+     * requests. A listing of the topics can be held back, the topics being listed when requested.
+     */
+    private static final class CountingAdminClient extends MockAdminClient {
+        private final List<String> described = new CopyOnWriteArrayList<>();
+        private CompletableFuture<Void> listingRequested;
+        private KafkaFutureImpl<Map<String, TopicListing>> heldListing;
+        private Map<String, TopicListing> listing;
+
+        private CountingAdminClient() {
+            super(Collections.singletonList(BROKER), BROKER);
+        }
+
+        @Override
+        public synchronized DescribeTopicsResult describeTopics(final Collection<String> topicNames, final DescribeTopicsOptions options) {
+            described.addAll(topicNames);
+            return super.describeTopics(topicNames, options);
+        }
+
+        @Override
+        public synchronized ListTopicsResult listTopics(final ListTopicsOptions options) {
+            final ListTopicsResult result = super.listTopics(options);
+            if (listingRequested == null || heldListing != null) {
+                return result;
+            }
+            try {
+                listing = result.namesToListings().get();
+                heldListing = new KafkaFutureImpl<>();
+                final Constructor<ListTopicsResult> constructor = ListTopicsResult.class.getDeclaredConstructor(KafkaFuture.class);
+                constructor.setAccessible(true);
+                final ListTopicsResult held = constructor.newInstance(heldListing);
+                listingRequested.complete(null);
+                return held;
+            } catch (Exception exc) {
+                throw new IllegalStateException(exc);
+            }
+        }
+
+        /**
+         * Holds back the result of the next listing until {@link #releaseListing()} is called
+         * @return a future completed once the listing has been requested
+         */
+        private synchronized CompletableFuture<Void> holdListing() {
+            listingRequested = new CompletableFuture<>();
+            return listingRequested;
+        }
+
+        private synchronized void releaseListing() {
+            heldListing.complete(listing);
+            listingRequested = null;
+            heldListing = null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.strimzi.admin.kafka.admin.metadata;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopicNameFilterTest {
+
+    @Test
+    void testPlainLiterals() {
+        assertLiterals("orders-.*", "orders-");
+        assertLiterals(".*-dlq", "-dlq");
+        assertLiterals("ab?c", "a", "c");
+        assertLiterals("ab*c", "a", "c");
+        assertLiterals("ab+c", "ab", "c");
+        assertLiterals("ab{2}c", "a", "c");
+        assertLiterals("a[0-9]b", "a", "b");
+    }
+
+    @Test
+    void testGroups() {
+        assertLiterals("(orders)-v1", "orders", "-v1");
+        assertLiterals("(orders)?-v1", "-v1");
+        assertLiterals("x(a|b)y");
+        assertLiterals("(?i)orders");
+    }
+
+    @Test
+    void testEscapedCharacters() {
+        assertLiterals("a\\.b", "a.b");
+        assertLiterals("a\\-b\\\\c", "a-b\\c");
+        assertLiterals("a\\tb", "a\tb");
+        assertLiterals("\\x41bc", "Abc");
+        assertLiterals("\\x{41}bc", "Abc");
+        assertLiterals("\\x{1F600}x", new String(Character.toChars(0x1F600)) + "x");
+        assertLiterals("\\u0041bc", "Abc");
+        assertLiterals("\\0101bc", "Abc");
+        assertLiterals("\\01x", "\u0001x");
+        assertLiterals("\\cAx", "\u0001x");
+    }
+
+    @Test
+    void testEscapedConstructs() {
+        assertLiterals("a\\d+b", "a", "b");
+        assertLiterals("\\borders\\b", "orders");
+        assertLiterals("\\p{Lu}abc", "abc");
+        assertLiterals("\\pLabc", "abc");
+        assertLiterals("\\P{Digit}abc", "abc");
+        assertLiterals("x\\k<name>y", "x", "y");
+        assertLiterals("(a)\\1x", "a", "x");
+    }
+
+    @Test
+    void testUnderstoodEscapesOnly() {
+        assertLiterals("(a)\\12");
+        assertLiterals("a\\Qb.c\\Eb");
+        assertLiterals("a\\yb");
+        assertLiterals("a\\x4");
+        assertLiterals("a\\k");
+        assertLiterals("a\\");
+    }
+
+    @Test
+    void testLiteralsArePartOfTheMatchingNames() {
+        assertMatches("\\x41bc", "Abc");
+        assertMatches("\\u0041-\\d+", "A-12");
+        assertMatches("\\0101", "A");
+        assertMatches("(?<n>a)\\k<n>b", "aab");
+        assertMatches("\\p{Lu}+-events", "ORDERS-events");
+        assertMatches("(ab)\\1c", "ababc");
+        assertMatches("\\cIx", "\tx");
+    }
+
+    private static void assertLiterals(final String regex, final String... literals) {
+        assertEquals(Arrays.asList(literals), TopicNameFilter.requiredLiterals(regex), regex);
+    }
+
+    private static void assertMatches(final String regex, final String name) {
+        assertTrue(Pattern.compile(regex).matcher(name).matches(), regex);
+        final List<String> literals = TopicNameFilter.requiredLiterals(regex);
+        literals.forEach(literal -> assertTrue(name.contains(literal), regex + " requires " + literal));
+        assertTrue(TopicNameFilter.create(TopicNameFilter.Type.REGEX, regex).matches(name), regex);
+    }
+}
@@ -0,0 +1,98 @@
+package io.strimzi.admin.messages;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A bounded pool of consumers reused by the requests reading records. The consumers are created
+ * on demand, up to the size of the pool, and are kept once released so their connections to the
+ * brokers are reused by the next requests.
+ * <p>
+ * A request first reserves a consumer with {@link #reserve()}, which does not block and can be
+ * called from the event loop, so the requests arriving while all the consumers are in use are
+ * rejected immediately rather than queued behind the requests using them.
+ * <p>
+ * A consumer is used by a single request at a time and must only be called from blocking code,
+ * as its methods wait for the brokers.
+ */
+class ConsumerPool {
+    private static final Logger LOGGER = LogManager.getLogger(ConsumerPool.class);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final Supplier<Consumer<byte[], byte[]>> factory;
+    private final int size;
+    private final Queue<Consumer<byte[], byte[]>> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    ConsumerPool(final Supplier<Consumer<byte[], byte[]>> factory, final int size) {
+        this.factory = factory;
+        this.size = Math.max(1, size);
+    }
+
+    /**
+     * Reserves a consumer of the pool, to be taken with {@link #acquire()}. Does not block.
+     * @return false if all the consumers are in use
+     */
+    boolean reserve() {
+        if (inUse.incrementAndGet() > size) {
+            inUse.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Takes the consumer reserved by {@link #reserve()}, creating it if no consumer is idle. Blocks
+     * while a consumer is created, the reservation is cancelled if the creation fails.
+     * @return a consumer
+     */
+    Consumer<byte[], byte[]> acquire() {
+        final Consumer<byte[], byte[]> consumer = idle.poll();
+        if (consumer != null) {
+            return consumer;
+        }
+        try {
+            return factory.get();
+        } catch (RuntimeException exc) {
+            inUse.decrementAndGet();
+            throw exc;
+        }
+    }
+
+    /**
+     * Returns a consumer to the pool once its partitions have been unassigned. Blocks while the
+     * partitions are unassigned.
+     * @param consumer the consumer
+     */
+    void release(final Consumer<byte[], byte[]> consumer) {
+        try {
+            consumer.assign(Collections.emptyList());
+        } catch (RuntimeException exc) {
+            discard(consumer);
+            return;
+        }
+        idle.offer(consumer);
+        inUse.decrementAndGet();
+    }
+
+    /**
+     * Closes a consumer which failed, a new consumer is created in its place when needed. Blocks
+     * while the consumer is closed.
+     * @param consumer the consumer
+     */
+    void discard(final Consumer<byte[], byte[]> consumer) {
+        inUse.decrementAndGet();
+        try {
+            consumer.close(CLOSE_TIMEOUT);
+        } catch (RuntimeException exc) {
+            LOGGER.warn("Failed to close a consumer - {}", exc.getMessage());
+        }
+    }
+}
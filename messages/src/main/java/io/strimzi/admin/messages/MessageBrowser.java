@@ -0,0 +1,311 @@
+package io.strimzi.admin.messages;
+
+import io.vertx.core.Handler;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reads a range of records of a partition and streams them to the client as they are polled, as
+ * newline delimited JSON or as server-sent events.
+ * <p>
+ * The range starts at an offset, at the first record at or after a timestamp, or at the beginning
+ * of the partition, and ends after the requested number of records or at the end offset of the
+ * partition at the time of the request. A consumer of the {@link ConsumerPool} is assigned the
+ * partition for the duration of the request. The records are polled one batch at a time, and the
+ * next batch is only polled once the previous one has been written and the response can accept
+ * more data, so a request holds at most one batch in memory whatever the size of the range.
+ * <p>
+ * The consumers are called on a worker executor of the size of the pool, so the event loop never
+ * waits for the brokers.
+ * <p>
+ * The keys, values and headers are written as UTF-8 strings. Those which are not valid UTF-8 are
+ * written in base64 instead, which is flagged by the keyEncoding, valueEncoding and
+ * headerEncodings fields of the record, so binary data is never altered.
+ */
+class MessageBrowser implements Handler<RoutingContext> {
+    private static final Logger LOGGER = LogManager.getLogger(MessageBrowser.class);
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+    private static final String SSE_CONTENT_TYPE = "text/event-stream";
+    private static final String BASE64_ENCODING = "base64";
+    private static final long DEFAULT_LIMIT = 100L;
+
+    private final ConsumerPool consumerPool;
+    private final WorkerExecutor workerExecutor;
+    private final Duration pollTimeout;
+    private final long maxRecords;
+
+    MessageBrowser(final ConsumerPool consumerPool, final WorkerExecutor workerExecutor, final long pollTimeoutMs, final long maxRecords) {
+        this.consumerPool = consumerPool;
+        this.workerExecutor = workerExecutor;
+        this.pollTimeout = Duration.ofMillis(pollTimeoutMs);
+        this.maxRecords = maxRecords;
+    }
+
+    @Override
+    public void handle(final RoutingContext rc) {
+        final String offsetParam = rc.request().getParam("offset");
+        final String timestampParam = rc.request().getParam("timestamp");
+        final String limitParam = rc.request().getParam("limit");
+        final long limit = limitParam == null ? DEFAULT_LIMIT : Long.parseLong(limitParam);
+
+        if (offsetParam != null && timestampParam != null) {
+            sendError(rc, 400, "Only one of offset and timestamp can be given");
+            return;
+        }
+        if (limit < 1 || limit > maxRecords) {
+            sendError(rc, 400, "The limit must be between 1 and " + maxRecords);
+            return;
+        }
+
+        final Range range = new Range(
+            new TopicPartition(rc.pathParam("topicName"), Integer.parseInt(rc.pathParam("partition"))),
+            offsetParam == null ? null : Long.parseLong(offsetParam),
+            timestampParam == null ? null : Long.parseLong(timestampParam),
+            limit,
+            "sse".equals(rc.request().getParam("format"))
+                || String.valueOf(rc.request().getHeader("Accept")).contains(SSE_CONTENT_TYPE));
+
+        if (!consumerPool.reserve()) {
+            rc.response().putHeader("Retry-After", "1");
+            sendError(rc, 503, "All the consumers are in use, retry later");
+            return;
+        }
+
+        workerExecutor.<Consumer<byte[], byte[]>>executeBlocking(p -> {
+            final Consumer<byte[], byte[]> consumer = consumerPool.acquire();
+            try {
+                if (seek(consumer, range)) {
+                    p.complete(consumer);
+                } else {
+                    consumerPool.release(consumer);
+                    p.fail(new IllegalArgumentException("Partition " + range.partition + " not found"));
+                }
+            } catch (RuntimeException exc) {
+                consumerPool.discard(consumer);
+                p.fail(exc);
+            }
+        }, false, ar -> {
+            if (ar.failed()) {
+                sendError(rc, ar.cause() instanceof IllegalArgumentException ? 404 : 500, ar.cause().getMessage());
+            } else {
+                rc.response()
+                    .setChunked(true)
+                    .putHeader("Content-Type", range.sse ? SSE_CONTENT_TYPE : NDJSON_CONTENT_TYPE)
+                    .putHeader("Cache-Control", "no-cache")
+                    .closeHandler(v -> {
+                        // the drain handler is never called once the connection is closed
+                        if (range.awaitingDrain) {
+                            range.awaitingDrain = false;
+                            finish(rc.response(), ar.result(), range, null);
+                        }
+                    });
+                pollNext(rc.response(), ar.result(), range);
+            }
+        });
+    }
+
+    /**
+     * Assigns the partition to the consumer and seeks to the start of the range
+     * @return false if the partition does not exist
+     */
+    private static boolean seek(final Consumer<byte[], byte[]> consumer, final Range range) {
+        final List<PartitionInfo> partitions = consumer.partitionsFor(range.partition.topic());
+        if (partitions == null || partitions.stream().noneMatch(info -> info.partition() == range.partition.partition())) {
+            return false;
+        }
+
+        final List<TopicPartition> assignment = Collections.singletonList(range.partition);
+        consumer.assign(assignment);
+        range.endOffset = consumer.endOffsets(assignment).get(range.partition);
+
+        if (range.offset != null) {
+            consumer.seek(range.partition, Math.min(Math.max(0L, range.offset), range.endOffset));
+        } else if (range.timestamp != null) {
+            final Map<TopicPartition, OffsetAndTimestamp> offsets =
+                consumer.offsetsForTimes(Collections.singletonMap(range.partition, range.timestamp));
+            final OffsetAndTimestamp offset = offsets.get(range.partition);
+            consumer.seek(range.partition, offset == null ? range.endOffset : offset.offset());
+        } else {
+            consumer.seekToBeginning(assignment);
+        }
+        range.position = consumer.position(range.partition);
+        return true;
+    }
+
+    private void pollNext(final HttpServerResponse response, final Consumer<byte[], byte[]> consumer, final Range range) {
+        if (response.closed() || range.isComplete()) {
+            finish(response, consumer, range, null);
+            return;
+        }
+
+        workerExecutor.<List<ConsumerRecord<byte[], byte[]>>>executeBlocking(p -> {
+            final List<ConsumerRecord<byte[], byte[]>> records = consumer.poll(pollTimeout).records(range.partition);
+            final long position = consumer.position(range.partition);
+            // a poll which neither returns records nor moves past control records ends the range
+            range.exhausted = records.isEmpty() && position == range.position;
+            range.position = position;
+            p.complete(records);
+        }, false, ar -> {
+            if (ar.failed()) {
+                finish(response, consumer, range, ar.cause());
+                return;
+            }
+
+            final Buffer batch = Buffer.buffer();
+            for (final ConsumerRecord<byte[], byte[]> record : ar.result()) {
+                if (range.count >= range.limit || record.offset() >= range.endOffset) {
+                    break;
+                }
+                range.count++;
+                append(batch, range, toJson(record));
+            }
+            if (!response.closed()) {
+                response.write(batch);
+            }
+
+            if (response.writeQueueFull()) {
+                range.awaitingDrain = true;
+                response.drainHandler(v -> {
+                    range.awaitingDrain = false;
+                    pollNext(response, consumer, range);
+                });
+            } else {
+                pollNext(response, consumer, range);
+            }
+        });
+    }
+
+    private void finish(final HttpServerResponse response, final Consumer<byte[], byte[]> consumer, final Range range, final Throwable failure) {
+        workerExecutor.executeBlocking(p -> {
+            if (failure == null) {
+                consumerPool.release(consumer);
+            } else {
+                consumerPool.discard(consumer);
+            }
+            p.complete();
+        }, false, ar -> { });
+
+        if (response.closed()) {
+            return;
+        }
+        if (failure != null) {
+            LOGGER.warn("Failed to read the records of partition {} - {}", range.partition, failure.getMessage());
+            // the status has been sent, the error is reported in place of the next record
+            final JsonObject error = new JsonObject().put("error", String.valueOf(failure.getMessage()));
+            if (range.sse) {
+                response.end(Buffer.buffer("event: error\ndata: ").appendBuffer(error.toBuffer()).appendString("\n\n"));
+            } else {
+                response.end(error.toBuffer().appendString("\n"));
+            }
+        } else if (range.sse) {
+            response.end(Buffer.buffer("event: end\ndata: ")
+                .appendBuffer(new JsonObject().put("count", range.count).toBuffer())
+                .appendString("\n\n"));
+        } else {
+            response.end();
+        }
+    }
+
+    private static void append(final Buffer batch, final Range range, final JsonObject record) {
+        if (range.sse) {
+            batch.appendString("id: ").appendString(String.valueOf(record.getLong("offset")))
+                .appendString("\ndata: ").appendBuffer(record.toBuffer()).appendString("\n\n");
+        } else {
+            batch.appendBuffer(record.toBuffer()).appendString("\n");
+        }
+    }
+
+    private static JsonObject toJson(final ConsumerRecord<byte[], byte[]> record) {
+        final JsonObject json = new JsonObject()
+            .put("partition", record.partition())
+            .put("offset", record.offset())
+            .put("timestamp", record.timestamp())
+            .put("timestampType", record.timestampType().name);
+        putBytes(json, "key", "keyEncoding", record.key(), json);
+        putBytes(json, "value", "valueEncoding", record.value(), json);
+
+        final JsonObject headers = new JsonObject();
+        final JsonObject headerEncodings = new JsonObject();
+        for (final Header header : record.headers()) {
+            putBytes(headers, header.key(), header.key(), header.value(), headerEncodings);
+        }
+        json.put("headers", headers);
+        if (!headerEncodings.isEmpty()) {
+            json.put("headerEncodings", headerEncodings);
+        }
+        return json;
+    }
+
+    /**
+     * Puts bytes as a UTF-8 string, or as a base64 string when they are not valid UTF-8, such as
+     * serialized numbers or Avro, in which case the base64 encoding is set in the encodings
+     */
+    private static void putBytes(final JsonObject json, final String field, final String encodingField, final byte[] bytes,
+                                 final JsonObject encodings) {
+        if (bytes == null) {
+            json.putNull(field);
+            return;
+        }
+        try {
+            json.put(field, StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes)).toString());
+        } catch (CharacterCodingException exc) {
+            json.put(field, Base64.getEncoder().encodeToString(bytes));
+            encodings.put(encodingField, BASE64_ENCODING);
+        }
+    }
+
+    private static void sendError(final RoutingContext rc, final int statusCode, final String message) {
+        rc.response()
+            .setStatusCode(statusCode)
+            .putHeader("Content-Type", "application/json")
+            .end(new JsonObject().put("error", message).toBuffer());
+    }
+
+    /**
+     * The range of records read by a request and its progress. It is only updated by the steps of
+     * the request, which never run concurrently.
+     */
+    private static final class Range {
+        private final TopicPartition partition;
+        private final Long offset;
+        private final Long timestamp;
+        private final long limit;
+        private final boolean sse;
+        private volatile long endOffset;
+        private volatile long position;
+        private volatile boolean exhausted;
+        private volatile long count;
+        private boolean awaitingDrain;
+
+        private Range(final TopicPartition partition, final Long offset, final Long timestamp, final long limit, final boolean sse) {
+            this.partition = partition;
+            this.offset = offset;
+            this.timestamp = timestamp;
+            this.limit = limit;
+            this.sse = sse;
+        }
+
+        private boolean isComplete() {
+            return count >= limit || position >= endOffset || exhausted;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.strimzi.admin.messages;
+
+import io.strimzi.admin.kafka.admin.KafkaAdminConfig;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+
+/**
+ * Configuration of the messages module. The values are read from the environment of the admin
+ * server process.
+ * <p>
+ * The records are read from the default cluster of the kafka-admin module, the consumers being
+ * passed the {@link KafkaAdminConfig#clientConfig(Map) client configuration} of its Admin client,
+ * such as the bootstrap servers and the security settings.
+ */
+public class MessagesConfig {
+    static final String CONSUMER_POOL_SIZE_ENV = "MESSAGES_CONSUMER_POOL_SIZE";
+    static final String FETCH_MAX_BYTES_ENV = "MESSAGES_FETCH_MAX_BYTES";
+    static final String MAX_POLL_RECORDS_ENV = "MESSAGES_MAX_POLL_RECORDS";
+    static final String POLL_TIMEOUT_ENV = "MESSAGES_POLL_TIMEOUT_MS";
+    static final String MAX_RECORDS_ENV = "MESSAGES_MAX_RECORDS";
+
+    private static final int DEFAULT_CONSUMER_POOL_SIZE = 4;
+    private static final int DEFAULT_FETCH_MAX_BYTES = 1024 * 1024;
+    private static final int DEFAULT_MAX_POLL_RECORDS = 500;
+    private static final long DEFAULT_POLL_TIMEOUT_MS = 1_000L;
+    private static final long DEFAULT_MAX_RECORDS = 1_000_000L;
+
+    private final Map<String, Object> consumerConfig;
+    private final int consumerPoolSize;
+    private final long pollTimeoutMs;
+    private final long maxRecords;
+
+    private MessagesConfig(final Map<String, Object> consumerConfig, final int consumerPoolSize,
+                           final long pollTimeoutMs, final long maxRecords) {
+        this.consumerConfig = consumerConfig;
+        this.consumerPoolSize = consumerPoolSize;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.maxRecords = maxRecords;
+    }
+
+    /**
+     * Factory method to create the configuration from a set of environment variables
+     * @param env the environment variables, usually {@link System#getenv()}
+     * @return the messages module configuration
+     */
+    public static MessagesConfig fromEnv(final Map<String, String> env) {
+        final Map<String, Object> consumerConfig = KafkaAdminConfig.clientConfig(env);
+
+        final int fetchMaxBytes = Integer.parseInt(env.getOrDefault(FETCH_MAX_BYTES_ENV, String.valueOf(DEFAULT_FETCH_MAX_BYTES)));
+        consumerConfig.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, fetchMaxBytes);
+        consumerConfig.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, fetchMaxBytes);
+        consumerConfig.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG,
+            Integer.parseInt(env.getOrDefault(MAX_POLL_RECORDS_ENV, String.valueOf(DEFAULT_MAX_POLL_RECORDS))));
+        // the consumers are assigned partitions by the requests, they never join a group or commit
+        consumerConfig.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerConfig.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        return new MessagesConfig(
+            consumerConfig,
+            Integer.parseInt(env.getOrDefault(CONSUMER_POOL_SIZE_ENV, String.valueOf(DEFAULT_CONSUMER_POOL_SIZE))),
+            Long.parseLong(env.getOrDefault(POLL_TIMEOUT_ENV, String.valueOf(DEFAULT_POLL_TIMEOUT_MS))),
+            Long.parseLong(env.getOrDefault(MAX_RECORDS_ENV, String.valueOf(DEFAULT_MAX_RECORDS))));
+    }
+
+    /**
+     * Retrieve the configuration passed to the consumers, which bounds the bytes and the number of
+     * records fetched by each poll
+     * @return the consumer configuration
+     */
+    public Map<String, Object> getConsumerConfig() {
+        return consumerConfig;
+    }
+
+    /**
+     * Retrieve the maximum number of consumers, and so of requests reading records concurrently
+     * @return the consumer pool size
+     */
+    public int getConsumerPoolSize() {
+        return consumerPoolSize;
+    }
+
+    /**
+     * Retrieve how long a poll waits for records, a request ends when a poll returns no record
+     * @return the poll timeout in milliseconds
+     */
+    public long getPollTimeoutMs() {
+        return pollTimeoutMs;
+    }
+
+    /**
+     * Retrieve the maximum number of records a request can read
+     * @return the maximum number of records per request
+     */
+    public long getMaxRecords() {
+        return maxRecords;
+    }
+}
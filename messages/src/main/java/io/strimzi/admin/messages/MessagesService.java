@@ -0,0 +1,46 @@
+package io.strimzi.admin.messages;
+
+import io.strimzi.admin.http.server.registration.RouteRegistration;
+import io.strimzi.admin.http.server.registration.RouteRegistrationDescriptor;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.api.contract.openapi3.OpenAPI3RouterFactory;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+
+/**
+ * Implements a route to browse the records of a partition, like the Kafka console consumer, without
+ * access to the cluster. The records of a bounded range of offsets are streamed to the client by
+ * the {@link MessageBrowser} as they are polled, using consumers from a {@link ConsumerPool}.
+ */
+public class MessagesService implements RouteRegistration {
+    private static final String WORKER_POOL_NAME = "messages";
+
+    @Override
+    public Future<RouteRegistrationDescriptor> getRegistrationDescriptor(final Vertx vertx) {
+        final Promise<RouteRegistrationDescriptor> promise = Promise.promise();
+        final MessagesConfig config = MessagesConfig.fromEnv(System.getenv());
+
+        final ConsumerPool consumerPool = new ConsumerPool(
+            () -> new KafkaConsumer<>(config.getConsumerConfig(), new ByteArrayDeserializer(), new ByteArrayDeserializer()),
+            config.getConsumerPoolSize());
+        final MessageBrowser messageBrowser = new MessageBrowser(
+            consumerPool,
+            vertx.createSharedWorkerExecutor(WORKER_POOL_NAME, config.getConsumerPoolSize()),
+            config.getPollTimeoutMs(),
+            config.getMaxRecords());
+
+        OpenAPI3RouterFactory.create(vertx, "openapi-specs/messages.yaml", ar -> {
+            if (ar.succeeded()) {
+                final OpenAPI3RouterFactory routerFactory = ar.result();
+                routerFactory.addHandlerByOperationId("records", messageBrowser);
+                promise.complete(RouteRegistrationDescriptor.create("/messages", routerFactory.getRouter()));
+            } else {
+                promise.fail(ar.cause());
+            }
+        });
+
+        return promise.future();
+    }
+}
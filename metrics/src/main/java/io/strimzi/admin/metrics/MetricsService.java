@@ -0,0 +1,40 @@
+package io.strimzi.admin.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+import io.strimzi.admin.http.server.registration.RouteRegistration;
+import io.strimzi.admin.http.server.registration.RouteRegistrationDescriptor;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.Router;
+
+/**
+ * Implements a route exposing the metrics of the admin server in the Prometheus text format.
+ * <p>
+ * A Prometheus registry is added to the Micrometer global registry, in which the other modules
+ * record their metrics. The metrics are rendered on the worker pool, as the response grows with
+ * the number of timers and histogram buckets.
+ */
+public class MetricsService implements RouteRegistration {
+
+    @Override
+    public Future<RouteRegistrationDescriptor> getRegistrationDescriptor(final Vertx vertx) {
+        final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        Metrics.addRegistry(registry);
+
+        final Router router = Router.router(vertx);
+        router.get("/").handler(rc -> vertx.<String>executeBlocking(p -> p.complete(registry.scrape()), false, ar -> {
+            if (ar.succeeded()) {
+                rc.response()
+                    .putHeader("Content-Type", TextFormat.CONTENT_TYPE_004)
+                    .end(ar.result());
+            } else {
+                rc.fail(ar.cause());
+            }
+        }));
+
+        return Future.succeededFuture(RouteRegistrationDescriptor.create("/metrics", router));
+    }
+}